@@ -129,6 +129,7 @@ export const ChatProvider: React.FC<{ children: ReactNode }> = ({ children }) =>
 
   const stompRef = useRef<StompClient | null>(null);
   const roomSubscriptions = useRef<Record<string, () => void>>({}); // roomId → unsubscribe
+  const presenceVersions = useRef<Record<string, number>>({}); // nodeId → 마지막으로 반영한 presence delta 번호
 
   // ------------------------
   // 현재 로그인 사용자 & 유저 목록 로드
@@ -318,28 +319,64 @@ useEffect(() => {
       );
 
       // 3) ✅ Presence(온라인/오프라인) 실시간 반영
+      //    서버는 노드별로 번호(version)가 붙은 delta 를 보냄 → 노드마다 마지막 번호를 기억하고
+      //    번호가 건너뛰거나 줄어들면(노드 재기동) 개인 큐로 전체 스냅샷을 다시 요청
+      presenceVersions.current = {};
+      const requestPresenceSnapshot = () => {
+        client.publish({ destination: `${ROUTES.APP_PREFIX}/presence/snapshot`, body: "{}" });
+      };
+      const isListed = (u: User, ids: Set<string>) =>
+        ids.has(String(u.id)) || (!!u.loginId && ids.has(u.loginId));
+
       const sub3 = client.subscribe(
         `${ROUTES.TOPIC_PREFIX}/presence`,
         (frame: IMessage) => {
-			console.log("👤 Presence 수신됨: ", frame.body);
           try {
-                const p = JSON.parse(frame.body) as {
-                  status: "ONLINE" | "OFFLINE";
-                  loginId?: string;
-                  userId?: string | number;
-                };
-                setUsers(prev =>
-                  prev.map(u => {
-                    const match =
-                      (p.loginId && u.loginId === p.loginId) ||
-                      (p.userId && String(u.id) === String(p.userId));
-                    return match ? { ...u, isOnline: p.status === "ONLINE" } : u;
-                  })
-                );
-				console.log(`👤 [온라인 상태 변경]: userId=${p.userId}, status=${p.status}`);  
+            const d = JSON.parse(frame.body) as {
+              type: "delta";
+              node: string;
+              version: number;
+              online: string[];
+              offline: string[];
+            };
+            if (d.type !== "delta") return;
+            const last = presenceVersions.current[d.node];
+            if (last !== undefined && d.version !== last + 1) {
+              console.log(`👤 [presence 번호 불연속] node=${d.node}, last=${last}, got=${d.version} → 스냅샷 요청`);
+              requestPresenceSnapshot();
+              if (d.version <= last) return; // 스냅샷이 최신 상태를 다시 채움
+            }
+            presenceVersions.current[d.node] = d.version;
+            const on = new Set(d.online.map(String));
+            const off = new Set(d.offline.map(String));
+            setUsers(prev =>
+              prev.map(u =>
+                isListed(u, on) ? { ...u, isOnline: true }
+                  : isListed(u, off) ? { ...u, isOnline: false }
+                  : u
+              )
+            );
+          } catch {/* ignore */}
+        }
+      );
+
+      // 3-a) 스냅샷 응답: 전체 온라인 목록 + 노드별 현재 번호로 교체
+      const sub4 = client.subscribe(
+        `${ROUTES.USER_QUEUE_PREFIX}/presence`,
+        (frame: IMessage) => {
+          try {
+            const snap = JSON.parse(frame.body) as {
+              type: "snapshot";
+              versions: Record<string, number>;
+              online: string[];
+            };
+            presenceVersions.current = { ...snap.versions };
+            const on = new Set(snap.online.map(String));
+            setUsers(prev => prev.map(u => ({ ...u, isOnline: isListed(u, on) })));
           } catch {/* ignore */}
         }
       );
+      requestPresenceSnapshot();
 
 
 
@@ -403,6 +440,7 @@ try {
       roomSubscriptions.current["__requests__"] = () => sub1.unsubscribe();
       roomSubscriptions.current["__accepted__"] = () => sub2.unsubscribe();
       roomSubscriptions.current["__presence__"] = () => sub3.unsubscribe();
+      roomSubscriptions.current["__presence_snapshot__"] = () => sub4.unsubscribe();
     },
 
     onStompError: (f) => console.error("STOMP error", f.headers["message"], f.body),
@@ -2,6 +2,20 @@ package com.example.DAO;
 
 import com.example.entity.Member;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface MemberRepository extends JpaRepository<Member, Long> {
+
+    interface IdName {
+        Long getId();
+        String getName();
+    }
+
+    // 이름만 한 번에 조회 (IN 1회)
+    @Query("select m.userId as id, m.name as name from Member m where m.userId in :userIds")
+    List<IdName> findNamesByUserIdIn(@Param("userIds") Collection<Long> userIds);
 }
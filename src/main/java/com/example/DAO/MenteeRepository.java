@@ -2,10 +2,24 @@ package com.example.DAO;
 
 import com.example.entity.Mentee;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface MenteeRepository extends JpaRepository<Mentee, Long> {
+
+    interface IdUser {
+        Long getId();
+        Long getUserId();
+    }
+
+    // menteeId → userId 한 번에 조회 (IN 1회)
+    @Query("select m.menteeId as id, m.userId as userId from Mentee m where m.menteeId in :menteeIds")
+    List<IdUser> findUserIdsByMenteeIdIn(@Param("menteeIds") Collection<Long> menteeIds);
+
     Optional<Mentee> findByUserId(Long userId);
 
     // 중복 레코드가 존재할 수 있으므로 가장 최근(mentee_id 내림차순) 1건만 안전하게 조회
@@ -2,8 +2,22 @@ package com.example.DAO;
 
 import com.example.entity.Mentor;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface MentorEntityRepository extends JpaRepository<Mentor, Long> {
     Optional<Mentor> findByUserId(Long userId);
+
+    interface IdUser {
+        Long getId();
+        Long getUserId();
+    }
+
+    // mentorId → userId 한 번에 조회 (IN 1회)
+    @Query("select m.mentorId as id, m.userId as userId from Mentor m where m.mentorId in :mentorIds")
+    List<IdUser> findUserIdsByMentorIdIn(@Param("mentorIds") Collection<Long> mentorIds);
 }
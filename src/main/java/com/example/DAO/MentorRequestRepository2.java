@@ -0,0 +1,29 @@
+package com.example.DAO;
+
+import com.example.dto.MentorRequestInfo;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Mapper
+public interface MentorRequestRepository2 {
+
+    // 멘토(userId 기준) 대기 요청 + 멘티 정보, started_at 오름차순 키셋 페이지
+    List<MentorRequestInfo> findPendingByMentorUserId(@Param("mentorUserId") long mentorUserId,
+                                                      @Param("afterStartedAt") LocalDateTime afterStartedAt,
+                                                      @Param("afterId") Long afterId,
+                                                      @Param("limit") int limit);
+
+    // 대기 요청 카운터 조회 (없으면 null)
+    Integer findPendingCount(@Param("mentorUserId") long mentorUserId);
+
+    // 대기 요청 카운터 증감
+    int addPendingCount(@Param("mentorId") long mentorId, @Param("delta") int delta);
+
+    // 상태 전이 (현재 상태가 fromStatus 일 때만, 변경되면 1)
+    int changeStatus(@Param("requestId") long requestId,
+                     @Param("fromStatus") String fromStatus,
+                     @Param("toStatus") String toStatus);
+}
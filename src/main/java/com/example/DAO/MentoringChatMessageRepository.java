@@ -0,0 +1,23 @@
+package com.example.DAO;
+
+import com.example.VO.MentoringChatMessageVO;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import java.util.List;
+
+@Mapper
+public interface MentoringChatMessageRepository {
+    int insert(MentoringChatMessageVO msg);
+
+    int insertBatch(@Param("list") List<MentoringChatMessageVO> list);
+
+    // 과거 방향 (최신순)
+    List<MentoringChatMessageVO> findBefore(@Param("chatId") long chatId,
+                                            @Param("beforeSeq") Long beforeSeq,
+                                            @Param("limit") int limit);
+
+    // 따라잡기 (시간순)
+    List<MentoringChatMessageVO> findAfter(@Param("chatId") long chatId,
+                                           @Param("afterSeq") long afterSeq,
+                                           @Param("limit") int limit);
+}
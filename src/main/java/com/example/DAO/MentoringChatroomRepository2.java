@@ -0,0 +1,16 @@
+package com.example.DAO;
+
+import com.example.entity.MentoringChatroom;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+@Mapper
+public interface MentoringChatroomRepository2 {
+    // (멘티, 멘토) 쌍으로 insert-or-get, 기존 방이면 그 chat_id 가 채워짐
+    int upsertRoom(MentoringChatroom room);
+
+    // 진행 정보 insert-or-update (멘티가 없으면 0)
+    int upsertProgress(@Param("menteeId") int menteeId,
+                       @Param("mentorId") int mentorId,
+                       @Param("chatId") int chatId);
+}
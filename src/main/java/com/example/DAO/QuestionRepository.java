@@ -1,11 +1,14 @@
 package com.example.DAO;
 
 import com.example.entity.Question;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -22,7 +25,78 @@ public interface QuestionRepository extends JpaRepository<Question, Long> {
     
     // 멘티의 특정 상태 질문 목록 조회
     List<Question> findByMenteeIdAndStatusOrderByCreatedAtDesc(Long menteeId, Question.QuestionStatus status);
-}
 
+    // 목록용 요약 (content / answer_content 제외)
+    interface Summary {
+        Long getQuestionId();
+        Long getMenteeId();
+        Long getMentorId();
+        String getSubject();
+        String getTitle();
+        Question.QuestionStatus getStatus();
+        LocalDateTime getCreatedAt();
+        LocalDateTime getAnsweredAt();
+    }
+
+    // 멘티 질문 키셋 페이지 (created_at, question_id 내림차순, 커서 이전)
+    @Query("select q.questionId as questionId, q.menteeId as menteeId, q.mentorId as mentorId, q.subject as subject, "
+         + "q.title as title, q.status as status, q.createdAt as createdAt, q.answeredAt as answeredAt "
+         + "from Question q where q.menteeId = :menteeId "
+         + "and (q.createdAt < :beforeAt or (q.createdAt = :beforeAt and q.questionId < :beforeId)) "
+         + "order by q.createdAt desc, q.questionId desc")
+    List<Summary> findMenteePage(@Param("menteeId") Long menteeId,
+                                 @Param("beforeAt") LocalDateTime beforeAt,
+                                 @Param("beforeId") Long beforeId,
+                                 Pageable pageable);
+
+    // 멘토 질문 키셋 페이지
+    @Query("select q.questionId as questionId, q.menteeId as menteeId, q.mentorId as mentorId, q.subject as subject, "
+         + "q.title as title, q.status as status, q.createdAt as createdAt, q.answeredAt as answeredAt "
+         + "from Question q where q.mentorId = :mentorId "
+         + "and (q.createdAt < :beforeAt or (q.createdAt = :beforeAt and q.questionId < :beforeId)) "
+         + "order by q.createdAt desc, q.questionId desc")
+    List<Summary> findMentorPage(@Param("mentorId") Long mentorId,
+                                 @Param("beforeAt") LocalDateTime beforeAt,
+                                 @Param("beforeId") Long beforeId,
+                                 Pageable pageable);
+
+    // 멘토 질문 키셋 페이지 (상태별)
+    @Query("select q.questionId as questionId, q.menteeId as menteeId, q.mentorId as mentorId, q.subject as subject, "
+         + "q.title as title, q.status as status, q.createdAt as createdAt, q.answeredAt as answeredAt "
+         + "from Question q where q.mentorId = :mentorId and q.status = :status "
+         + "and (q.createdAt < :beforeAt or (q.createdAt = :beforeAt and q.questionId < :beforeId)) "
+         + "order by q.createdAt desc, q.questionId desc")
+    List<Summary> findMentorStatusPage(@Param("mentorId") Long mentorId,
+                                       @Param("status") Question.QuestionStatus status,
+                                       @Param("beforeAt") LocalDateTime beforeAt,
+                                       @Param("beforeId") Long beforeId,
+                                       Pageable pageable);
 
+    // fromStatus 인 질문만 답변 상태로 전환 (전환되면 1)
+    @Modifying(clearAutomatically = true)
+    @Query("update Question q set q.status = :toStatus, q.answerContent = :answerContent, q.answeredAt = :answeredAt "
+         + "where q.questionId = :questionId and q.status = :fromStatus")
+    int answerIfStatus(@Param("questionId") Long questionId,
+                       @Param("fromStatus") Question.QuestionStatus fromStatus,
+                       @Param("toStatus") Question.QuestionStatus toStatus,
+                       @Param("answerContent") String answerContent,
+                       @Param("answeredAt") LocalDateTime answeredAt);
 
+    // 멘토별 질문 카운터 증감
+    @Modifying
+    @Query(value = "UPDATE mentor SET question_pending_count = GREATEST(question_pending_count + :pending, 0), "
+                 + "question_answered_count = GREATEST(question_answered_count + :answered, 0) "
+                 + "WHERE mentor_id = :mentorId", nativeQuery = true)
+    int addMentorCounts(@Param("mentorId") Long mentorId,
+                        @Param("pending") int pending,
+                        @Param("answered") int answered);
+
+    interface MentorCounts {
+        Integer getPending();
+        Integer getAnswered();
+    }
+
+    @Query(value = "SELECT question_pending_count AS pending, question_answered_count AS answered "
+                 + "FROM mentor WHERE mentor_id = :mentorId", nativeQuery = true)
+    MentorCounts findMentorCounts(@Param("mentorId") Long mentorId);
+}
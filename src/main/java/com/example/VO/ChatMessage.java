@@ -12,7 +12,11 @@ import lombok.Data;
 
 @Data
 @Document("chat_messages")
-@CompoundIndex(name="room_created_idx", def="{ 'chatroomId': 1, 'createdAt': 1 }")
+// 방별 (createdAt, _id) 키셋 페이지 조회
+@CompoundIndex(name="room_created_id_idx", def="{ 'chatroomId': 1, 'createdAt': 1, '_id': 1 }")
+// 재전송 중복 방지: clientMsgId 가 있는 문서만 인덱싱 (senderId 는 항상 있어서 sparse 대신 partialFilter 사용)
+@CompoundIndex(name="sender_client_msg_uq", def="{ 'senderId': 1, 'clientMsgId': 1 }", unique = true,
+               partialFilter = "{ 'clientMsgId': { '$exists': true } }")
 public class ChatMessage {	
 		//private Long messageId;
 		@Id 
@@ -24,7 +28,9 @@ public class ChatMessage {
 	    //private LocalDateTime timestamp;
 	    @com.fasterxml.jackson.annotation.JsonProperty("timestamp")
 	    private Instant createdAt;
+	    // 읽음 여부는 chat_read_watermarks 로 계산 (하위 호환용으로만 유지)
 	    @com.fasterxml.jackson.annotation.JsonProperty("isRead")
 	    private Boolean isRead;		
 	    private Long chatMessageId; 
+	    private String clientMsgId;
 }
@@ -0,0 +1,23 @@
+package com.example.VO;
+import java.time.Instant;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.Data;
+
+// 방(room) × 사용자 당 1건: 마지막으로 읽은 메시지 시각 (메시지별 isRead 대신 사용)
+@Data
+@Document("chat_read_watermarks")
+@CompoundIndex(name="user_room_uq", def="{ 'userId': 1, 'chatroomId': 1 }", unique = true)
+public class ChatReadWatermark {
+		@Id
+		private ObjectId id;
+	    private long chatroomId;
+	    private long userId;
+	    private Instant lastReadAt;
+	    private String lastReadMessageId;
+	    private Instant updatedAt;
+}
@@ -16,4 +16,7 @@ public class ChatRequestDtos {
 
 	  public record RoomOpened(String requestId, ChatRoom chatroom,
 	                           List<MemberVO> participants, List<ChatMessage> messages) {}
+
+	  /** 채팅 이력 키셋 페이지 (nextCursor 를 다음 요청의 before/after 로 그대로 사용) */
+	  public record HistoryPage(List<ChatMessage> messages, String nextCursor, boolean hasMore) {}
 }
@@ -0,0 +1,16 @@
+package com.example.VO;
+
+import java.time.LocalDateTime;
+
+import lombok.Data;
+
+// 멘토링 채팅 메시지 1건 (mentoring_chat_message, append-only)
+@Data
+public class MentoringChatMessageVO {
+	    private Long seq;
+	    private Long chatId;
+	    private Long senderId;
+	    private String senderName;
+	    private String content;
+	    private LocalDateTime sentAt;
+}
@@ -0,0 +1,273 @@
+package com.example.config;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+
+import com.example.service.RedisPresenceStore;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ✅ 노드 간 STOMP 메시지 중계 (Redis pub/sub)
+ * - 각 노드는 기존 simple broker 를 그대로 쓰고, 브로커 채널로 나가는 메시지만 가로채서 다른 노드로 전달
+ * - /topic/**            → 목적지 해시로 샤딩된 채널 stomp:topic:{shard}
+ * - /user/{loginId}/...  → presence 에서 사용자가 붙어 있는 노드를 찾아 stomp:node:{nodeId} 로만 전달
+ * - 채널별로 짧게 모아서(batch-ms / batch-size) Redis publish 1회로 묶음
+ * - publish 는 전용 flush 스레드 하나에서만 → 같은 채널(목적지) 프레임 순서 유지, 전송 스레드는 Redis I/O 없음
+ *   (/user 목적지의 노드 조회도 flush 스레드에서, 배치 안에서는 사용자당 1회)
+ * stomp.relay.mode=redis 일 때만 동작 (기본값 local = 단일 노드)
+ */
+@Component
+@Slf4j
+public class ClusterStompRelay implements ChannelInterceptor {
+
+    /** 중계로 들어온 메시지 표시 (다시 중계하지 않도록) */
+    private static final String RELAYED_HEADER = "x-cluster-relayed";
+    private static final String TOPIC_CHANNEL = "stomp:topic:";
+    private static final String NODE_CHANNEL = "stomp:node:";
+    /** /user 프레임 라우팅 요청용 가상 채널 이름 */
+    private static final String USER_ROUTING = "";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /** 중계 단위: 목적지 + 원본 payload(byte[]) */
+    public record Frame(String origin, String destination, String contentType, byte[] payload) {}
+
+    private final boolean enabled;
+    private final int shards;
+    private final long batchMillis;
+    private final int batchSize;
+    private final StringRedisTemplate redis;
+    private final RedisConnectionFactory connectionFactory;
+    private final RedisPresenceStore presenceStore;
+    private final ObjectProvider<SimpMessagingTemplate> brokerTemplate;
+
+    private final Map<String, Queue<Frame>> outbox = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> outboxSize = new ConcurrentHashMap<>();
+    // 노드 조회 전의 /user 프레임 (loginId, frame)
+    private final Queue<Map.Entry<String, Frame>> userOutbox = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger userOutboxSize = new AtomicInteger();
+    // batch-size 도달로 flush 스레드에 이미 요청한 채널 (중복 요청 방지)
+    private final Set<String> kicked = ConcurrentHashMap.newKeySet();
+    private final AtomicLong framesOut = new AtomicLong();
+    private final AtomicLong publishes = new AtomicLong();
+    private final AtomicLong framesIn = new AtomicLong();
+
+    private ScheduledExecutorService flusher;
+    private RedisMessageListenerContainer container;
+
+    public ClusterStompRelay(
+            @Value("${stomp.relay.mode:local}") String mode,
+            @Value("${stomp.relay.shards:16}") int shards,
+            @Value("${stomp.relay.batch-ms:5}") long batchMillis,
+            @Value("${stomp.relay.batch-size:64}") int batchSize,
+            StringRedisTemplate redis,
+            RedisConnectionFactory connectionFactory,
+            RedisPresenceStore presenceStore,
+            ObjectProvider<SimpMessagingTemplate> brokerTemplate) {
+        this.enabled = "redis".equalsIgnoreCase(mode);
+        this.shards = Math.max(1, shards);
+        this.batchMillis = Math.max(1, batchMillis);
+        this.batchSize = Math.max(1, batchSize);
+        this.redis = redis;
+        this.connectionFactory = connectionFactory;
+        this.presenceStore = presenceStore;
+        this.brokerTemplate = brokerTemplate;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) return;
+        container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener((message, pattern) -> onRelay(message.getBody()), new PatternTopic(TOPIC_CHANNEL + "*"));
+        container.addMessageListener((message, pattern) -> onRelay(message.getBody()),
+                new ChannelTopic(NODE_CHANNEL + presenceStore.getNodeId()));
+        container.afterPropertiesSet();
+        container.start();
+
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "stomp-relay-flush");
+            t.setDaemon(true);
+            return t;
+        });
+        flusher.scheduleWithFixedDelay(this::flushAll, batchMillis, batchMillis, TimeUnit.MILLISECONDS);
+        log.info("✅ [STOMP 클러스터 중계 시작] nodeId={}, shards={}", presenceStore.getNodeId(), shards);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (!enabled) return;
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushAll();
+        try {
+            container.stop();
+            container.destroy();
+        } catch (Exception e) {
+            log.warn("⚠️ [STOMP 중계 종료 실패] {}", e.getMessage());
+        }
+    }
+
+    /** 브로커 채널로 나가는 메시지를 가로채 다른 노드로 복제 (로컬 전달은 그대로 진행) */
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (!enabled) return message;
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        if (accessor.getMessageType() != SimpMessageType.MESSAGE) return message;
+        if (accessor.getFirstNativeHeader(RELAYED_HEADER) != null) return message;
+        String destination = accessor.getDestination();
+        if (destination == null || !(message.getPayload() instanceof byte[] payload)) return message;
+
+        MimeType contentType = accessor.getContentType();
+        Frame frame = new Frame(presenceStore.getNodeId(), destination,
+                contentType != null ? contentType.toString() : null, payload);
+
+        if (destination.startsWith("/topic/")) {
+            enqueue(TOPIC_CHANNEL + Math.floorMod(destination.hashCode(), shards), frame);
+        } else if (destination.startsWith("/user/")) {
+            // /user/{loginId}/queue/... → 해당 사용자가 붙어 있는 다른 노드로만 전달
+            int slash = destination.indexOf('/', 6);
+            if (slash > 6) {
+                userOutbox.add(Map.entry(destination.substring(6, slash), frame));
+                if (userOutboxSize.incrementAndGet() >= batchSize) kick(USER_ROUTING);
+            }
+        }
+        return message;
+    }
+
+    private void enqueue(String channel, Frame frame) {
+        outbox.computeIfAbsent(channel, k -> new ConcurrentLinkedQueue<>()).add(frame);
+        int pending = outboxSize.computeIfAbsent(channel, k -> new AtomicInteger()).incrementAndGet();
+        if (pending >= batchSize) kick(channel);
+    }
+
+    // 전송 스레드에서 직접 publish 하지 않고 flush 스레드에 맡김
+    private void kick(String channel) {
+        if (!kicked.add(channel)) return;
+        try {
+            flusher.execute(() -> {
+                kicked.remove(channel);
+                if (channel.equals(USER_ROUTING)) routeUserFrames();
+                else flush(channel);
+            });
+        } catch (RejectedExecutionException e) {
+            kicked.remove(channel); // 종료 중 → stop() 의 마지막 flushAll 이 처리
+        }
+    }
+
+    /** /user 프레임을 사용자가 붙어 있는 다른 노드 채널로 분배 (flush 스레드) */
+    private void routeUserFrames() {
+        Map<String, Set<String>> nodesByUser = new HashMap<>();
+        Map.Entry<String, Frame> e;
+        while ((e = userOutbox.poll()) != null) {
+            userOutboxSize.decrementAndGet();
+            Set<String> nodes = nodesByUser.computeIfAbsent(e.getKey(), presenceStore::nodesOf);
+            for (String node : nodes) {
+                if (!node.equals(presenceStore.getNodeId())) enqueue(NODE_CHANNEL + node, e.getValue());
+            }
+        }
+    }
+
+    private void flushAll() {
+        try {
+            routeUserFrames();
+        } catch (Exception e) {
+            log.warn("⚠️ [STOMP 중계 사용자 라우팅 실패] error={}", e.getMessage());
+        }
+        for (String channel : outbox.keySet()) {
+            try {
+                flush(channel);
+            } catch (Exception e) {
+                log.warn("⚠️ [STOMP 중계 publish 실패] channel={}, error={}", channel, e.getMessage());
+            }
+        }
+    }
+
+    /** 채널 하나에 쌓인 프레임을 Redis publish 1회로 전송 (flush 스레드 전용) */
+    private void flush(String channel) {
+        Queue<Frame> q = outbox.get(channel);
+        if (q == null) return;
+        List<Frame> batch = new ArrayList<>();
+        Frame f;
+        while ((f = q.poll()) != null) batch.add(f);
+        if (batch.isEmpty()) return;
+        outboxSize.get(channel).addAndGet(-batch.size());
+        try {
+            redis.convertAndSend(channel, MAPPER.writeValueAsString(batch));
+            framesOut.addAndGet(batch.size());
+            publishes.incrementAndGet();
+        } catch (Exception e) {
+            log.warn("⚠️ [STOMP 중계 직렬화/전송 실패] channel={}, frames={}, error={}", channel, batch.size(), e.getMessage());
+        }
+    }
+
+    /** 다른 노드에서 온 프레임을 로컬 simple broker 로 전달 */
+    private void onRelay(byte[] body) {
+        List<Frame> frames;
+        try {
+            frames = MAPPER.readValue(new String(body, StandardCharsets.UTF_8), new TypeReference<List<Frame>>() {});
+        } catch (Exception e) {
+            log.warn("⚠️ [STOMP 중계 수신 파싱 실패] {}", e.getMessage());
+            return;
+        }
+        SimpMessagingTemplate template = brokerTemplate.getObject();
+        String self = presenceStore.getNodeId();
+        for (Frame frame : frames) {
+            if (self.equals(frame.origin())) continue;
+            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+            accessor.setNativeHeader(RELAYED_HEADER, frame.origin());
+            if (frame.contentType() != null) accessor.setContentType(MimeType.valueOf(frame.contentType()));
+            accessor.setLeaveMutable(true);
+            template.send(frame.destination(), MessageBuilder.createMessage(frame.payload(), accessor.getMessageHeaders()));
+            framesIn.incrementAndGet();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        return Map.of(
+            "enabled", enabled,
+            "framesOut", framesOut.get(),
+            "publishes", publishes.get(),
+            "framesIn", framesIn.get(),
+            "pendingChannels", outbox.size()
+        );
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.web.socket.config.annotation.*;
 /**
  * ✅ 멘토링 채팅방 전용 WebSocket 설정
  * 기존 WebSocket과 분리하여 멘토-멘티 간 실시간 채팅을 위한 설정
+ * (인바운드 파티션 실행기/아웃바운드 제한은 브로커 공용이라 WebSocketConfig 에서 한 번만 등록)
  */
 @Configuration
 @EnableWebSocketMessageBroker
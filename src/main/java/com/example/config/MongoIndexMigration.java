@@ -0,0 +1,46 @@
+package com.example.config;
+
+import java.util.List;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.stereotype.Component;
+
+import com.example.VO.ChatMessage;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ✅ 더 이상 쓰지 않는 Mongo 인덱스 정리 (기동 시 1회)
+ * - auto-index-creation 은 새 인덱스만 만들고 이름이 바뀐 옛 인덱스는 그대로 둠 → 쓰기마다 갱신 비용만 남음
+ * - 있을 때만 drop, 실패해도 기동은 계속 (다음 기동 때 다시 시도)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MongoIndexMigration {
+
+    /** chat_messages: (chatroomId, createdAt) → room_created_id_idx (chatroomId, createdAt, _id) 로 대체됨 */
+    private static final List<String> OBSOLETE_CHAT_MESSAGE_INDEXES = List.of("room_created_idx");
+
+    private final MongoTemplate mongoTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void dropObsoleteIndexes() {
+        try {
+            IndexOperations ops = mongoTemplate.indexOps(ChatMessage.class);
+            List<String> existing = ops.getIndexInfo().stream().map(IndexInfo::getName).toList();
+            for (String name : OBSOLETE_CHAT_MESSAGE_INDEXES) {
+                if (!existing.contains(name)) continue;
+                ops.dropIndex(name);
+                log.info("🧹 [Mongo 인덱스 정리] chat_messages.{} 삭제", name);
+            }
+        } catch (Exception e) {
+            log.warn("⚠️ [Mongo 인덱스 정리 실패] {}", e.getMessage());
+        }
+    }
+}
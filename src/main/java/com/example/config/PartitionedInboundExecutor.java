@@ -0,0 +1,129 @@
+package com.example.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.MessageHandlingRunnable;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ✅ STOMP 인바운드 채널용 파티션 실행기
+ * - 목적지의 roomId(/app/rooms/{roomId}/...) 또는 STOMP 헤더 roomId 로 파티션을 고름
+ *   → 같은 방의 프레임은 한 스레드에서 순서대로, 다른 방은 코어 수만큼 병렬 처리
+ * - roomId 가 없는 프레임(CONNECT, presence 등)은 세션 단위로 파티션 → 세션 내 순서 유지
+ * - 파티션 큐가 가득 차면 offer-timeout 동안 I/O 스레드를 막고(backpressure) 그래도 안되면 거부
+ */
+@Component
+@Slf4j
+public class PartitionedInboundExecutor implements Executor {
+
+    private static final Pattern ROOM_DEST = Pattern.compile("/rooms/(\\d+)/");
+
+    private final Partition[] partitions;
+    private final long offerTimeoutMillis;
+    private final AtomicLong rejected = new AtomicLong();
+
+    public PartitionedInboundExecutor(
+            @Value("${stomp.inbound.partitions:0}") int partitions,
+            @Value("${stomp.inbound.queue-capacity:1000}") int queueCapacity,
+            @Value("${stomp.inbound.offer-timeout-ms:500}") long offerTimeoutMillis) {
+        int n = partitions > 0 ? partitions : Runtime.getRuntime().availableProcessors();
+        this.partitions = new Partition[n];
+        for (int i = 0; i < n; i++) {
+            this.partitions[i] = new Partition("stomp-inbound-" + i, Math.max(1, queueCapacity));
+        }
+        this.offerTimeoutMillis = offerTimeoutMillis;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        Partition p = partitions[Math.floorMod(partitionKey(task).hashCode(), partitions.length)];
+        try {
+            if (p.queue.offer(task, offerTimeoutMillis, TimeUnit.MILLISECONDS)) return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rejected.incrementAndGet();
+        log.warn("⚠️ [STOMP 인바운드 거부] partition={}, queueDepth={}", p.name, p.queue.size());
+        throw new RejectedExecutionException("STOMP 인바운드 큐 포화: " + p.name);
+    }
+
+    private String partitionKey(Runnable task) {
+        if (task instanceof MessageHandlingRunnable r) {
+            Message<?> message = r.getMessage();
+            String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+            if (destination != null) {
+                Matcher m = ROOM_DEST.matcher(destination);
+                if (m.find()) return "room:" + m.group(1);
+            }
+            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+            String roomHeader = accessor.getFirstNativeHeader("roomId");
+            if (roomHeader != null) return "room:" + roomHeader;
+            String sessionId = accessor.getSessionId();
+            if (sessionId != null) return "session:" + sessionId;
+        }
+        return "default";
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Partition p : partitions) p.worker.interrupt();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        int total = 0;
+        int max = 0;
+        for (Partition p : partitions) {
+            int depth = p.queue.size();
+            total += depth;
+            max = Math.max(max, depth);
+        }
+        stats.put("partitions", partitions.length);
+        stats.put("queueDepth", total);
+        stats.put("maxPartitionDepth", max);
+        stats.put("rejected", rejected.get());
+        return stats;
+    }
+
+    /** 단일 스레드 + 제한 큐 */
+    private static final class Partition {
+        final String name;
+        final BlockingQueue<Runnable> queue;
+        final Thread worker;
+
+        Partition(String name, int capacity) {
+            this.name = name;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.worker = new Thread(this::run, name);
+            this.worker.setDaemon(true);
+            this.worker.start();
+        }
+
+        private void run() {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    queue.take().run();
+                } catch (InterruptedException e) {
+                    return;
+                } catch (Throwable t) {
+                    log.error("❌ [STOMP 인바운드 처리 오류] partition={}, error={}", name, t.getMessage(), t);
+                }
+            }
+        }
+    }
+}
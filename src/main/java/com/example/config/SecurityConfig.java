@@ -2,6 +2,7 @@ package com.example.config;
 
 import java.util.List;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -17,6 +18,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.session.web.http.CookieSerializer;
 import org.springframework.session.web.http.DefaultCookieSerializer;
 
@@ -24,6 +26,8 @@ import com.example.DAO.UserRepository;
 import com.example.jwt.JwtFilter;
 import com.example.jwt.JwtUtil;
 import com.example.jwt.LoginFilter;
+import com.example.security.PrincipalCache;
+import com.example.session.CompactSessionSerializer;
 import com.example.security.CustomAccessDeniedHandler;
 import com.example.service.SessionService;
 
@@ -44,17 +48,20 @@ public class SecurityConfig {
     private final JwtUtil jwtUtil;
     private final UserRepository userRepository;
     private final SessionService sessionService;
+    private final PrincipalCache principalCache;
 
     public SecurityConfig(
         AuthenticationConfiguration authenticationConfiguration,
         JwtUtil jwtUtil,
         UserRepository userRepository,
-        SessionService sessionService
+        SessionService sessionService,
+        PrincipalCache principalCache
     ) {
         this.authenticationConfiguration = authenticationConfiguration;
         this.jwtUtil = jwtUtil;
         this.userRepository = userRepository;
         this.sessionService = sessionService;
+        this.principalCache = principalCache;
     }
  // ✅ 추가한 부분: SESSION 쿠키를 UUID로 저장하기 위한 설정
     @Bean
@@ -68,6 +75,14 @@ public class SecurityConfig {
       
         return serializer;
     }
+
+    // ✅ Spring Session 속성 값 직렬화: ServerSession/문자열/숫자는 압축 형식, 나머지와 기존 값은 JDK 직렬화
+    //    (write-compact=false 면 두 형식을 읽기만 하고 JDK 형식으로 씀 → 롤링 배포 1단계)
+    @Bean("springSessionDefaultRedisSerializer")
+    public RedisSerializer<Object> springSessionDefaultRedisSerializer(
+            @Value("${session.serializer.write-compact:false}") boolean writeCompact) {
+        return new CompactSessionSerializer(getClass().getClassLoader(), writeCompact);
+    }
     
     
 
@@ -122,7 +137,7 @@ public class SecurityConfig {
     // ✅ JWT 필터 (세션 + 쿠키 검증)
     @Bean
     public JwtFilter jwtFilter() {
-        return new JwtFilter(jwtUtil, userRepository, sessionService);
+        return new JwtFilter(jwtUtil, userRepository, sessionService, principalCache);
     }
 
     // ✅ 익명 사용자의 세션 생성을 막는 필터
@@ -215,7 +230,7 @@ public class SecurityConfig {
                 .requestMatchers("/api/mentoring/mentorByChatId").permitAll() // ✅ chatId로 멘토 정보 조회 08/18
                 .requestMatchers("/api/mentoring/menteeByChatId").permitAll() // ✅ chatId로 멘티 정보 조회 08/18
                 .requestMatchers(HttpMethod.POST, "/api/mentoring/request").hasRole("MENTEE")
-                .requestMatchers(HttpMethod.GET, "/api/mentoring/requests").hasRole("MENTOR")
+                .requestMatchers(HttpMethod.GET, "/api/mentoring/requests", "/api/mentoring/requests/page").hasRole("MENTOR")
                 .requestMatchers(HttpMethod.POST, "/api/mentoring/accept-request").hasRole("MENTOR")
                 .requestMatchers("/api/mentoring/progress").authenticated()
                 .requestMatchers(HttpMethod.POST, "/api/mentoring/terminate/**").authenticated() //8/20
@@ -0,0 +1,82 @@
+package com.example.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ✅ STOMP 아웃바운드 제한 설정 + 느린 클라이언트 축출 집계
+ * - 세션별 전송 버퍼/전송 시간 제한을 넘기면 Spring 이 세션을 끊음 (SESSION_NOT_RELIABLE)
+ * - 아웃바운드 채널 전용 스레드풀(큐 크기 제한)
+ */
+@Component
+@Slf4j
+public class StompOutboundLimits implements WebSocketHandlerDecoratorFactory {
+
+    @Getter private final int sendTimeLimitMillis;
+    @Getter private final int sendBufferSizeLimit;
+    @Getter private final int messageSizeLimit;
+    @Getter private final ThreadPoolTaskExecutor outboundExecutor;
+
+    private final AtomicLong evicted = new AtomicLong();
+
+    public StompOutboundLimits(
+            @Value("${stomp.outbound.send-time-limit-ms:10000}") int sendTimeLimitMillis,
+            @Value("${stomp.outbound.buffer-size-limit:524288}") int sendBufferSizeLimit,
+            @Value("${stomp.outbound.message-size-limit:65536}") int messageSizeLimit,
+            @Value("${stomp.outbound.pool-size:0}") int poolSize,
+            @Value("${stomp.outbound.queue-capacity:10000}") int queueCapacity) {
+        this.sendTimeLimitMillis = sendTimeLimitMillis;
+        this.sendBufferSizeLimit = sendBufferSizeLimit;
+        this.messageSizeLimit = messageSizeLimit;
+
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors() * 2;
+        this.outboundExecutor = new ThreadPoolTaskExecutor();
+        this.outboundExecutor.setThreadNamePrefix("stomp-outbound-");
+        this.outboundExecutor.setCorePoolSize(threads);
+        this.outboundExecutor.setMaxPoolSize(threads);
+        this.outboundExecutor.setQueueCapacity(queueCapacity);
+        this.outboundExecutor.initialize();
+    }
+
+    /** 세션 종료 사유가 SESSION_NOT_RELIABLE 이면 느린 클라이언트 축출로 집계 */
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                if (CloseStatus.SESSION_NOT_RELIABLE.equalsCode(closeStatus)) {
+                    evicted.incrementAndGet();
+                    log.warn("🐢 [느린 클라이언트 축출] sessionId={}", session.getId());
+                }
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        outboundExecutor.shutdown();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("outboundQueueDepth", outboundExecutor.getQueueSize());
+        stats.put("outboundActive", outboundExecutor.getActiveCount());
+        stats.put("slowConsumersEvicted", evicted.get());
+        return stats;
+    }
+}
@@ -35,9 +35,16 @@ import java.util.Map;
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     private final JwtProvider jwtProvider;
+    private final ClusterStompRelay clusterStompRelay;
+    private final PartitionedInboundExecutor inboundExecutor;
+    private final StompOutboundLimits outboundLimits;
 
-    public WebSocketConfig(JwtProvider jwtProvider) {
+    public WebSocketConfig(JwtProvider jwtProvider, ClusterStompRelay clusterStompRelay,
+                           PartitionedInboundExecutor inboundExecutor, StompOutboundLimits outboundLimits) {
         this.jwtProvider = jwtProvider;
+        this.clusterStompRelay = clusterStompRelay;
+        this.inboundExecutor = inboundExecutor;
+        this.outboundLimits = outboundLimits;
     }
 
     @Override
@@ -46,6 +53,8 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         config.enableSimpleBroker("/topic", "/queue");
         config.setApplicationDestinationPrefixes("/app");
         config.setUserDestinationPrefix("/user");
+        // 다중 노드: 브로커로 나가는 /topic, /user 메시지를 Redis 로 중계 (/wss, /mentoring-ws 공용 브로커)
+        config.configureBrokerChannel().interceptors(clusterStompRelay);
     }
 
     @Override
@@ -108,8 +117,24 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     }
 
    
+    /** 세션별 전송 버퍼/시간 제한 (/wss, /mentoring-ws 공용) → 넘기면 느린 클라이언트로 보고 세션 종료 */
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(outboundLimits.getSendTimeLimitMillis())
+                    .setSendBufferSizeLimit(outboundLimits.getSendBufferSizeLimit())
+                    .setMessageSizeLimit(outboundLimits.getMessageSizeLimit())
+                    .addDecoratorFactory(outboundLimits);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.executor(outboundLimits.getOutboundExecutor());
+    }
+
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
+        // roomId 기준 파티션 실행 (방 내 순서 보장, 방끼리는 병렬)
+        registration.executor(inboundExecutor);
         registration.interceptors(new ChannelInterceptor() {
             @Override
             public Message<?> preSend(Message<?> message, MessageChannel channel) {
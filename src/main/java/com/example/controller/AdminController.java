@@ -5,6 +5,10 @@ import com.example.DAO.UserRepository;
 import com.example.VO.MemberVO;
 import com.example.VO.MentorVO;
 import com.example.dto.BanRequestDTO;
+import com.example.ingest.EsBulkIngestor;
+import com.example.jwt.JwtUtil;
+import com.example.security.PrincipalCache;
+import com.example.session.SessionNearCache;
 import com.example.service.PaymentService;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -39,12 +43,39 @@ public class AdminController {
     @Autowired
     private PaymentService paymentService;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private SessionNearCache sessionNearCache;
+
+    @Autowired
+    private EsBulkIngestor esBulkIngestor;
+
     // ✅ 전체 사용자 목록 조회
     @GetMapping("/users")
     public List<MemberVO> getAllUsers() {
         return mentorRepository.getAllUsers();  // mapper에 구현된 getAllUsers 사용
     }
 
+    // ✅ 인증 캐시 상태 (사용자 / 검증된 토큰 / 세션 크기·적중률)
+    @GetMapping("/principal-cache-stats")
+    public Map<String, Object> getPrincipalCacheStats() {
+        Map<String, Object> stats = new HashMap<>(principalCache.stats());
+        stats.put("verifiedTokens", jwtUtil.verifiedCacheStats());
+        stats.put("sessions", sessionNearCache.stats());
+        return stats;
+    }
+
+    // ✅ ES 수집 파이프라인 상태 (큐 깊이 / bulk 지연 / 재시도·스필)
+    @GetMapping("/es-ingest-stats")
+    public Map<String, Object> getEsIngestStats() {
+        return esBulkIngestor.stats();
+    }
+
     // ✅ 멘토 인증 요청 목록 조회 (PENDING 상태)
     @GetMapping("/mentor-requests")
     public List<MentorVO> getMentorRequests() {
@@ -55,6 +86,7 @@ public class AdminController {
     @PostMapping("/mentor/approve/{userId}")
     public String approveMentor(@PathVariable int userId) {
         mentorRepository.approveMentor(userId);
+        principalCache.evict(userId); // 권한 변경 → 인증 캐시 무효화
         return "멘토 승인 완료";
     }
 
@@ -62,6 +94,7 @@ public class AdminController {
     @PostMapping("/mentor/revoke/{userId}")
     public String revokeMentor(@PathVariable int userId) {
         mentorRepository.revokeMentor(userId);
+        principalCache.evict(userId);
         return "멘토 권한 철회 완료";
     }
 
@@ -208,6 +241,7 @@ public class AdminController {
 
             mentorRepository.banUserByUserIdWithReason(updateData);
             System.out.println("✅ 사용자 차단 정보(사유/기간 포함) 업데이트 완료");
+            principalCache.evict(userId);
             
             
             return ResponseEntity.ok("✅ 블랙리스트 등록 완료");
@@ -226,6 +260,7 @@ public class AdminController {
     public ResponseEntity<String> unbanUser(@PathVariable int userId) {
         try {
             mentorRepository.unbanUserByUserId(userId);
+            principalCache.evict(userId);
             return ResponseEntity.ok("블랙리스트 해제 완료");
         } catch (Exception e) {
             e.printStackTrace();
@@ -1,32 +1,22 @@
 package com.example.controller;
 
-import lombok.extern.slf4j.Slf4j;
+import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 
 import com.example.VO.ChatLogRequest;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-
-import java.time.Instant;
-import java.util.HashMap;
-import java.util.Map;
+import com.example.ingest.ChatLogEvent;
+import com.example.ingest.EsBulkIngestor;
 
 @RestController
 @RequestMapping("/api/chat")
-@Slf4j
+@RequiredArgsConstructor
 public class ChatLogController {
 
+    private final EsBulkIngestor esBulkIngestor;
+
+    // chat-logs 인덱스로 bulk 수집 (로그/Logstash 경유 아님)
     @PostMapping("/log")
-    public void logChat(@RequestBody ChatLogRequest request) throws JsonProcessingException {
-        Map<String, Object> logData = new HashMap<>();
-        logData.put("type", "chat_message");
-        logData.put("roomId", request.getRoomId());
-        logData.put("senderId", request.getSenderId());
-        logData.put("content", request.getContent());
-        logData.put("timestamp", request.getTimestamp());
-        logData.put("abusive", request.isAbusive());
-        logData.put("receiverId", request.getReceiverId());
-        log.info(new ObjectMapper().writeValueAsString(logData));
+    public void logChat(@RequestBody ChatLogRequest request) {
+        esBulkIngestor.offer(ChatLogEvent.from(request));
     }
 }
-
@@ -3,12 +3,11 @@ package com.example.controller;
 import com.example.DAO.MenteeRepository;
 import com.example.DAO.MentorEntityRepository;
 import com.example.DAO.MentorRequestRepository;
-import com.example.DAO.MemberRepository;
 import com.example.entity.Mentee;
 import com.example.entity.Mentor;
 import com.example.entity.MentorRequest;
-import com.example.entity.Member;
 import com.example.security.CustomUserDetails;
+import com.example.service.DisplayNameResolver;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -18,6 +17,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @RestController
@@ -28,7 +28,7 @@ public class MenteeController {
     private final MenteeRepository menteeRepository;
     private final MentorEntityRepository mentorEntityRepository;
     private final MentorRequestRepository mentorRequestRepository;
-    private final MemberRepository memberRepository;
+    private final DisplayNameResolver displayNameResolver;
 
     @GetMapping("/dashboard")
     public String menteeDashboard() {
@@ -55,17 +55,30 @@ public class MenteeController {
             List<MentorRequest> acceptedRequests = mentorRequestRepository
                     .findByMenteeIdAndStatus(mentee.getMenteeId(), "ACCEPTED");
             
-            // 3. 각 요청에 대해 멘토 정보 조회
+            // 3. 멘토 정보 / 이름을 목록 전체에 대해 한 번에 조회
+            List<Long> mentorIds = acceptedRequests.stream()
+                    .map(MentorRequest::getMentorId)
+                    .distinct()
+                    .collect(Collectors.toList());
+            Map<Long, Mentor> mentorById = mentorEntityRepository.findAllById(mentorIds).stream()
+                    .collect(Collectors.toMap(Mentor::getMentorId, Function.identity()));
+            Map<Long, String> names = displayNameResolver.memberNames(mentorById.values().stream()
+                    .map(Mentor::getUserId)
+                    .collect(Collectors.toSet()));
+
             List<Map<String, Object>> mentors = acceptedRequests.stream().map(request -> {
-                Mentor mentor = mentorEntityRepository.findById(request.getMentorId())
-                        .orElseThrow(() -> new RuntimeException("멘토 정보를 찾을 수 없습니다."));
-                
-                Member member = memberRepository.findById(mentor.getUserId())
-                        .orElseThrow(() -> new RuntimeException("멤버 정보를 찾을 수 없습니다."));
+                Mentor mentor = mentorById.get(request.getMentorId());
+                if (mentor == null) {
+                    throw new RuntimeException("멘토 정보를 찾을 수 없습니다.");
+                }
+                String name = names.get(mentor.getUserId());
+                if (name == null) {
+                    throw new RuntimeException("멤버 정보를 찾을 수 없습니다.");
+                }
                 
                 Map<String, Object> mentorMap = new HashMap<>();
                 mentorMap.put("id", mentor.getMentorId());
-                mentorMap.put("name", member.getName());
+                mentorMap.put("name", name);
                 mentorMap.put("subject", mentor.getSpecialties() != null ? mentor.getSpecialties() : "");
                 // 실제 평균 점수 계산 (임시로 3점으로 설정)
                 mentorMap.put("rating", 3.0);
@@ -15,6 +15,7 @@ import com.example.DAO.UserRepository;
 import com.example.VO.MemberVO;
 import com.example.jwt.JwtUtil;
 import com.example.security.CustomUserDetails;
+import com.example.security.PrincipalCache;
 
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
@@ -29,6 +30,9 @@ public class MentorController {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
     @PreAuthorize("hasAnyRole('MENTEE', 'ADMIN')")
     @PostMapping("/mentor")
     public ResponseEntity<String> applyForMentor(HttpServletResponse response) {
@@ -40,6 +44,7 @@ public class MentorController {
 
         user.setRoles("ROLE_MENTOR");
         userRepository.save(user);
+        principalCache.evict(user.getUserId());
 
         String newToken = jwtUtil.createJwt(
         	    user.getLoginid(),        // username
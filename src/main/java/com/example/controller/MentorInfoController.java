@@ -1,11 +1,8 @@
 package com.example.controller;
 
-import com.example.DAO.MenteeRepository;
 import com.example.DAO.MentorEntityRepository;
-import com.example.DAO.MemberRepository;
-import com.example.entity.Mentee;
 import com.example.entity.Mentor;
-import com.example.entity.Member;
+import com.example.service.DisplayNameResolver;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -20,8 +17,7 @@ import java.util.Optional;
 public class MentorInfoController {
 
     private final MentorEntityRepository mentorEntityRepository;
-    private final MenteeRepository menteeRepository; // ✅ mentee 테이블 조회용
-    private final MemberRepository memberRepository; // ✅ member 테이블 조회용
+    private final DisplayNameResolver displayNameResolver; // ✅ member 이름 조회 (캐시)
 
     @GetMapping("/{userId}")
     public ResponseEntity<Map<String, Object>> getMentorInfo(@PathVariable Long userId) {
@@ -36,15 +32,13 @@ public class MentorInfoController {
         }
         Mentor mentor = optionalMentor.get();
 
-        // 2) member 테이블에서 이름 조회 (멘토도 멤버 테이블에 있음)
-        Optional<Member> optionalMember = memberRepository.findById(userId);
-        if (optionalMember.isEmpty()) {
+        // 2) member 테이블에서 이름 조회 (멘토도 멤버 테이블에 있음, 이름 캐시 사용)
+        String name = displayNameResolver.memberName(userId);
+        if (name == null) {
             System.out.println("❌ 멤버 정보 없음");
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(Map.of("error", "Member not found"));
         }
-        Member member = optionalMember.get();
-        String name = member.getName();
         Integer age = 20; // 임시로 하드코딩
 
         // 3) Transient 필드 채우기
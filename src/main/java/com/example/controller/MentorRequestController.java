@@ -8,6 +8,7 @@ import com.example.DAO.MentoringChatroomRepository;
 import com.example.dto.MenteeInfo;
 import com.example.dto.MentorRequestDTO;
 import com.example.dto.MentorRequestInfo;
+import com.example.dto.MentorRequestPage;
 import com.example.dto.MyMentorListDTO;
 import com.example.entity.Member;
 import com.example.entity.Mentee;
@@ -16,6 +17,7 @@ import com.example.entity.MentorRequest;
 import com.example.entity.MentoringChatroom;
 import com.example.security.CustomUserDetails;
 import com.example.service.MentoringChatroomService;
+import com.example.service.MentorRequestService;
 import com.example.service.MyMentorListService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -45,6 +47,7 @@ public class MentorRequestController {
     private final MentoringChatroomService mentoringChatroomService;
     private final MentoringChatroomRepository mentoringChatroomRepository;
     private final MyMentorListService myMentorListService; 
+    private final MentorRequestService mentorRequestService;
 
     /**
      * 1. 멘티 → 멘토 요청 생성
@@ -132,7 +135,7 @@ public class MentorRequestController {
         request.setStatus("REQUESTED");
         request.setStartedAt(LocalDateTime.now());
 
-        mentorRequestRepository.save(request);
+        mentorRequestService.register(request);
 
         log.info("💾 저장 완료: requestId={}, menteeId={}, mentorId={}, status={}",
                 request.getId(), request.getMenteeId(), request.getMentorId(), request.getStatus());
@@ -166,45 +169,34 @@ public class MentorRequestController {
     }
 
     /**
-     * 2. 멘토 → 요청 목록 조회
+     * 2. 멘토 → 요청 목록 조회 (멘티 정보까지 쿼리 1회, started_at 순)
+     * - after/size 를 주면 한 페이지, 생략하면 이전처럼 전체 목록
      */
     @GetMapping("/requests")
     public ResponseEntity<List<MentorRequestInfo>> getRequests(
-            @AuthenticationPrincipal CustomUserDetails userDetails) {
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer size) {
 
         Long userId = userDetails.getUserId().longValue();
-        log.info("📌 현재 로그인한 userId={}", userId);
-
-        Mentor mentor = mentorEntityRepository.findByUserId(userId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
-                        "멘토 정보를 찾을 수 없습니다. userId=" + userId));
-
-        log.info("✅ 매핑된 mentorId={}", mentor.getMentorId());
-
-        List<MentorRequest> requests = mentorRequestRepository
-                .findByMentorIdAndStatus(mentor.getMentorId(), "REQUESTED");
-
-        log.info("🔍 조회된 요청 개수={}", requests.size());
-
-        List<MentorRequestInfo> result = requests.stream().map(req -> {
-            log.info("🔍 요청 처리 중: requestId={}, menteeId={}, mentorId={}", 
-                    req.getId(), req.getMenteeId(), req.getMentorId());
-            
-            // mentee_id로 멘티 정보 조회
-            Mentee mentee = menteeRepository.findById(req.getMenteeId())
-                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
-                            "멘티를 찾을 수 없습니다. menteeId=" + req.getMenteeId()));
-            
-            log.info("👤 멘티 정보: menteeId={}, userId={}, name={}, age={}", 
-                    mentee.getMenteeId(), mentee.getUserId(), mentee.getName(), mentee.getAge());
-            
-            return new MentorRequestInfo(req.getId(), mentee.getUserId(),
-                    mentee.getName(), mentee.getAge());
-        }).collect(Collectors.toList());
-
+        List<MentorRequestInfo> result = (after == null && size == null)
+                ? mentorRequestService.getAllPendingRequests(userId)
+                : mentorRequestService.getPendingRequests(userId, after, size == null ? 200 : size);
+        log.info("🔍 멘토 요청함 조회: userId={}, 결과={}", userId, result.size());
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * 2-1. 멘토 → 요청 목록 페이지 (다음 커서 + 대기 요청 총 개수)
+     */
+    @GetMapping("/requests/page")
+    public ResponseEntity<MentorRequestPage> getRequestPage(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(mentorRequestService.getPendingPage(userDetails.getUserId().longValue(), after, size));
+    }
+
     /**
      * 3. 멘토 → 요청 수락
      */
@@ -227,8 +219,7 @@ public class MentorRequestController {
         }
 
         // 1. 요청 상태 변경
-        request.setStatus("ACCEPTED");
-        mentorRequestRepository.save(request);
+        mentorRequestService.changeStatus(request, "ACCEPTED");
 
         // 2. 채팅방 생성
         log.info("🔍 채팅방 생성 시작: menteeId={}, mentorId={}", 
@@ -311,8 +302,7 @@ public class MentorRequestController {
                     "이 요청을 거절할 권한이 없습니다.");
         }
 
-        request.setStatus("REJECTED");
-        mentorRequestRepository.save(request);
+        mentorRequestService.changeStatus(request, "REJECTED");
 
         log.info("❌ 멘토 요청 거절 완료 - requestId={}, status=REJECTED", requestId);
 
@@ -6,6 +6,8 @@ import com.example.entity.Mentor;
 import com.example.entity.MentoringProgress;
 import com.example.entity.MentoringChatroom;
 import com.example.service.MentoringChatroomService;
+import com.example.service.MentoringMessageService;
+import com.example.VO.MentoringChatMessageVO;
 import com.example.DAO.MenteeRepository;
 import com.example.DAO.MentorEntityRepository;
 import com.example.DAO.MentoringProgressRepository;
@@ -19,7 +21,6 @@ import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
 
 import java.security.Principal;
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -34,6 +35,7 @@ public class MentoringChatroomController {
     private final MenteeRepository menteeRepository;
     private final MentorEntityRepository mentorEntityRepository;
     private final MentoringChatroomRepository mentoringChatroomRepository;
+    private final MentoringMessageService mentoringMessageService;
     private final SimpMessagingTemplate messagingTemplate; // ✅ WebSocket 메시지 전송용
 
     @PostMapping("/accept")
@@ -85,66 +87,81 @@ public class MentoringChatroomController {
         return ResponseEntity.ok(Map.of("chatId", progress.getChatId()));
     }
 
-    // 메시지 저장
+    // 메시지 저장 (append-only 로그에 1건 추가)
     @PostMapping("/messages")
     public ResponseEntity<?> saveMessage(@RequestBody Map<String, Object> request) {
         try {
-            // 디버깅: 받은 데이터 출력
-            System.out.println("🔍 [DEBUG] 받은 요청 데이터: " + request);
-            System.out.println("🔍 [DEBUG] senderId 값: " + request.get("senderId") + " (타입: " + (request.get("senderId") != null ? request.get("senderId").getClass().getSimpleName() : "null") + ")");
-            System.out.println("🔍 [DEBUG] roomId 값: " + request.get("roomId") + " (타입: " + (request.get("roomId") != null ? request.get("roomId").getClass().getSimpleName() : "null") + ")");
-            System.out.println("🔍 [DEBUG] content 값: " + request.get("content") + " (타입: " + (request.get("content") != null ? request.get("content").getClass().getSimpleName() : "null") + ")");
-            
             Long roomId = Long.valueOf(request.get("roomId").toString());
             Long senderId = Long.valueOf(request.get("senderId").toString());
             String content = request.get("content").toString();
+            String senderName = request.get("senderName") != null ? request.get("senderName").toString() : null;
 
-            System.out.println("📥 [MentoringChatroom 메시지 저장] roomId=" + roomId + ", senderId=" + senderId + ", content=" + content);
+            log.info("📥 [MentoringChatroom 메시지 저장] roomId={}, senderId={}", roomId, senderId);
 
-            MentoringChatroom chatroom = mentoringChatroomRepository.findById(roomId)
-                    .orElseThrow(() -> new RuntimeException("채팅방을 찾을 수 없습니다: " + roomId));
+            MentoringChatMessageVO saved = mentoringMessageService.appendNow(roomId, senderId, senderName, content);
+            log.info("✅ [MentoringChatroom 메시지 저장 완료] chatId={}, seq={}", roomId, saved.getSeq());
 
-            System.out.println("🔍 [저장 전] chatroom.content=" + chatroom.getContent());
-            chatroom.setContent(content);
-            chatroom.setSentAt(LocalDateTime.now());
-            System.out.println("🔍 [저장 후] chatroom.content=" + chatroom.getContent());
-            
-            MentoringChatroom saved = mentoringChatroomRepository.save(chatroom);
-            System.out.println("✅ [MentoringChatroom 메시지 저장 완료] chatId=" + saved.getChat_id() + ", content=" + saved.getContent());
-            
             return ResponseEntity.ok(saved);
         } catch (Exception e) {
-            System.err.println("❌ [MentoringChatroom 메시지 저장 실패] " + e.getMessage());
-            e.printStackTrace();
+            log.error("❌ [MentoringChatroom 메시지 저장 실패] error={}", e.getMessage(), e);
             return ResponseEntity.badRequest().body("메시지 저장 실패: " + e.getMessage());
         }
     }
 
-    // 메시지 조회
+    // 메시지 조회 (기존 응답 형태 유지: 채팅방 정보 + 가장 최근 메시지의 content/sentAt)
     @GetMapping("/messages")
     public ResponseEntity<?> getMessage(@RequestParam Long roomId) {
         try {
-            System.out.println("📥 [MentoringChatroom 메시지 조회] roomId=" + roomId);
+            log.info("📥 [MentoringChatroom 메시지 조회] roomId={}", roomId);
 
             MentoringChatroom chatroom = mentoringChatroomRepository.findById(roomId)
                     .orElseThrow(() -> new RuntimeException("채팅방을 찾을 수 없습니다: " + roomId));
 
-            // 디버깅용: 전체 채팅방 목록 출력
-            List<MentoringChatroom> allChatrooms = mentoringChatroomRepository.findAll();
-            System.out.println("🔍 [전체 채팅방 목록]");
-            for (MentoringChatroom room : allChatrooms) {
-                System.out.println("  - chat_id=" + room.getChat_id() + ", content=" + room.getContent());
+            MentoringChatMessageVO latest = mentoringMessageService.getLatest(roomId);
+            if (latest == null) {
+                return ResponseEntity.ok(chatroom);
             }
-            System.out.println("🔍 [조회된 채팅방 정보] chat_id=" + chatroom.getChat_id() + ", content=" + chatroom.getContent() + ", sentAt=" + chatroom.getSentAt());
-
-            return ResponseEntity.ok(chatroom);
+            // 영속 엔티티를 건드리지 않도록 복사본에 담아서 응답
+            MentoringChatroom view = MentoringChatroom.builder()
+                    .chat_id(chatroom.getChat_id())
+                    .content(latest.getContent())
+                    .sentAt(latest.getSentAt())
+                    .isReported(chatroom.isReported())
+                    .participant1Id(chatroom.getParticipant1Id())
+                    .participant2Id(chatroom.getParticipant2Id())
+                    .createdAt(chatroom.getCreatedAt())
+                    .build();
+            return ResponseEntity.ok(view);
         } catch (Exception e) {
-            System.err.println("❌ [MentoringChatroom 메시지 조회 실패] " + e.getMessage());
-            e.printStackTrace();
+            log.error("❌ [MentoringChatroom 메시지 조회 실패] error={}", e.getMessage(), e);
             return ResponseEntity.badRequest().body("메시지 조회 실패: " + e.getMessage());
         }
     }
 
+    /**
+     * ✅ 방 메시지 이력 (seq 키셋 페이징)
+     * - beforeSeq: 그보다 오래된 메시지 (최신순), 생략 시 가장 최근부터
+     * - afterSeq: 재접속 시 놓친 메시지 따라잡기 (시간순)
+     */
+    @GetMapping("/rooms/{roomId}/messages")
+    public ResponseEntity<List<MentoringChatMessageVO>> getRoomMessages(
+            @PathVariable long roomId,
+            @RequestParam(required = false) Long beforeSeq,
+            @RequestParam(required = false) Long afterSeq,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        if (afterSeq != null) {
+            return ResponseEntity.ok(mentoringMessageService.getAfter(roomId, afterSeq, size));
+        }
+        return ResponseEntity.ok(mentoringMessageService.getBefore(roomId, beforeSeq, size));
+    }
+
+    /** 메시지 저장 큐 깊이 / 연속 실패 / 제외(poison)·유실 수 */
+    @GetMapping("/message-stats")
+    public Map<String, Object> getMessageStats() {
+        return mentoringMessageService.stats();
+    }
+
     // ========== WebSocket 메시지 처리 메서드들 ==========
     
     /**
@@ -161,17 +178,12 @@ public class MentoringChatroomController {
 
             log.info("📩 [WebSocket 메시지 수신] roomId={}, senderId={}, content={}", roomId, senderId, content);
 
-            // 1. DB에 메시지 저장
-            MentoringChatroom chatroom = mentoringChatroomRepository.findById(roomId)
-                    .orElseThrow(() -> new RuntimeException("채팅방을 찾을 수 없습니다: " + roomId));
-
-            chatroom.setContent(content);
-            chatroom.setSentAt(LocalDateTime.now());
-            MentoringChatroom saved = mentoringChatroomRepository.save(chatroom);
+            // 1. append-only 로그에 적재 (배치 INSERT, 채팅방 행은 갱신하지 않음)
+            MentoringChatMessageVO saved = mentoringMessageService.append(roomId, senderId, senderName, content);
 
             // 2. 응답 메시지 생성
             Map<String, Object> responseMessage = Map.of(
-                "chatId", saved.getChat_id(),
+                "chatId", roomId,
                 "roomId", roomId,
                 "senderId", senderId,
                 "senderName", senderName,
@@ -184,7 +196,7 @@ public class MentoringChatroomController {
             log.info("📢 [WebSocket 브로드캐스트] → /topic/mentoring/room/{}", roomId);
             messagingTemplate.convertAndSend("/topic/mentoring/room/" + roomId, responseMessage);
 
-            log.info("✅ [WebSocket 메시지 처리 완료] roomId={}, chatId={}", roomId, saved.getChat_id());
+            log.info("✅ [WebSocket 메시지 처리 완료] roomId={}", roomId);
 
         } catch (Exception e) {
             log.error("❌ [WebSocket 메시지 처리 실패] error={}", e.getMessage(), e);
@@ -193,10 +205,10 @@ public class MentoringChatroomController {
 
     /**
      * ✅ 채팅방 입장 처리
-     * 사용자가 채팅방에 입장할 때 호출
+     * 사용자가 채팅방에 입장할 때 호출 (입장한 사용자에게는 최근 메시지를 메모리 버퍼에서 바로 전달)
      */
     @MessageMapping("/chat/join")
-    public void handleJoinRoom(@Payload Map<String, Object> joinData) {
+    public void handleJoinRoom(@Payload Map<String, Object> joinData, Principal principal) {
         try {
             Long roomId = Long.valueOf(joinData.get("roomId").toString());
             String userName = joinData.get("userName").toString();
@@ -217,6 +229,13 @@ public class MentoringChatroomController {
             // 채팅방에 입장 메시지 브로드캐스트
             messagingTemplate.convertAndSend("/topic/mentoring/room/" + roomId, joinMessage);
 
+            // 입장한 사용자에게 최근 메시지 전달 (최신순)
+            if (principal != null) {
+                messagingTemplate.convertAndSendToUser(principal.getName(),
+                        "/queue/mentoring/room/" + roomId + "/recent",
+                        mentoringMessageService.getBefore(roomId, null, 50));
+            }
+
         } catch (Exception e) {
             log.error("❌ [채팅방 입장 처리 실패] error={}", e.getMessage(), e);
         }
@@ -4,6 +4,9 @@ import com.example.dto.MemberProfileUpdateDTO;
 import com.example.VO.MemberVO;
 import com.example.DAO.UserRepository;
 import com.example.security.CustomUserDetails;
+import com.example.security.PrincipalCache;
+import com.example.service.DisplayNameResolver;
+import com.example.service.RtChatService;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -18,10 +21,18 @@ public class ProfileController {
 
     private final UserRepository userRepository; //final 생성자에서 초기화 되도 객체 변경안됨 타입/변수
     private final PasswordEncoder passwordEncoder;
+    private final RtChatService rtChatService;
+    private final DisplayNameResolver displayNameResolver;
+    private final PrincipalCache principalCache;
 
-    public ProfileController(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public ProfileController(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                             RtChatService rtChatService, DisplayNameResolver displayNameResolver,
+                             PrincipalCache principalCache) {
         this.userRepository = userRepository;  //멤버변수/매개변수
         this.passwordEncoder = passwordEncoder;
+        this.rtChatService = rtChatService;
+        this.displayNameResolver = displayNameResolver;
+        this.principalCache = principalCache;
     }
 
     /**
@@ -45,6 +56,9 @@ public class ProfileController {
             }
 
             userRepository.save(user);
+            rtChatService.evictMember(userId); // 채팅 참가자 캐시의 회원 정보 무효화
+            displayNameResolver.evictUser(userId); // 표시 이름 캐시 무효화
+            principalCache.evict(userId); // 인증 캐시 무효화
             return ResponseEntity.ok("프로필이 수정되었습니다.");
         }).orElse(ResponseEntity.badRequest().body("해당 사용자를 찾을 수 없습니다."));
     }
@@ -4,6 +4,7 @@ import com.example.DAO.MenteeRepository;
 import com.example.DAO.MentorEntityRepository;
 import com.example.entity.Mentee;
 import com.example.entity.Mentor;
+import com.example.entity.Question;
 import com.example.dto.QuestionDTO;
 import com.example.service.QuestionService;
 import com.example.security.CustomUserDetails;
@@ -206,6 +207,60 @@ public class QuestionController {
         }
     }
     
+    // 멘티의 질문 목록 페이지 (요약만, 최신순)
+    @GetMapping("/mentee/page")
+    public ResponseEntity<?> getMenteeQuestionPage(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        try {
+            Long userId = userDetails.getUserId().longValue();
+            Mentee mentee = menteeRepository.findByUserId(userId)
+                    .orElseThrow(() -> new RuntimeException("멘티 정보를 찾을 수 없습니다."));
+            
+            return ResponseEntity.ok(questionService.getMenteeQuestionPage(mentee.getMenteeId(), cursor, size));
+            
+        } catch (Exception e) {
+            log.error("❌ 멘티 질문 페이지 조회 실패", e);
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+    
+    // 멘토의 질문 목록 페이지 (status: PENDING / ANSWERED, 생략 시 전체)
+    @GetMapping("/mentor/page")
+    public ResponseEntity<?> getMentorQuestionPage(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam(required = false) Question.QuestionStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        try {
+            Long userId = userDetails.getUserId().longValue();
+            Mentor mentor = mentorEntityRepository.findByUserId(userId)
+                    .orElseThrow(() -> new RuntimeException("멘토 정보를 찾을 수 없습니다."));
+            
+            return ResponseEntity.ok(questionService.getMentorQuestionPage(mentor.getMentorId(), status, cursor, size));
+            
+        } catch (Exception e) {
+            log.error("❌ 멘토 질문 페이지 조회 실패", e);
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+    
+    // 멘토의 답변 대기 / 완료 질문 수
+    @GetMapping("/mentor/counts")
+    public ResponseEntity<Map<String, Integer>> getMentorQuestionCounts(
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        
+        Long userId = userDetails.getUserId().longValue();
+        Mentor mentor = mentorEntityRepository.findByUserId(userId).orElse(null);
+        if (mentor == null) {
+            return ResponseEntity.ok(Map.of("pending", 0, "answered", 0));
+        }
+        return ResponseEntity.ok(questionService.getMentorQuestionCounts(mentor.getMentorId()));
+    }
+    
     // 질문 상세 조회
     @GetMapping("/{questionId}")
     public ResponseEntity<QuestionDTO> getQuestionById(@PathVariable Long questionId) {
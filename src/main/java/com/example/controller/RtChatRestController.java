@@ -1,16 +1,23 @@
 package com.example.controller;
 import com.example.DAO.MemberRepository;
 import com.example.VO.ChatMessage;
+import com.example.config.ClusterStompRelay;
+import com.example.config.PartitionedInboundExecutor;
+import com.example.config.StompOutboundLimits;
 import com.example.VO.ChatRequestDtos;
 import com.example.VO.ChatRoom;
 import com.example.VO.MemberVO;
 import com.example.entity.Member;
 import com.example.security.CustomUserDetails;
+import com.example.service.HotRoomBuffers;
+import com.example.service.PresenceAggregator;
+import com.example.service.ReadReceiptService;
 import com.example.service.RtChatService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.checkerframework.checker.index.qual.SameLen;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
@@ -21,6 +28,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.security.Principal;
 import java.time.Instant;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -35,6 +43,12 @@ public class RtChatRestController {
     private final SimpMessagingTemplate broker;
     private final MemberRepository memberRepository; // 👈 member 테이블 조회
     private final SimpUserRegistry userRegistry;
+    private final ClusterStompRelay clusterStompRelay;
+    private final PartitionedInboundExecutor inboundExecutor;
+    private final StompOutboundLimits outboundLimits;
+    private final PresenceAggregator presenceAggregator;
+    private final ReadReceiptService readReceiptService;
+    private final HotRoomBuffers hotRoomBuffers;
     
     @GetMapping("/online")
     public ResponseEntity<List<String>> online(@AuthenticationPrincipal CustomUserDetails me) {
@@ -55,6 +69,57 @@ public class RtChatRestController {
             .body(ids);
     }
     
+    /** 내 채팅방 전체의 안 읽은 메시지 수 (roomId → count) */
+    @GetMapping("/unread")
+    public ResponseEntity<Map<Long, Long>> unread(@AuthenticationPrincipal CustomUserDetails me) {
+        if (me == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        return ResponseEntity.ok(readReceiptService.getUnreadCounts(me.getUserId()));
+    }
+
+    /** 참가자/loginId 캐시 hit/miss 통계 */
+    @GetMapping("/cache-stats")
+    public Map<String, Object> cacheStats() {
+        return rtChatService.getMembershipCacheStats();
+    }
+
+    /** 메시지 저장 파이프라인 통계 */
+    @GetMapping("/persistence-stats")
+    public Map<String, Object> persistenceStats() {
+        return rtChatService.getPersistenceStats();
+    }
+
+    /** presence 전체 스냅샷 (delta version 포함) */
+    @GetMapping("/presence/snapshot")
+    public Map<String, Object> presenceSnapshot() {
+        return presenceAggregator.snapshot();
+    }
+
+    /** presence 이벤트 수 대비 전송 프레임 수 */
+    @GetMapping("/presence/stats")
+    public Map<String, Object> presenceStats() {
+        return presenceAggregator.stats();
+    }
+
+    /** STOMP 인바운드 큐 깊이/거부 수 + 아웃바운드 큐/느린 클라이언트 축출 수 */
+    @GetMapping("/stomp-stats")
+    public Map<String, Object> stompStats() {
+        Map<String, Object> stats = new LinkedHashMap<>(inboundExecutor.stats());
+        stats.putAll(outboundLimits.stats());
+        return stats;
+    }
+
+    /** 노드 간 STOMP 중계 통계 */
+    @GetMapping("/relay-stats")
+    public Map<String, Object> relayStats() {
+        return clusterStompRelay.stats();
+    }
+
+    /** 최근 메시지 버퍼 적중률 / 상주 방 수 */
+    @GetMapping("/hot-room-stats")
+    public Map<String, Object> hotRoomStats() {
+        return hotRoomBuffers.stats();
+    }
+
     @PostMapping("/rooms")
     public ChatRoom createRoom(@RequestParam long me, @RequestParam long other,
                                @RequestParam(required=false) String field) {
@@ -63,9 +128,32 @@ public class RtChatRestController {
 
     @GetMapping("/rooms/{roomId}/messages")
     public List<ChatMessage> page(@PathVariable long roomId,
-                                  @RequestParam(required=false) Long beforeId,
+                                  @RequestParam(required=false) String beforeId,
+                                  @RequestParam(required=false) String afterId,
                                   @RequestParam(defaultValue = "30") int size) {
-        return rtChatService.getMessages(roomId, beforeId, size);
+        return rtChatService.getMessages(roomId, legacyCursor(beforeId), legacyCursor(afterId), size).getContent();
+    }
+
+    // 예전 클라이언트는 숫자 message_id(long) 를 보냄 → 예전처럼 무시하고 최신 페이지 (그 외 형식이 틀리면 400)
+    // 24자리 ObjectId 는 숫자로만 이뤄질 수도 있으므로 long 범위 길이(19자리 이하)만 숫자 id 로 봄
+    private static String legacyCursor(String cursor) {
+        if (cursor != null && !cursor.isEmpty() && cursor.length() <= 19 && cursor.chars().allMatch(Character::isDigit)) {
+            log.debug("ℹ️ [숫자 커서 무시] cursor={}", cursor);
+            return null;
+        }
+        return cursor;
+    }
+
+    /** 커서 포함 페이지 응답 (스크롤 시 nextCursor 를 그대로 전달) */
+    @GetMapping("/rooms/{roomId}/messages/page")
+    public ChatRequestDtos.HistoryPage cursorPage(@PathVariable long roomId,
+                                                  @RequestParam(required=false) String before,
+                                                  @RequestParam(required=false) String after,
+                                                  @RequestParam(defaultValue = "30") int size) {
+        Slice<ChatMessage> slice = rtChatService.getMessages(roomId, before, after, size);
+        List<ChatMessage> rows = slice.getContent();
+        String next = rows.isEmpty() ? null : RtChatService.cursorOf(rows.get(rows.size() - 1));
+        return new ChatRequestDtos.HistoryPage(rows, next, slice.hasNext());
     }
 	 
  // CHANGED: 요청 생성
@@ -1,12 +1,15 @@
 package com.example.controller;
 
 import com.example.VO.ChatMessage;
+import com.example.service.ChatFanout;
+import com.example.service.PresenceAggregator;
+import com.example.service.ReadReceiptService;
 import com.example.service.RtChatService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.security.Principal;
-import java.util.Map;
+import java.time.Instant;
 
 import org.springframework.context.event.EventListener;
 import org.springframework.messaging.handler.annotation.*;
@@ -23,38 +26,48 @@ public class RtChatStompController {
 
     private final RtChatService rtChatService;
     private final SimpMessagingTemplate broker;
+    private final PresenceAggregator presenceAggregator;
+    private final ChatFanout chatFanout;
+    private final ReadReceiptService readReceiptService;
  
     // clientMsgId 추가
     public static record SendPayload(Long senderId, String content, String clientMsgId) {}
+    // 마지막으로 읽은 메시지의 시각(timestamp) + id
+    public static record ReadPayload(Long userId, Instant readAt, String messageId) {}
 
     @MessageMapping("/rooms/{roomId}/send")
     public void send(@DestinationVariable Long roomId, @Payload SendPayload payload) {
         log.info("📩 [수신] roomId={}, senderId={}, content={}", roomId, payload.senderId(), payload.content());
 
+        // 재전송(같은 clientMsgId) → 이미 저장/브로드캐스트 됨, 다시 보내지 않음
+        if (rtChatService.isDuplicateSend(payload.senderId(), payload.clientMsgId())) {
+            log.info("♻️ [중복 전송 스킵] senderId={}, clientMsgId={}", payload.senderId(), payload.clientMsgId());
+            return;
+        }
+
         // 메시지를 DB에 저장
-        ChatMessage saved = rtChatService.send(roomId, payload.senderId(), payload.content(), null);
-        log.info("💾 [저장됨] msgId={}, roomId={}, senderId={}, content={}",
-                saved.getId(), saved.getChatroomId(), saved.getSenderId(), saved.getContent());
-
-        // 1) 방 전체 브로드캐스트
-        log.info("📢 [브로드캐스트] → /topic/rooms/{}", roomId);
-        broker.convertAndSend("/topic/rooms/" + roomId, saved);
-
-        // 2) 방 참가자 개인 큐 전송
-        rtChatService.getParticipants(roomId).forEach(userId -> {
-            String loginId = rtChatService.resolveLoginId(userId);
-            // 본인이 보낸 메시지는 제외
-            if (!userId.equals(payload.senderId())) {
-                log.info("📤 convertAndSendToUser → loginId={}, roomId={}, msg={}", loginId, roomId, saved);
-                broker.convertAndSendToUser(loginId, "/queue/rooms/" + roomId, saved);
-            } else {
-                log.info("🙅 보낸 본인은 스킵: userId={}", userId);
-            }
-        });
+        RtChatService.SendResult result = rtChatService.send(roomId, payload.senderId(), payload.content(), payload.clientMsgId());
+        ChatMessage saved = result.message();
+        if (!result.created()) {
+            // 중복 제거 창이 지난 재전송 → 저장소에 있던 메시지, 이미 브로드캐스트 됨
+            log.info("♻️ [재전송 - 브로드캐스트 스킵] msgId={}, clientMsgId={}", saved.getId(), payload.clientMsgId());
+            return;
+        }
+        log.info("💾 [저장됨] msgId={}, roomId={}, senderId={}", saved.getId(), saved.getChatroomId(), saved.getSenderId());
+
+        // 방 토픽 + 참가자 개인 큐: 한 번 직렬화한 payload 를 재사용
+        chatFanout.publish(roomId, saved);
 
         log.info("✅ 메시지 브로드캐스트 완료 roomId={}, msgId={}", roomId, saved.getId());
     }
 
+    /** 읽음 신호: 워터마크는 모아서 저장되고 상대에게 /user/queue/rooms/{roomId}/read 로 전달됨 */
+    @MessageMapping("/rooms/{roomId}/read")
+    public void read(@DestinationVariable Long roomId, @Payload ReadPayload payload) {
+        log.debug("👀 [읽음] roomId={}, userId={}, readAt={}", roomId, payload.userId(), payload.readAt());
+        readReceiptService.markRead(roomId, payload.userId(), payload.readAt(), payload.messageId());
+    }
+
     /* ✅ 그대로 유지(선택): 프런트에서 직접 ONLINE publish 할 때도 안전하게 처리 */
     @MessageMapping("/presence/online")
     public void online(Principal principal,
@@ -69,8 +82,7 @@ public class RtChatStompController {
         boolean becameOnline = rtChatService.markOnline(userId, sessionId); // count += 1
         if (becameOnline) {
             log.info("📡 [온라인 처리 완료] userId={}, status=ONLINE", userId);
-            broker.convertAndSend("/topic/presence",
-                Map.of("status","ONLINE","loginId",userId,"userId",userId,"isOnline",true));
+            presenceAggregator.record(userId, true); // 틱마다 delta 로 묶어서 전송
         } else {
             log.warn("⚠️ [온라인 상태 변경 실패] userId={}, sessionId={}", userId, sessionId);
         }
@@ -90,13 +102,19 @@ public class RtChatStompController {
         boolean becameOffline = rtChatService.decrement(userId, sessionId); // count -= 1
         if (becameOffline) {
             log.info("📡 [오프라인 처리 완료] userId={}, status=OFFLINE", userId);
-            broker.convertAndSend("/topic/presence",
-                Map.of("status","OFFLINE","loginId",userId,"userId",userId,"isOnline",false));
+            presenceAggregator.record(userId, false);
         } else {
             log.warn("⚠️ [오프라인 상태 변경 실패] userId={}, sessionId={}", userId, sessionId);
         }
     }
 
+    /** delta version 누락 시 클라이언트가 요청 → 개인 큐로 전체 스냅샷 전송 */
+    @MessageMapping("/presence/snapshot")
+    public void snapshot(Principal principal) {
+        if (principal == null) return;
+        broker.convertAndSendToUser(principal.getName(), "/queue/presence", presenceAggregator.snapshot());
+    }
+
     @EventListener
     public void onDisconnect(SessionDisconnectEvent e) {
         String sessionId = e.getSessionId();
@@ -111,8 +129,7 @@ public class RtChatStompController {
         boolean becameOffline = rtChatService.decrement(userId, sessionId); // count -= 1
         if (becameOffline) {
             log.info("📡 [오프라인 상태 처리 완료] userId={}, status=OFFLINE", userId);
-            broker.convertAndSend("/topic/presence",
-                Map.of("userId", userId, "isOnline", false));
+            presenceAggregator.record(userId, false);
         } else {
             log.warn("⚠️ [오프라인 상태 처리 실패] userId={}, sessionId={}", userId, sessionId);
         }
@@ -1,31 +1,52 @@
 package com.example.controller;
 
+import com.example.service.AutocompleteIndexService;
+import com.example.service.EsSearchGateway;
 import com.example.service.SearchService;
+import com.example.service.TrendingKeywordService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequiredArgsConstructor
 public class SearchController {
 
     private final SearchService searchService;
+    private final TrendingKeywordService trendingKeywordService;
+    private final AutocompleteIndexService autocompleteIndexService;
+    private final EsSearchGateway esSearchGateway;
 
+    // 인기 검색어: 메모리 스냅샷 (window = 1h / 24h / 7d, 없으면 기본 윈도)
     @GetMapping("/api/keywords/trending")
-    public List<String> getTrendingKeywords() {
-        return searchService.getPopularKeywords();
+    public List<String> getTrendingKeywords(@RequestParam(value = "window", required = false) String window) {
+        return trendingKeywordService.top(window);
+    }
+
+    // 인기 검색어 집계 / 자동완성 색인 / ES 게이트웨이 상태
+    @GetMapping("/api/keywords/stats")
+    public Map<String, Object> getKeywordStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("trending", trendingKeywordService.stats());
+        stats.put("autocomplete", autocompleteIndexService.stats());
+        stats.put("esGateway", esSearchGateway.stats());
+        return stats;
     }
 
     @GetMapping("/api/keywords/autocomplete")
-    public List<String> getAutocomplete(@RequestParam("q") String keyword) {
+    public CompletableFuture<List<String>> getAutocomplete(@RequestParam("q") String keyword) {
         return searchService.getAutocomplete(keyword);
     }
 
     @GetMapping("/api/search")	//q라는 값이 url에 받음
-    public List<String> search(@RequestParam("q") String query) {
+    public CompletableFuture<List<String>> search(@RequestParam("q") String query) {
        //서비스에서 받아온걸 매개변수 커리를 주입
         searchService.logSearchKeyword(query);
+        trendingKeywordService.record(query);
 
         // 검색 결과 반환 (자동완성 기반)
         return searchService.getAutocomplete(query);
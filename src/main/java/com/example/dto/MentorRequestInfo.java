@@ -2,22 +2,19 @@ package com.example.dto;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
+
 @Getter
 @Setter
+@NoArgsConstructor
 @AllArgsConstructor
 public class MentorRequestInfo {
     private Long requestId; // 요청 ID
     private Long id;        // 멘티의 userId (프론트엔드에서 기대하는 필드명)
     private String name;    // 멘티 이름
     private Integer age;    // 멘티 나이
+    private LocalDateTime startedAt; // 요청 시각 (페이지 커서)
 }
-
-
-
-
-
-
-
-
@@ -0,0 +1,14 @@
+package com.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class MentorRequestPage {
+    private List<MentorRequestInfo> requests;
+    private String nextCursor;  // 다음 페이지 커서 (없으면 null)
+    private int totalPending;   // 대기 중인 요청 총 개수
+}
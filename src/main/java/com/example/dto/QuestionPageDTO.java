@@ -0,0 +1,13 @@
+package com.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class QuestionPageDTO {
+    private List<QuestionSummaryDTO> questions;
+    private String nextCursor;  // 다음 페이지 커서 (없으면 null)
+}
@@ -0,0 +1,22 @@
+package com.example.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+// 질문 목록용 요약 (본문/답변 TEXT 제외)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuestionSummaryDTO {
+    private Long questionId;
+    private Long menteeId;
+    private Long mentorId;
+    private String menteeName;
+    private String mentorName;
+    private String subject;
+    private String title;
+    private String status;
+    private String createdAt;
+    private String answeredAt;
+}
@@ -0,0 +1,39 @@
+package com.example.ingest;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.example.VO.ChatLogRequest;
+
+/**
+ * chat-logs 인덱스 문서 (스팸 분석/관리자 화면이 읽는 필드: type, senderId, content)
+ */
+public record ChatLogEvent(Long roomId, Long senderId, Long receiverId, String content, Date timestamp, boolean abusive)
+        implements IngestEvent {
+
+    public static final String INDEX = "chat-logs";
+
+    public static ChatLogEvent from(ChatLogRequest request) {
+        return new ChatLogEvent(request.getRoomId(), request.getSenderId(), request.getReceiverId(),
+                request.getContent(), request.getTimestamp(), request.isAbusive());
+    }
+
+    @Override
+    public String index() {
+        return INDEX;
+    }
+
+    @Override
+    public Map<String, Object> document() {
+        Map<String, Object> doc = new HashMap<>();
+        doc.put("type", "chat_message");
+        doc.put("roomId", roomId);
+        doc.put("senderId", senderId);
+        doc.put("content", content);
+        doc.put("timestamp", timestamp);
+        doc.put("abusive", abusive);
+        doc.put("receiverId", receiverId);
+        return doc;
+    }
+}
@@ -0,0 +1,456 @@
+package com.example.ingest;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.elasticsearch.rest.RestStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ✅ 분석 이벤트 → Elasticsearch bulk 수집기
+ *
+ * - 요청 스레드는 제한된 큐에 넣기만 함 (가득 차면 버리고 카운트)
+ * - 전용 스레드가 batch-size 개가 모이거나 flush-ms 가 지나면 bulk 로 전송
+ * - 문서 id 를 미리 부여하고 create 로 보냄 → 재시도/재전송해도 중복 색인 없음 (409 는 성공으로 간주)
+ * - 항목 일부 실패: 429/5xx 만 backoff 후 재시도, 그 외(매핑 오류 등)는 버림
+ * - ES 자체가 안 되면 배치를 디스크 스필 파일(ndjson)에 쓰고, 복구되면 스필 파일부터 다시 보냄
+ */
+@Component
+@Slf4j
+public class EsBulkIngestor {
+
+    private static final String SPILL_FILE = "spill.ndjson";
+    private static final String REPLAY_PREFIX = "replay-";
+
+    /** 전송 단위: 미리 부여한 id + 인덱스 + 직렬화한 본문 */
+    record Pending(String id, String index, String source) {}
+
+    private final RestHighLevelClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final BlockingQueue<Pending> queue;
+    private final int batchSize;
+    private final long flushMillis;
+    private final int maxRetries;
+    private final long retryBackoffMillis;
+    private final long downMillis;
+    private final Path spillDir;
+    private final long spillMaxBytes;
+
+    private final Object spillLock = new Object();
+    private BufferedWriter spillWriter; // spillLock
+
+    private volatile boolean running = true;
+    private volatile long downUntil;
+    private Thread worker;
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong indexed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong spilled = new AtomicLong();
+    private final AtomicLong replayed = new AtomicLong();
+    private final AtomicLong bulks = new AtomicLong();
+    private final AtomicLong bulkNanosTotal = new AtomicLong();
+    private final AtomicLong bulkNanosMax = new AtomicLong();
+    private volatile long lastBulkNanos;
+
+    public EsBulkIngestor(
+            RestHighLevelClient client,
+            @Value("${es.ingest.queue-capacity:20000}") int queueCapacity,
+            @Value("${es.ingest.batch-size:500}") int batchSize,
+            @Value("${es.ingest.flush-ms:1000}") long flushMillis,
+            @Value("${es.ingest.max-retries:3}") int maxRetries,
+            @Value("${es.ingest.retry-backoff-ms:200}") long retryBackoffMillis,
+            @Value("${es.ingest.down-seconds:10}") long downSeconds,
+            @Value("${es.ingest.spill-dir:${java.io.tmpdir}/moonpull-es-spill}") String spillDir,
+            @Value("${es.ingest.spill-max-mb:256}") long spillMaxMb) {
+        this.client = client;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.flushMillis = flushMillis;
+        this.maxRetries = maxRetries;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.downMillis = downSeconds * 1000;
+        this.spillDir = Path.of(spillDir);
+        this.spillMaxBytes = spillMaxMb * 1024 * 1024;
+    }
+
+    @PostConstruct
+    public void start() {
+        worker = new Thread(this::run, "es-bulk-ingest");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(10_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // 못 보낸 것은 다음 기동 때 재전송
+        List<Pending> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        if (!rest.isEmpty()) spill(rest);
+        synchronized (spillLock) {
+            closeSpillWriter();
+        }
+    }
+
+    /** 이벤트 1건 (요청 스레드, 블로킹 없음). 큐가 가득 차면 false */
+    public boolean offer(IngestEvent event) {
+        Pending p;
+        try {
+            Map<String, Object> doc = new LinkedHashMap<>();
+            doc.put("@timestamp", Instant.now().toString());
+            doc.putAll(event.document());
+            p = new Pending(UUID.randomUUID().toString(), event.index(), objectMapper.writeValueAsString(doc));
+        } catch (Exception e) {
+            log.warn("⚠️ [ES 수집 직렬화 실패] index={}, error={}", event.index(), e.getMessage());
+            return false;
+        }
+        if (!queue.offer(p)) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        accepted.incrementAndGet();
+        return true;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queueDepth", queue.size());
+        stats.put("queueRemaining", queue.remainingCapacity());
+        stats.put("accepted", accepted.get());
+        stats.put("dropped", dropped.get());
+        stats.put("indexed", indexed.get());
+        stats.put("failed", failed.get());
+        stats.put("retried", retried.get());
+        stats.put("spilled", spilled.get());
+        stats.put("replayed", replayed.get());
+        long n = bulks.get();
+        stats.put("bulks", n);
+        stats.put("bulkLatencyLastMs", lastBulkNanos / 1_000_000.0);
+        stats.put("bulkLatencyAvgMs", n == 0 ? 0 : bulkNanosTotal.get() / n / 1_000_000.0);
+        stats.put("bulkLatencyMaxMs", bulkNanosMax.get() / 1_000_000.0);
+        stats.put("esDown", System.currentTimeMillis() < downUntil);
+        stats.put("spillBytes", spillBytes());
+        return stats;
+    }
+
+    // ───────────────────────── 전송 스레드 ─────────────────────────
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        long deadline = 0;
+        while (running) {
+            try {
+                long now = System.currentTimeMillis();
+                long wait = batch.isEmpty() ? flushMillis : deadline - now;
+                Pending p = wait > 0 ? queue.poll(wait, TimeUnit.MILLISECONDS) : queue.poll();
+                if (p != null) {
+                    if (batch.isEmpty()) deadline = System.currentTimeMillis() + flushMillis;
+                    batch.add(p);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+                if (!batch.isEmpty() && (batch.size() >= batchSize || System.currentTimeMillis() >= deadline)) {
+                    deliver(batch);
+                    batch = new ArrayList<>(batchSize);
+                } else if (batch.isEmpty()) {
+                    replaySpill(); // 한가할 때 스필 파일 재전송
+                }
+            } catch (InterruptedException e) {
+                break;
+            } catch (Exception e) {
+                log.error("❌ [ES 수집 스레드 오류] {}", e.getMessage(), e);
+            }
+        }
+        if (!batch.isEmpty()) spill(batch);
+    }
+
+    /** 배치 전송 (ES 다운 중이거나 전송 자체가 실패하면 스필) */
+    private void deliver(List<Pending> batch) {
+        if (System.currentTimeMillis() < downUntil) {
+            spill(batch);
+            return;
+        }
+        if (!send(batch)) spill(batch);
+    }
+
+    /**
+     * bulk 전송 + 일부 실패 항목 재시도
+     * @return false 면 ES 에 닿지 못함 (batch 중 아직 못 보낸 항목이 남아 있음 → 호출자가 스필)
+     */
+    private boolean send(List<Pending> batch) {
+        List<Pending> todo = batch;
+        for (int attempt = 0; !todo.isEmpty(); attempt++) {
+            BulkResponse response;
+            long start = System.nanoTime();
+            try {
+                BulkRequest bulk = new BulkRequest();
+                for (Pending p : todo) {
+                    bulk.add(new IndexRequest(p.index()).id(p.id()).opType(DocWriteRequest.OpType.CREATE)
+                            .source(p.source(), XContentType.JSON));
+                }
+                response = client.bulk(bulk, RequestOptions.DEFAULT);
+            } catch (Exception e) {
+                downUntil = System.currentTimeMillis() + downMillis;
+                log.warn("🚧 [ES bulk 실패] {}건 스필, {}초간 전송 중단: {}", todo.size(), downMillis / 1000, e.getMessage());
+                batch.retainAll(todo);
+                return false;
+            } finally {
+                recordLatency(System.nanoTime() - start);
+            }
+
+            List<Pending> retry = new ArrayList<>();
+            BulkItemResponse[] items = response.getItems();
+            for (int i = 0; i < items.length; i++) {
+                BulkItemResponse item = items[i];
+                if (!item.isFailed() || item.status() == RestStatus.CONFLICT) {
+                    indexed.incrementAndGet(); // 409: 이전 시도에서 이미 색인됨
+                } else if (item.status() == RestStatus.TOO_MANY_REQUESTS || item.status().getStatus() >= 500) {
+                    retry.add(todo.get(i));
+                } else {
+                    failed.incrementAndGet();
+                    log.warn("⚠️ [ES 색인 거부] index={}, status={}, error={}", item.getIndex(), item.status(), item.getFailureMessage());
+                }
+            }
+            if (retry.isEmpty()) return true;
+            if (attempt >= maxRetries) {
+                // 계속 밀려나는 항목은 스필해 두고 나중에 재전송
+                log.warn("⚠️ [ES bulk 재시도 초과] {}건 스필", retry.size());
+                spill(retry);
+                return true;
+            }
+            retried.addAndGet(retry.size());
+            try {
+                Thread.sleep(retryBackoffMillis << attempt);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                batch.retainAll(retry);
+                return false;
+            }
+            todo = retry;
+        }
+        return true;
+    }
+
+    private void recordLatency(long nanos) {
+        bulks.incrementAndGet();
+        bulkNanosTotal.addAndGet(nanos);
+        bulkNanosMax.accumulateAndGet(nanos, Math::max);
+        lastBulkNanos = nanos;
+    }
+
+    // ───────────────────────── 디스크 스필 ─────────────────────────
+
+    private void spill(List<Pending> batch) {
+        synchronized (spillLock) {
+            try {
+                if (spillBytes() > spillMaxBytes) {
+                    dropped.addAndGet(batch.size());
+                    log.error("❌ [ES 스필 용량 초과] {}건 버림 (최대 {}MB)", batch.size(), spillMaxBytes / 1024 / 1024);
+                    return;
+                }
+                if (spillWriter == null) {
+                    Files.createDirectories(spillDir);
+                    spillWriter = Files.newBufferedWriter(spillDir.resolve(SPILL_FILE), StandardCharsets.UTF_8,
+                            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                }
+                for (Pending p : batch) {
+                    spillWriter.write(objectMapper.writeValueAsString(p));
+                    spillWriter.newLine();
+                }
+                spillWriter.flush();
+                spilled.addAndGet(batch.size());
+            } catch (IOException e) {
+                dropped.addAndGet(batch.size());
+                log.error("❌ [ES 스필 실패] {}건 버림: {}", batch.size(), e.getMessage());
+                closeSpillWriter();
+            }
+        }
+    }
+
+    /**
+     * 스필 파일 재전송: 현재 파일을 replay-* 로 옮긴 뒤 배치로 보냄
+     * - 배치 사이마다 새 이벤트가 밀려 있는지 확인하고, 밀려 있으면 그쪽 먼저 (파일 중간이라도 멈춤)
+     * - 멈추거나 중간에 ES 가 다시 실패하면 아직 못 보낸 줄만 남기도록 replay 파일을 다시 씀
+     *   (새 스필 파일로 옮기지 않음 → 같은 내용이 스필 용량에 두 번 잡히지 않음)
+     * - 기동 전에 남아 있던 replay-* 파일도 함께 처리
+     */
+    private void replaySpill() {
+        if (System.currentTimeMillis() < downUntil || !Files.isDirectory(spillDir)) return;
+        synchronized (spillLock) {
+            Path active = spillDir.resolve(SPILL_FILE);
+            try {
+                if (Files.exists(active) && Files.size(active) > 0) {
+                    closeSpillWriter();
+                    Files.move(active, spillDir.resolve(REPLAY_PREFIX + System.currentTimeMillis() + ".ndjson"),
+                            StandardCopyOption.ATOMIC_MOVE);
+                }
+            } catch (IOException e) {
+                log.warn("⚠️ [ES 스필 파일 이동 실패] {}", e.getMessage());
+                return;
+            }
+        }
+
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(spillDir, REPLAY_PREFIX + "*.ndjson")) {
+            ds.forEach(files::add);
+        } catch (IOException e) {
+            log.warn("⚠️ [ES 스필 목록 조회 실패] {}", e.getMessage());
+            return;
+        }
+        files.sort(null);
+
+        for (Path file : files) {
+            if (yieldToLive()) return;
+            long count = 0;
+            long corrupt = 0;
+            boolean down = false;
+            boolean stopped = false;
+            Path rest = file.resolveSibling(file.getFileName() + ".rest");
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                List<Pending> batch = new ArrayList<>(batchSize);
+                String line;
+                while (true) {
+                    line = reader.readLine();
+                    if (line != null) {
+                        if (line.isBlank()) continue;
+                        try {
+                            batch.add(objectMapper.readValue(line, Pending.class));
+                        } catch (JsonProcessingException e) {
+                            // 깨진 줄(쓰다 만 마지막 줄 등)은 건너뜀 → 파일 하나 때문에 재전송이 영영 멈추지 않도록
+                            corrupt++;
+                            failed.incrementAndGet();
+                            continue;
+                        }
+                        if (batch.size() < batchSize) continue;
+                    }
+                    if (!batch.isEmpty()) {
+                        down = !send(batch); // 실패 시 batch 에는 못 보낸 항목만 남음
+                        if (!down) {
+                            count += batch.size();
+                            replayed.addAndGet(batch.size());
+                            batch = new ArrayList<>(batchSize);
+                        }
+                    }
+                    if (line == null) break;
+                    if (down || yieldToLive()) {
+                        stopped = true;
+                        writeRest(rest, batch, reader);
+                        break;
+                    }
+                }
+                if (down && !stopped) {
+                    stopped = true;
+                    writeRest(rest, batch, null);
+                }
+            } catch (IOException e) {
+                log.warn("⚠️ [ES 스필 재전송 실패] file={}, error={}", file.getFileName(), e.getMessage());
+                deleteQuietly(rest);
+                return; // 파일 유지, 다음에 다시 (이미 보낸 줄은 create 409 → 중복 없음)
+            }
+            if (corrupt > 0) log.warn("⚠️ [ES 스필 깨진 줄 건너뜀] file={}, {}줄", file.getFileName(), corrupt);
+            if (stopped) {
+                try {
+                    Files.move(rest, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException e) {
+                    log.warn("⚠️ [ES 스필 남은 줄 저장 실패] file={}, error={}", file.getFileName(), e.getMessage());
+                    deleteQuietly(rest);
+                }
+                log.info("⏸️ [ES 스필 재전송 중단] file={}, {}건 전송, 나머지는 다음에 (ES 다운={})", file.getFileName(), count, down);
+                return;
+            }
+            deleteQuietly(file);
+            log.info("📤 [ES 스필 재전송] file={}, {}건", file.getFileName(), count);
+        }
+    }
+
+    // 새 이벤트가 한 배치 이상 밀려 있거나 종료 중이면 재전송을 멈춤
+    private boolean yieldToLive() {
+        return !running || queue.size() >= batchSize;
+    }
+
+    /** 못 보낸 항목 + 아직 읽지 않은 줄을 임시 파일로 (호출자가 replay 파일 자리로 옮김) */
+    private void writeRest(Path rest, List<Pending> unsent, BufferedReader remaining) throws IOException {
+        try (BufferedWriter w = Files.newBufferedWriter(rest, StandardCharsets.UTF_8)) {
+            for (Pending p : unsent) {
+                w.write(objectMapper.writeValueAsString(p));
+                w.newLine();
+            }
+            if (remaining == null) return;
+            String line;
+            while ((line = remaining.readLine()) != null) {
+                if (line.isBlank()) continue;
+                w.write(line);
+                w.newLine();
+            }
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("⚠️ [ES 스필 파일 삭제 실패] file={}, error={}", file.getFileName(), e.getMessage());
+        }
+    }
+
+    private long spillBytes() {
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(spillDir, "*.ndjson")) {
+            long total = 0;
+            for (Path p : ds) total += Files.size(p);
+            return total;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    // spillLock 안에서 호출
+    private void closeSpillWriter() {
+        if (spillWriter == null) return;
+        try {
+            spillWriter.close();
+        } catch (IOException ignored) {
+        }
+        spillWriter = null;
+    }
+}
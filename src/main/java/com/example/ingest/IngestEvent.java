@@ -0,0 +1,15 @@
+package com.example.ingest;
+
+import java.util.Map;
+
+/**
+ * Elasticsearch 로 보낼 분석 이벤트 (로그 시스템을 거치지 않음)
+ */
+public interface IngestEvent {
+
+    /** 색인할 인덱스 이름 */
+    String index();
+
+    /** 문서 본문 (@timestamp 는 수집기가 채움) */
+    Map<String, Object> document();
+}
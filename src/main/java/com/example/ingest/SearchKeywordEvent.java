@@ -0,0 +1,30 @@
+package com.example.ingest;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * search-autocomplete 인덱스 문서 (자동완성/인기 검색어 어휘가 읽는 필드: search_keyword)
+ */
+public record SearchKeywordEvent(String keyword, Date timestamp) implements IngestEvent {
+
+    public static final String INDEX = "search-autocomplete";
+
+    public static SearchKeywordEvent of(String keyword) {
+        return new SearchKeywordEvent(keyword, new Date());
+    }
+
+    @Override
+    public String index() {
+        return INDEX;
+    }
+
+    @Override
+    public Map<String, Object> document() {
+        Map<String, Object> doc = new HashMap<>();
+        doc.put("search_keyword", keyword);
+        doc.put("timestamp", timestamp);
+        return doc;
+    }
+}
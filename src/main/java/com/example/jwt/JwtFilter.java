@@ -19,7 +19,9 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import com.example.DAO.UserRepository;
 import com.example.VO.MemberVO;
 import com.example.security.CustomUserDetails;
+import com.example.security.PrincipalCache;
 import com.example.service.SessionService;
+import com.example.util.PathPrefixSet;
 import com.example.session.ServerSession;
 
 import io.jsonwebtoken.Claims;
@@ -29,7 +31,6 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import jakarta.servlet.http.HttpSession;
 
 //... import 동일
 
@@ -38,11 +39,53 @@ public class JwtFilter extends OncePerRequestFilter {
  private final JwtUtil jwtUtil;
  private final UserRepository userRepository;
  private final SessionService sessionService;
-
- public JwtFilter(JwtUtil jwtUtil, UserRepository userRepository, SessionService sessionService) {
+ private final PrincipalCache principalCache;
+
+ // 인증 없이 통과하는 경로 (정확 일치 / 접두사) — 클래스 로딩 시 한 번 정리
+ private static final PathPrefixSet PUBLIC_PATHS = PathPrefixSet.of(
+         List.of(
+             "/api/login",
+             "/api/join",
+             "/api/logout",
+             "/api/check-duplicate",
+             "/api/keywords/trending",
+             "/api/keywords/autocomplete",
+             "/api/profile/check-email",
+             "/api/profile/check-phone",
+             "/api/chat/log",
+             "/apply/mentor",
+             "/mentorReview/insert"
+         ),
+         List.of(
+             "/api/admin/report",
+             "/api/admin/reports",
+             "/api/chat/",
+             "/api/teacher/",
+             "/api/mentor-id",
+             "/api/mentoring/mentorByChatId",
+             "/api/mentoring/menteeByChatId",
+             "/api/chat/messages",
+             "/api/mentor/",
+             "/api/mentors/",
+             "/api/mentoring/chatId",
+             "/admin/",
+             "/mentee/",
+             "/payments/",
+             "/api/mentor-review/",
+             "/mentorReview/",
+             // 소셜 로그인 콜백/브릿지
+             "/auth/kakao/",
+             "/auth/google/",
+             "/auth/naver/",
+             "/auth/bridge"
+         ));
+
+ public JwtFilter(JwtUtil jwtUtil, UserRepository userRepository, SessionService sessionService,
+                  PrincipalCache principalCache) {
      this.jwtUtil = jwtUtil;
      this.userRepository = userRepository;
      this.sessionService = sessionService;
+     this.principalCache = principalCache;
  }
 
  @Override
@@ -56,52 +99,16 @@ public class JwtFilter extends OncePerRequestFilter {
      }
 
      // 2) 인증 예외 경로
-     String path = request.getRequestURI();
-     if (
-         path.equals("/api/login") ||
-         path.equals("/api/join") ||
-         path.equals("/api/logout") ||   
-         path.equals("/api/check-duplicate") ||
-         path.equals("/api/keywords/trending") ||
-         path.equals("/api/keywords/autocomplete") ||
-         path.equals("/api/profile/check-email") ||
-         path.equals("/api/profile/check-phone") ||
-         path.equals("/api/chat/log") ||
-         path.startsWith("/api/admin/report") ||
-         path.startsWith("/api/admin/reports") ||
-         path.startsWith("/api/chat/") ||
-         path.startsWith("/api/teacher/") ||
-         path.startsWith("/api/mentor-id") ||
-         path.startsWith("/api/mentoring/mentorByChatId") ||
-         path.startsWith("/api/mentoring/menteeByChatId") ||
-         path.startsWith("/api/chat/messages") ||
-         path.startsWith("/api/mentor/") ||
-         path.startsWith("/api/mentors/") ||
-         path.startsWith("/api/mentoring/chatId") ||
-         path.startsWith("/admin/") ||
-         path.equals("/apply/mentor") ||
-         path.startsWith("/mentee/") ||
-         path.startsWith("/payments/") ||
-         path.startsWith("/api/mentor-review/") ||
-         path.equals("/mentorReview/insert") ||
-         path.startsWith("/mentorReview/") ||
-
-         // 소셜 로그인 콜백/브릿지
-         path.startsWith("/auth/kakao/") ||
-         path.startsWith("/auth/google/") ||
-         path.startsWith("/auth/naver/") ||
-         path.startsWith("/auth/bridge")
-     ) {
+     if (PUBLIC_PATHS.matches(request.getRequestURI())) {
          filterChain.doFilter(request, response);
          return;
      }
 
-     // 3) 쿠키에서 jwt 읽기
-     String token = readCookie(request, "jwt");
-     if (token == null) token = readCookie(request, "ACCESS");
+     // 3) 쿠키에서 jwt 읽기 (jwt 우선, 없으면 ACCESS)
+     String token = readAccessToken(request);
 
-     HttpSession httpSession = request.getSession(false);
-     Optional<ServerSession> sessOpt = sessionService.get(httpSession);
+     // 세션 쿠키 ID 기준 로컬 캐시 → 적중하면 Spring Session 을 Redis 에서 읽지 않음
+     Optional<ServerSession> sessOpt = sessionService.get(request);
 
      // 4) 토큰 유효 → 세션 있으면 버전 검사, 없으면 패스
      if (token != null) {
@@ -129,12 +136,13 @@ public class JwtFilter extends OncePerRequestFilter {
      // 5) 토큰 없음/만료 → 세션(refresh)로 재발급
      if (sessOpt.isPresent()) {
          ServerSession s = sessOpt.get();
-         if (s.refreshExpiry().isAfter(java.time.Instant.now())) {
-             sessionService.rotateRefresh(httpSession, Duration.ofDays(14));
+         // 캐시가 늦게 무효화된 경우(세션이 이미 사라짐) rotateRefresh 가 비어 있음 → 익명
+         if (s.refreshExpiry().isAfter(java.time.Instant.now())
+                 && sessionService.rotateRefresh(request.getSession(false), Duration.ofDays(14)).isPresent()) {
              String newJwt = jwtUtil.createAccess(
                      s.userId(), s.roles(), s.sessionVersion(), Duration.ofMinutes(10));
              setAccessCookie(response, newJwt);
-             setAuthentication(s.userId(), s.roles());
+             setAuthentication(s.userId(), s.roles(), s.sessionVersion());
              filterChain.doFilter(request, response);
              return;
          }
@@ -146,10 +154,17 @@ public class JwtFilter extends OncePerRequestFilter {
 
  /* ------------ helpers ------------ */
 
- private String readCookie(HttpServletRequest req, String name) {
-     if (req.getCookies() == null) return null;
-     for (Cookie c : req.getCookies()) if (name.equals(c.getName())) return c.getValue();
-     return null;
+ // 쿠키 배열 한 번만 순회
+ private String readAccessToken(HttpServletRequest req) {
+     Cookie[] cookies = req.getCookies();
+     if (cookies == null) return null;
+     String access = null;
+     for (Cookie c : cookies) {
+         String name = c.getName();
+         if ("jwt".equals(name)) return c.getValue();
+         if (access == null && "ACCESS".equals(name)) access = c.getValue();
+     }
+     return access;
  }
 
  private boolean versionMatches(Claims claims, Optional<ServerSession> sessOpt) {
@@ -169,16 +184,19 @@ public class JwtFilter extends OncePerRequestFilter {
                         .map(String::trim)
                         .filter(s -> !s.isEmpty())
                         .collect(Collectors.toSet());
-        setAuthentication(userId, roles);
+        Object v = claims.get("ver");
+        setAuthentication(userId, roles, (v instanceof Number n) ? Integer.valueOf(n.intValue()) : null);
     }
 
-    private void setAuthentication(Integer userId, Set<String> roles) {
-        MemberVO user = userRepository.findById(userId).orElseGet(() -> {
-            MemberVO m = new MemberVO();
-            m.setUserId(userId);
-            m.setRoles(String.join(",", roles));
-            return m;
-        });
+    // (userId, sessionVersion) 캐시 → 정상 상태에서는 요청마다 DB 조회 없음
+    private void setAuthentication(Integer userId, Set<String> roles, Integer sessionVersion) {
+        MemberVO user = principalCache.get(userId, sessionVersion,
+                () -> userRepository.findById(userId).orElse(null));
+        if (user == null) {
+            user = new MemberVO();
+            user.setUserId(userId);
+            user.setRoles(String.join(",", roles));
+        }
 
         List<SimpleGrantedAuthority> authorities = roles.stream()
                 .map(r -> r.startsWith("ROLE_") ? r : "ROLE_" + r)
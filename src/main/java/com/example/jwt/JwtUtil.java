@@ -1,8 +1,13 @@
 package com.example.jwt;
 
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 
 import javax.crypto.SecretKey;
@@ -12,23 +17,44 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import com.example.VO.MemberVO;
+import com.example.util.BoundedTtlCache;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 
 @Component
 public class JwtUtil {
 
     private final SecretKey secretKey;
+    // 파서는 불변·스레드 안전 → 한 번만 생성해서 재사용
+    private final JwtParser parser;
+    // 검증 끝난 토큰 (SHA-256 → 클레임), 토큰 만료 시각을 넘기면 사용하지 않음
+    private final BoundedTtlCache<String, Verified> verified;
 
-    public JwtUtil(@Value("${spring.jwt.secret}") String secret) {
+    private record Verified(Jws<Claims> jws, long expiresAt) {}
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    public JwtUtil(
+            @Value("${spring.jwt.secret}") String secret,
+            @Value("${jwt.verified-cache.max-size:20000}") int verifiedMaxSize,
+            @Value("${jwt.verified-cache.ttl-seconds:60}") long verifiedTtlSeconds) {
         this.secretKey = new SecretKeySpec(
             secret.getBytes(StandardCharsets.UTF_8),
             Jwts.SIG.HS256.key().build().getAlgorithm()
         );
+        this.parser = Jwts.parser().verifyWith(secretKey).build();
+        this.verified = new BoundedTtlCache<>(verifiedMaxSize, verifiedTtlSeconds * 1000);
     }
 
     // ★ Access 토큰 생성 (sessionVersion은 long으로 넣되, int여도 Number로 받아 해결 가능)
@@ -46,8 +72,39 @@ public class JwtUtil {
 
     /* -------------- 파싱 -------------- */
 
+    /**
+     * 서명/만료 검증 후 클레임 반환
+     * - 같은 토큰은 캐시된 검증 결과 재사용 (만료 시각이 지났으면 다시 파싱 → ExpiredJwtException)
+     * - 실패한 토큰은 캐시하지 않음
+     */
     public Jws<Claims> parse(String token) {
-        return Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token);
+        if (token == null || token.isEmpty()) return parser.parseSignedClaims(token);
+        String key = hash(token);
+        Verified hit = verified.get(key);
+        if (hit != null) {
+            if (hit.expiresAt() > System.currentTimeMillis()) return hit.jws();
+            verified.invalidate(key);
+        }
+        Jws<Claims> jws = parser.parseSignedClaims(token);
+        Date exp = jws.getPayload().getExpiration();
+        // exp 없는 토큰은 캐시 TTL 로만 제한
+        verified.put(key, new Verified(jws, exp == null ? Long.MAX_VALUE : exp.getTime()));
+        return jws;
+    }
+
+    public Map<String, Object> verifiedCacheStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", verified.size());
+        stats.put("hits", verified.getHits());
+        stats.put("misses", verified.getMisses());
+        return stats;
+    }
+
+    private static String hash(String token) {
+        MessageDigest md = SHA256.get();
+        md.reset();
+        byte[] digest = md.digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
     }
 
     // 만료여도 클레임 열어보기
@@ -1,6 +1,7 @@
 package com.example.scheduler;
 
 import com.example.DAO.MentorRepository;
+import com.example.security.PrincipalCache;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,10 +12,14 @@ public class UnbanScheduler {
     @Autowired
     private MentorRepository mentorRepository;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
     // 매일 새벽 자정시에 실행
     @Scheduled(cron = "0 0 0 * * ?")
     public void unbanExpiredUsers() {
         System.out.println("🕐 [스케줄러] 정지 만료 사용자 해제 실행");
         mentorRepository.unbanUsersWithExpiredBan();
+        principalCache.evictAll(); // 해제 대상이 여러 명 → 인증 캐시 전체 무효화
     }
 }
\ No newline at end of file
@@ -0,0 +1,151 @@
+package com.example.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.VO.MemberVO;
+import com.example.util.BoundedTtlCache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ✅ JwtFilter 용 인증 사용자(MemberVO) 캐시
+ * - (userId, sessionVersion) 이 같으면 DB 조회 없이 재사용 → 버전이 올라간 토큰은 자동으로 miss
+ * - 차단/권한/프로필 변경 시 evict → Redis pub/sub 으로 다른 노드에도 전파
+ */
+@Component
+@Slf4j
+public class PrincipalCache {
+
+    private static final String CHANNEL = "auth:principal:evict";
+    private static final String ALL = "*";
+
+    private record Cached(Integer version, MemberVO member) {}
+
+    private final BoundedTtlCache<Integer, Cached> cache;
+    private final StringRedisTemplate redis;
+    private final RedisConnectionFactory connectionFactory;
+    private RedisMessageListenerContainer container;
+
+    public PrincipalCache(
+            @Value("${auth.principal-cache.max-size:50000}") int maxSize,
+            @Value("${auth.principal-cache.ttl-seconds:300}") long ttlSeconds,
+            StringRedisTemplate redis,
+            RedisConnectionFactory connectionFactory) {
+        this.cache = new BoundedTtlCache<>(maxSize, ttlSeconds * 1000);
+        this.redis = redis;
+        this.connectionFactory = connectionFactory;
+    }
+
+    @PostConstruct
+    public void start() {
+        try {
+            container = new RedisMessageListenerContainer();
+            container.setConnectionFactory(connectionFactory);
+            container.addMessageListener((message, pattern) ->
+                    evictLocal(new String(message.getBody(), StandardCharsets.UTF_8)), new ChannelTopic(CHANNEL));
+            container.afterPropertiesSet();
+            container.start();
+        } catch (Exception e) {
+            // Redis 가 없으면 노드 로컬 무효화 + TTL 로만 동작
+            log.warn("⚠️ [인증 캐시 무효화 구독 실패] TTL 로만 만료됨: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        try {
+            if (container != null) container.stop();
+        } catch (Exception e) {
+            log.warn("⚠️ [인증 캐시 구독 종료 실패] {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 캐시된 사용자 반환, 없거나 버전이 다르면 loader 로 적재
+     * - version 이 null (ver 클레임 없는 토큰) 이면 버전 비교 없이 재사용
+     */
+    public MemberVO get(Integer userId, Integer version, Supplier<MemberVO> loader) {
+        Cached cached = cache.get(userId);
+        if (cached != null && (version == null || version.equals(cached.version()))) {
+            return cached.member();
+        }
+        MemberVO loaded = loader.get();
+        if (loaded != null && loaded.getUserId() != null) {
+            Integer loadedVersion = loaded.getSessionVersion();
+            // 토큰 버전과 DB 버전이 다르면 캐시하지 않음 (곧 만료될 토큰)
+            if (version == null || version.equals(loadedVersion)) {
+                cache.put(userId, new Cached(loadedVersion, loaded));
+            }
+        }
+        return loaded;
+    }
+
+    /** 한 사용자 무효화 (모든 노드) */
+    public void evict(int userId) {
+        broadcast(String.valueOf(userId));
+    }
+
+    /** 전체 무효화 (모든 노드) — 일괄 차단 해제 등 */
+    public void evictAll() {
+        broadcast(ALL);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", cache.size());
+        stats.put("hits", cache.getHits());
+        stats.put("misses", cache.getMisses());
+        return stats;
+    }
+
+    // 트랜잭션 안이면 커밋 후 한 번 더 → 커밋 전에 다시 적재된 옛 값도 제거
+    private void broadcast(String target) {
+        evictLocal(target);
+        publish(target);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictLocal(target);
+                    publish(target);
+                }
+            });
+        }
+    }
+
+    private void evictLocal(String target) {
+        if (ALL.equals(target)) {
+            cache.invalidateAll();
+            log.debug("🧹 [인증 캐시 전체 무효화]");
+            return;
+        }
+        try {
+            cache.invalidate(Integer.valueOf(target));
+            log.debug("🧹 [인증 캐시 무효화] userId={}", target);
+        } catch (NumberFormatException e) {
+            log.warn("⚠️ [잘못된 무효화 메시지] {}", target);
+        }
+    }
+
+    private void publish(String target) {
+        try {
+            redis.convertAndSend(CHANNEL, target);
+        } catch (Exception e) {
+            log.warn("⚠️ [인증 캐시 무효화 전파 실패] target={}, error={}", target, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.search.aggregations.AggregationBuilders;
+import org.elasticsearch.search.aggregations.bucket.terms.Terms;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.util.PrefixSuggestIndex;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ✅ 자동완성 로컬 접두 색인
+ * - 어휘: search-autocomplete 인덱스의 검색어 상위 N 개(문서 수) + 인기 검색어 집계 카운트(trending)
+ * - 어휘는 길게(vocabulary-refresh-ms), 색인은 짧게(rebuild-ms) 다시 만들어 통째로 교체
+ * - 매치 범위: 키워드 전체 접두 + 두 번째 이후 단어의 접두 + 한글 음절 시작 접두 ("갈비" → "닭갈비").
+ *   영문 단어 안쪽 같은 그 밖의 부분 일치는 ES n-gram 폴백에서만 나옴
+ * - 색인이 감당 못 하는 접두(결과가 limit 미만이고 어휘가 잘려 있음)만 ES 로 보냄
+ * - 어휘 집계는 스케줄러 스레드를 붙잡지 않음: ES 응답을 받으면 색인 전용 스레드에서 재생성
+ */
+@Service
+@Slf4j
+public class AutocompleteIndexService {
+
+    private static final Duration VOCABULARY_TIMEOUT = Duration.ofSeconds(15);
+
+    private final EsSearchGateway esSearchGateway;
+    private final TrendingKeywordService trendingKeywordService;
+    private final int vocabularySize;
+    private final String trendingWindow;
+    private final int topK;
+
+    private volatile Map<String, Long> vocabulary = Map.of();
+    // ES 어휘가 vocabularySize 보다 적었으면 전체 어휘를 가진 것 → 결과가 적어도 ES 로 보낼 필요 없음
+    private volatile boolean vocabularyComplete;
+    private volatile PrefixSuggestIndex index = PrefixSuggestIndex.empty();
+
+    // 어휘 갱신 응답 처리 + 재생성 (게이트웨이 콜백 스레드에서 색인을 만들지 않도록)
+    private final ExecutorService indexExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "autocomplete-index");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private final AtomicLong localHits = new AtomicLong();
+    private final AtomicLong fallbacks = new AtomicLong();
+
+    public AutocompleteIndexService(
+            EsSearchGateway esSearchGateway,
+            TrendingKeywordService trendingKeywordService,
+            @Value("${autocomplete.vocabulary-size:5000}") int vocabularySize,
+            @Value("${autocomplete.trending-window:7d}") String trendingWindow,
+            @Value("${autocomplete.top-k:10}") int topK) {
+        this.esSearchGateway = esSearchGateway;
+        this.trendingKeywordService = trendingKeywordService;
+        this.vocabularySize = vocabularySize;
+        this.trendingWindow = trendingWindow;
+        this.topK = topK;
+    }
+
+    /**
+     * 로컬 색인으로 답할 수 있으면 추천 목록, 아니면 null (→ ES 조회)
+     */
+    public List<String> suggest(String prefix, int limit) {
+        List<String> local = index.suggest(prefix, limit);
+        if (local.size() >= Math.min(limit, topK) || vocabularyComplete) {
+            localHits.incrementAndGet();
+            return local;
+        }
+        fallbacks.incrementAndGet();
+        return null;
+    }
+
+    /** ES 폴백 결과가 모자랄 때 섞을 로컬 후보 */
+    public List<String> partial(String prefix, int limit) {
+        return index.suggest(prefix, limit);
+    }
+
+    @Scheduled(fixedDelayString = "${autocomplete.vocabulary-refresh-ms:600000}")
+    public void refreshVocabulary() {
+        // 이전 집계가 아직 진행 중이면 건너뜀 (fixedDelay 가 응답을 기다리지 않으므로)
+        if (!refreshing.compareAndSet(false, true)) return;
+        try {
+            SearchSourceBuilder source = new SearchSourceBuilder()
+                    .aggregation(AggregationBuilders.terms("keywords")
+                            .field("search_keyword.keyword")
+                            .size(vocabularySize))
+                    .size(0);
+            // 큰 집계라 자동완성 기본 타임아웃 대신 넉넉하게 (백그라운드 작업)
+            esSearchGateway.search(new SearchRequest("search-autocomplete").source(source), Duration.ZERO, VOCABULARY_TIMEOUT)
+                    .thenAcceptAsync(this::applyVocabulary, indexExecutor)
+                    .whenComplete((ok, e) -> {
+                        refreshing.set(false);
+                        if (e != null) log.warn("⚠️ [자동완성 어휘 갱신 실패] 기존 어휘 유지: {}", e.getMessage());
+                    });
+        } catch (Exception e) {
+            refreshing.set(false);
+            log.warn("⚠️ [자동완성 어휘 갱신 실패] 기존 어휘 유지: {}", e.getMessage());
+        }
+    }
+
+    private void applyVocabulary(SearchResponse response) {
+        Terms terms = response.getAggregations().get("keywords");
+        Map<String, Long> next = new HashMap<>();
+        for (Terms.Bucket bucket : terms.getBuckets()) next.put(bucket.getKeyAsString(), bucket.getDocCount());
+        vocabulary = next;
+        vocabularyComplete = next.size() < vocabularySize && terms.getSumOfOtherDocCounts() == 0;
+        log.info("🔤 [자동완성 어휘 갱신] {}개, 전체 어휘={}", next.size(), vocabularyComplete);
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${autocomplete.rebuild-ms:60000}", initialDelayString = "${autocomplete.rebuild-ms:60000}")
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        Map<String, Long> weighted = new HashMap<>(vocabulary);
+        trendingKeywordService.counts(trendingWindow).forEach((k, v) -> weighted.merge(k, v, Long::sum));
+        index = PrefixSuggestIndex.build(weighted, topK);
+        log.debug("🔤 [자동완성 색인 재생성] 키워드={}, {}ms", index.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        indexExecutor.shutdownNow();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("keywords", index.size());
+        stats.put("vocabularyComplete", vocabularyComplete);
+        stats.put("localHits", localHits.get());
+        stats.put("fallbacks", fallbacks.get());
+        return stats;
+    }
+}
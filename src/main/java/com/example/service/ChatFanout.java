@@ -0,0 +1,79 @@
+package com.example.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import com.example.VO.ChatMessage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ✅ 채팅 메시지 fan-out: 한 번만 JSON 으로 직렬화하고 같은 byte[] 를 모든 목적지에 재사용
+ * - 방 토픽 브로드캐스트 + 참가자 개인 큐 전송이 Jackson 변환을 매번 반복하지 않음
+ * - STOMP 메시지 컨버터와 같은 ObjectMapper 빈을 사용하므로 전송되는 JSON 은 기존과 동일
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ChatFanout {
+
+    private final SimpMessagingTemplate broker;
+    private final ObjectMapper objectMapper;
+    private final RtChatService rtChatService;
+
+    private final AtomicLong encoded = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+
+    /** 방 토픽 + (보낸 사람 제외) 참가자 개인 큐로 전송 */
+    public void publish(long roomId, ChatMessage saved) {
+        Message<byte[]> frame = encode(saved);
+
+        broker.send("/topic/rooms/" + roomId, frame);
+        delivered.incrementAndGet();
+
+        for (Long userId : rtChatService.getParticipants(roomId)) {
+            if (userId == saved.getSenderId()) continue;
+            String loginId = rtChatService.resolveLoginId(userId);
+            broker.send(userDestination(loginId, "/queue/rooms/" + roomId), frame);
+            delivered.incrementAndGet();
+        }
+        log.debug("📤 [fan-out] roomId={}, msgId={}, bytes={}", roomId, saved.getId(), frame.getPayload().length);
+    }
+
+    /** 헤더는 불변으로 두고 전송 시 목적지만 바뀐 복사본이 만들어짐 (payload byte[] 는 공유) */
+    private Message<byte[]> encode(ChatMessage saved) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(saved);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("채팅 메시지 직렬화 실패", e);
+        }
+        encoded.incrementAndGet();
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        return MessageBuilder.createMessage(body, accessor.getMessageHeaders());
+    }
+
+    /** SimpMessagingTemplate.convertAndSendToUser 와 같은 규칙으로 /user/{loginId}/... 목적지 생성 */
+    private String userDestination(String loginId, String destination) {
+        return broker.getUserDestinationPrefix() + loginId.replace("/", "%2F") + destination;
+    }
+
+    public long getEncoded() {
+        return encoded.get();
+    }
+
+    public long getDelivered() {
+        return delivered.get();
+    }
+}
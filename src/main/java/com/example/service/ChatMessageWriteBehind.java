@@ -0,0 +1,376 @@
+package com.example.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import com.example.VO.ChatMessage;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ✅ chat_messages 쓰기 지연(write-behind) 파이프라인
+ * - 전송 스레드는 큐에 넣고 바로 반환 (ObjectId / 시간은 호출 측에서 미리 부여)
+ * - 플러시 스레드가 batch-size 또는 linger-ms 기준으로 묶어서 bulk insert
+ * - 실패 시 백오프 재시도, 큐가 가득 차면 전송 스레드를 잠시 막고(backpressure) 그래도 안되면 동기 저장
+ * - 재시도를 다 써도 못 쓴 메시지(이미 방에 브로드캐스트됨)는 디스크 dead-letter 파일(ndjson)에 기록,
+ *   플러시 스레드가 한가할 때 다시 bulk insert (_id 중복키 = 이미 기록됨)
+ * - clientMsgId 유니크 인덱스 충돌은 저장 성공이 아님: 같은 재전송이 먼저 저장돼 이 id 는 기록되지 않음 → DuplicateKeyException 으로 완료
+ * chat.persistence.mode=write-behind 일 때만 사용됨 (기본값 sync)
+ */
+@Component
+@Slf4j
+public class ChatMessageWriteBehind {
+
+    private static final int DUPLICATE_KEY = 11000;
+    private static final String ID_INDEX = "index: _id_ ";
+    private static final String DEAD_LETTER_FILE = "dead-letter.ndjson";
+    private static final String REPLAY_PREFIX = "replay-";
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long lingerMillis;
+    private final long offerTimeoutMillis;
+    private final int maxRetries;
+    private final long retryBackoffMillis;
+    private final BlockingQueue<Pending> queue;
+    private final Path deadLetterDir;
+    private final long replayIntervalMillis;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Object deadLetterLock = new Object();
+    private long lastReplayAt; // 플러시 스레드 전용
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong persisted = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong duplicates = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong syncFallbacks = new AtomicLong();
+    private final AtomicLong deadLettered = new AtomicLong();
+    private final AtomicLong replayed = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    /** 큐 항목: 저장될 메시지 + 저장 완료(ack) 신호 */
+    private record Pending(ChatMessage doc, CompletableFuture<ChatMessage> ack) {}
+
+    public ChatMessageWriteBehind(
+            MongoTemplate mongoTemplate,
+            @Value("${chat.persistence.mode:sync}") String mode,
+            @Value("${chat.write-behind.queue-capacity:10000}") int queueCapacity,
+            @Value("${chat.write-behind.batch-size:200}") int batchSize,
+            @Value("${chat.write-behind.linger-ms:50}") long lingerMillis,
+            @Value("${chat.write-behind.offer-timeout-ms:200}") long offerTimeoutMillis,
+            @Value("${chat.write-behind.max-retries:5}") int maxRetries,
+            @Value("${chat.write-behind.retry-backoff-ms:100}") long retryBackoffMillis,
+            @Value("${chat.write-behind.dead-letter-dir:${java.io.tmpdir}/moonpull-chat-dead-letter}") String deadLetterDir,
+            @Value("${chat.write-behind.replay-interval-ms:30000}") long replayIntervalMillis) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = "write-behind".equalsIgnoreCase(mode);
+        this.batchSize = Math.max(1, batchSize);
+        this.lingerMillis = Math.max(1, lingerMillis);
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.maxRetries = maxRetries;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.deadLetterDir = Path.of(deadLetterDir);
+        this.replayIntervalMillis = replayIntervalMillis;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) return;
+        running = true;
+        flusher = new Thread(this::runLoop, "chat-write-behind");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("✅ [write-behind 시작] batchSize={}, lingerMs={}", batchSize, lingerMillis);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (!enabled) return;
+        // 인터럽트 없이 루프가 큐를 비우고 끝나길 기다림 (백오프 중 인터럽트 → 재시도 폭주 방지)
+        running = false;
+        try {
+            flusher.join(5000);
+            if (flusher.isAlive()) {
+                flusher.interrupt();
+                flusher.join(1000);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // 종료 시 남은 메시지 최종 플러시
+        List<Pending> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        if (!rest.isEmpty()) flush(rest);
+        log.info("🛑 [write-behind 종료] persisted={}, failed={}", persisted.get(), failed.get());
+    }
+
+    /**
+     * 메시지를 저장 큐에 넣음. 반환된 future 는 Mongo 에 실제로 기록된 뒤 완료됨.
+     * 큐가 가득 차 offer-timeout 안에 들어가지 못하면 호출 스레드에서 동기 저장.
+     */
+    public CompletableFuture<ChatMessage> enqueue(ChatMessage doc) {
+        Pending p = new Pending(doc, new CompletableFuture<>());
+        try {
+            if (queue.offer(p, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                enqueued.incrementAndGet();
+                return p.ack();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        syncFallbacks.incrementAndGet();
+        log.warn("⚠️ [write-behind 큐 포화] 동기 저장으로 전환 roomId={}", doc.getChatroomId());
+        ChatMessage saved = mongoTemplate.insert(doc);
+        persisted.incrementAndGet();
+        p.ack().complete(saved);
+        return p.ack();
+    }
+
+    private void runLoop() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(lingerMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    replayDeadLetters();
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.currentTimeMillis() + lingerMillis;
+                while (batch.size() < batchSize) {
+                    long wait = deadline - System.currentTimeMillis();
+                    if (wait <= 0) break;
+                    Pending next = queue.poll(wait, TimeUnit.MILLISECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                if (!running) break;
+            } catch (Exception e) {
+                log.error("❌ [write-behind 루프 오류] {}", e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /** 배치 1건 = Mongo 왕복 1회. 부분 실패는 실패한 항목만 백오프 후 재시도 */
+    private void flush(List<Pending> batch) {
+        List<Pending> remaining = new ArrayList<>(batch);
+        for (int attempt = 0; !remaining.isEmpty(); attempt++) {
+            try {
+                mongoTemplate.bulkOps(BulkMode.UNORDERED, ChatMessage.class)
+                        .insert(remaining.stream().map(Pending::doc).toList())
+                        .execute();
+                complete(remaining);
+                remaining = List.of();
+            } catch (BulkOperationException e) {
+                boolean[] retryIdx = new boolean[remaining.size()];
+                String[] duplicateOf = new String[remaining.size()];
+                for (BulkWriteError err : e.getErrors()) {
+                    if (err.getCode() != DUPLICATE_KEY) retryIdx[err.getIndex()] = true;
+                    // _id 중복 = 이전 시도에서 이미 기록됨 → 성공, 그 외(clientMsgId) = 다른 문서가 먼저 저장됨
+                    else if (err.getMessage() == null || !err.getMessage().contains(ID_INDEX)) duplicateOf[err.getIndex()] = err.getMessage();
+                }
+                List<Pending> ok = new ArrayList<>();
+                List<Pending> retry = new ArrayList<>();
+                for (int i = 0; i < remaining.size(); i++) {
+                    Pending p = remaining.get(i);
+                    if (duplicateOf[i] != null) {
+                        duplicates.incrementAndGet();
+                        p.ack().completeExceptionally(new DuplicateKeyException(duplicateOf[i]));
+                    } else {
+                        (retryIdx[i] ? retry : ok).add(p);
+                    }
+                }
+                complete(ok);
+                remaining = retry;
+            } catch (Exception e) {
+                log.warn("⚠️ [write-behind 플러시 실패] size={}, attempt={}, error={}", remaining.size(), attempt, e.getMessage());
+            }
+
+            if (remaining.isEmpty()) break;
+            boolean interrupted = false;
+            if (attempt < maxRetries) {
+                try {
+                    Thread.sleep(retryBackoffMillis << Math.min(attempt, 6));
+                    continue;
+                } catch (InterruptedException ie) {
+                    // 종료 중 → 더 기다리지 않고 dead-letter 로
+                    Thread.currentThread().interrupt();
+                    interrupted = true;
+                }
+            }
+            failed.addAndGet(remaining.size());
+            log.error("❌ [write-behind 저장 포기] size={}, 중단={} → dead-letter 기록", remaining.size(), interrupted);
+            deadLetter(remaining.stream().map(Pending::doc).toList());
+            RuntimeException cause = new RuntimeException("메시지 저장 중 오류 발생");
+            remaining.forEach(p -> p.ack().completeExceptionally(cause));
+            break;
+        }
+        batches.incrementAndGet();
+    }
+
+    /** 저장 못 한 메시지를 디스크에 남김 (다음 재전송 때 다시 insert) */
+    private void deadLetter(List<ChatMessage> docs) {
+        synchronized (deadLetterLock) {
+            try {
+                Files.createDirectories(deadLetterDir);
+                try (BufferedWriter w = Files.newBufferedWriter(deadLetterDir.resolve(DEAD_LETTER_FILE), StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    for (ChatMessage doc : docs) {
+                        w.write(objectMapper.writeValueAsString(toRow(doc)));
+                        w.newLine();
+                    }
+                }
+                deadLettered.addAndGet(docs.size());
+            } catch (IOException e) {
+                // 디스크도 안 되면 남길 곳이 없음 → 내용을 로그로라도 남김
+                log.error("❌ [write-behind dead-letter 기록 실패] size={}, error={}, ids={}", docs.size(), e.getMessage(),
+                        docs.stream().map(d -> d.getId().toHexString()).toList());
+            }
+        }
+    }
+
+    /**
+     * dead-letter 재전송 (플러시 스레드, replay-interval 마다)
+     * - 현재 파일을 replay-* 로 옮기고 배치로 insert, 끝나면 삭제 (실패분은 flush 가 다시 dead-letter 로)
+     * - 재전송 도중 종료돼 남은 replay-* 파일도 함께 처리
+     * - 읽을 수 없는 줄(종료 중 잘린 줄 등)은 건너뜀
+     */
+    private void replayDeadLetters() {
+        long now = System.currentTimeMillis();
+        if (now - lastReplayAt < replayIntervalMillis || !Files.isDirectory(deadLetterDir)) return;
+        lastReplayAt = now;
+        Path active = deadLetterDir.resolve(DEAD_LETTER_FILE);
+        synchronized (deadLetterLock) {
+            try {
+                if (Files.exists(active)) {
+                    Files.move(active, deadLetterDir.resolve(REPLAY_PREFIX + now + ".ndjson"), StandardCopyOption.ATOMIC_MOVE);
+                }
+            } catch (IOException e) {
+                log.warn("⚠️ [write-behind dead-letter 이동 실패] {}", e.getMessage());
+                return;
+            }
+        }
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(deadLetterDir, REPLAY_PREFIX + "*.ndjson")) {
+            ds.forEach(files::add);
+        } catch (IOException e) {
+            log.warn("⚠️ [write-behind dead-letter 목록 조회 실패] {}", e.getMessage());
+            return;
+        }
+        files.sort(null);
+        for (Path replay : files) replayFile(replay);
+    }
+
+    private void replayFile(Path replay) {
+        List<Pending> batch = new ArrayList<>();
+        try {
+            for (String line : Files.readAllLines(replay, StandardCharsets.UTF_8)) {
+                if (line.isBlank()) continue;
+                try {
+                    batch.add(new Pending(fromRow(objectMapper.readValue(line, new TypeReference<Map<String, Object>>() {})),
+                            new CompletableFuture<>()));
+                } catch (Exception e) {
+                    log.warn("⚠️ [write-behind dead-letter 손상된 줄 건너뜀] {}", e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            log.warn("⚠️ [write-behind dead-letter 읽기 실패] {}", e.getMessage());
+            return;
+        }
+        long before = failed.get() + duplicates.get();
+        for (int i = 0; i < batch.size(); i += batchSize) flush(batch.subList(i, Math.min(batch.size(), i + batchSize)));
+        replayed.addAndGet(batch.size() - (failed.get() + duplicates.get() - before));
+        try {
+            Files.deleteIfExists(replay);
+        } catch (IOException e) {
+            log.warn("⚠️ [write-behind dead-letter 삭제 실패] {}", e.getMessage());
+        }
+        if (!batch.isEmpty()) log.info("📤 [write-behind dead-letter 재전송] {}건", batch.size());
+    }
+
+    private static Map<String, Object> toRow(ChatMessage doc) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", doc.getId().toHexString());
+        row.put("chatroomId", doc.getChatroomId());
+        row.put("senderId", doc.getSenderId());
+        row.put("content", doc.getContent());
+        row.put("createdAt", doc.getCreatedAt().toEpochMilli());
+        row.put("isRead", doc.getIsRead());
+        row.put("clientMsgId", doc.getClientMsgId());
+        return row;
+    }
+
+    private static ChatMessage fromRow(Map<String, Object> row) {
+        ChatMessage doc = new ChatMessage();
+        doc.setId(new ObjectId((String) row.get("id")));
+        doc.setChatroomId(((Number) row.get("chatroomId")).longValue());
+        doc.setSenderId(((Number) row.get("senderId")).longValue());
+        doc.setContent((String) row.get("content"));
+        doc.setCreatedAt(Instant.ofEpochMilli(((Number) row.get("createdAt")).longValue()));
+        doc.setIsRead((Boolean) row.get("isRead"));
+        doc.setClientMsgId((String) row.get("clientMsgId"));
+        return doc;
+    }
+
+    private void complete(List<Pending> done) {
+        persisted.addAndGet(done.size());
+        done.forEach(p -> p.ack().complete(p.doc()));
+    }
+
+    public Map<String, Object> stats() {
+        return Map.of(
+            "enabled", enabled,
+            "queueDepth", queue.size(),
+            "enqueued", enqueued.get(),
+            "persisted", persisted.get(),
+            "failed", failed.get(),
+            "duplicates", duplicates.get(),
+            "batches", batches.get(),
+            "syncFallbacks", syncFallbacks.get(),
+            "deadLettered", deadLettered.get(),
+            "replayed", replayed.get()
+        );
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.service;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.VO.ChatMessage;
+import com.example.util.BoundedTtlCache;
+
+/**
+ * ✅ 재전송 중복 제거 창 (senderId, clientMsgId) → 이미 저장된 메시지
+ * SockJS 재연결/클라이언트 재시도 시 저장·브로드캐스트 없이 메모리 조회로 끝냄.
+ * 창이 지난 재시도는 chat_messages 의 유니크 인덱스가 최종 방어선.
+ */
+@Component
+public class ChatSendDeduplicator {
+
+    private final BoundedTtlCache<String, ChatMessage> recent;
+
+    public ChatSendDeduplicator(
+            @Value("${chat.dedup.max-entries:50000}") int maxEntries,
+            @Value("${chat.dedup.window-seconds:300}") long windowSeconds) {
+        this.recent = new BoundedTtlCache<>(maxEntries, windowSeconds * 1000);
+    }
+
+    public ChatMessage find(long senderId, String clientMsgId) {
+        if (clientMsgId == null || clientMsgId.isBlank()) return null;
+        return recent.get(key(senderId, clientMsgId));
+    }
+
+    public void remember(ChatMessage saved) {
+        if (saved.getClientMsgId() == null || saved.getClientMsgId().isBlank()) return;
+        recent.put(key(saved.getSenderId(), saved.getClientMsgId()), saved);
+    }
+
+    public Map<String, Object> stats() {
+        return Map.of("hits", recent.getHits(), "misses", recent.getMisses(), "size", recent.size());
+    }
+
+    private static String key(long senderId, String clientMsgId) {
+        return senderId + ":" + clientMsgId;
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.DAO.MemberRepository;
+import com.example.DAO.MenteeRepository;
+import com.example.DAO.MentorEntityRepository;
+import com.example.util.BoundedTtlCache;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ✅ 목록 DTO 조립용 표시 이름 조회기
+ * - 결과 집합의 menteeId / mentorId / userId 를 모아서 테이블당 IN 조회 1회
+ * - menteeId·mentorId → userId 는 바뀌지 않으므로 길게, userId → 이름은 TTL 로 짧게 캐시
+ * - 프로필 수정 시 evictUser 로 이름 캐시 무효화
+ */
+@Component
+@Slf4j
+public class DisplayNameResolver {
+
+    private final MenteeRepository menteeRepository;
+    private final MentorEntityRepository mentorEntityRepository;
+    private final MemberRepository memberRepository;
+
+    private final BoundedTtlCache<Long, Long> menteeUsers;
+    private final BoundedTtlCache<Long, Long> mentorUsers;
+    private final BoundedTtlCache<Long, String> names;
+
+    public DisplayNameResolver(
+            MenteeRepository menteeRepository,
+            MentorEntityRepository mentorEntityRepository,
+            MemberRepository memberRepository,
+            @Value("${display-name.cache.max-size:20000}") int maxSize,
+            @Value("${display-name.cache.ttl-seconds:600}") long ttlSeconds) {
+        this.menteeRepository = menteeRepository;
+        this.mentorEntityRepository = mentorEntityRepository;
+        this.memberRepository = memberRepository;
+        // 역할 id → userId 매핑은 변하지 않으므로 사실상 만료 없음 (크기 제한으로만 축출)
+        this.menteeUsers = new BoundedTtlCache<>(maxSize, Long.MAX_VALUE / 2);
+        this.mentorUsers = new BoundedTtlCache<>(maxSize, Long.MAX_VALUE / 2);
+        this.names = new BoundedTtlCache<>(maxSize, ttlSeconds * 1000);
+    }
+
+    /** menteeId → 이름 (없는 멘티/회원은 결과에서 빠짐) */
+    public Map<Long, String> menteeNames(Collection<Long> menteeIds) {
+        Map<Long, Long> userIds = resolveUserIds(menteeIds, menteeUsers, missing -> {
+            Map<Long, Long> loaded = new HashMap<>();
+            menteeRepository.findUserIdsByMenteeIdIn(missing).forEach(r -> loaded.put(r.getId(), r.getUserId()));
+            return loaded;
+        });
+        return namesOf(userIds);
+    }
+
+    /** mentorId → 이름 (없는 멘토/회원은 결과에서 빠짐) */
+    public Map<Long, String> mentorNames(Collection<Long> mentorIds) {
+        Map<Long, Long> userIds = resolveUserIds(mentorIds, mentorUsers, missing -> {
+            Map<Long, Long> loaded = new HashMap<>();
+            mentorEntityRepository.findUserIdsByMentorIdIn(missing).forEach(r -> loaded.put(r.getId(), r.getUserId()));
+            return loaded;
+        });
+        return namesOf(userIds);
+    }
+
+    /** userId → 이름 */
+    public Map<Long, String> memberNames(Collection<Long> userIds) {
+        Map<Long, String> result = new HashMap<>();
+        Set<Long> missing = new HashSet<>();
+        for (Long userId : userIds) {
+            if (userId == null) continue;
+            String name = names.get(userId);
+            if (name != null) result.put(userId, name);
+            else missing.add(userId);
+        }
+        if (!missing.isEmpty()) {
+            memberRepository.findNamesByUserIdIn(missing).forEach(r -> {
+                if (r.getName() == null) return;
+                names.put(r.getId(), r.getName());
+                result.put(r.getId(), r.getName());
+            });
+            log.debug("👤 [표시 이름 조회] 요청={}, DB 조회={}", userIds.size(), missing.size());
+        }
+        return result;
+    }
+
+    /** userId → 이름 (없으면 null) */
+    public String memberName(Long userId) {
+        return memberNames(List.of(userId)).get(userId);
+    }
+
+    /** 회원 이름이 바뀌었을 때 */
+    public void evictUser(long userId) {
+        names.invalidate(userId);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("names", names.size());
+        stats.put("nameHits", names.getHits());
+        stats.put("nameMisses", names.getMisses());
+        stats.put("menteeUserIds", menteeUsers.size());
+        stats.put("mentorUserIds", mentorUsers.size());
+        return stats;
+    }
+
+    private Map<Long, String> namesOf(Map<Long, Long> roleToUser) {
+        Map<Long, String> userNames = memberNames(roleToUser.values());
+        Map<Long, String> result = new HashMap<>();
+        roleToUser.forEach((roleId, userId) -> {
+            String name = userNames.get(userId);
+            if (name != null) result.put(roleId, name);
+        });
+        return result;
+    }
+
+    private static Map<Long, Long> resolveUserIds(Collection<Long> ids, BoundedTtlCache<Long, Long> cache,
+                                                  Function<Set<Long>, Map<Long, Long>> loader) {
+        Map<Long, Long> result = new HashMap<>();
+        Set<Long> missing = new HashSet<>();
+        for (Long id : ids) {
+            if (id == null) continue;
+            Long userId = cache.get(id);
+            if (userId != null) result.put(id, userId);
+            else missing.add(id);
+        }
+        if (!missing.isEmpty()) {
+            loader.apply(missing).forEach((id, userId) -> {
+                if (userId == null) return;
+                cache.put(id, userId);
+                result.put(id, userId);
+            });
+        }
+        return result;
+    }
+}
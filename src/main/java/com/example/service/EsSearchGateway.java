@@ -0,0 +1,254 @@
+package com.example.service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.client.Cancellable;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.util.BoundedTtlCache;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ✅ Elasticsearch 검색 게이트웨이 (RestHighLevelClient 위)
+ * - searchAsync + CompletableFuture → 호출 스레드(Tomcat)를 붙잡지 않음, 결과는 게이트웨이 전용 스레드에서 완료
+ * - 같은 (인덱스, 쿼리) 가 진행 중이면 그 요청 결과를 공유 (single-flight)
+ * - 결과 캐시: ttl 동안 fresh, 이후 stale 구간에는 캐시를 바로 주고 백그라운드로 재조회 (stale-while-revalidate)
+ * - 인덱스별 타임아웃 + 인덱스별 서킷 브레이커 (연속 실패 시 일정 시간 차단, 차단 중에는 stale 캐시만 제공)
+ */
+@Component
+@Slf4j
+public class EsSearchGateway {
+
+    /** 서킷이 열려 있고 줄 캐시도 없을 때 */
+    public static class CircuitOpenException extends RuntimeException {
+        public CircuitOpenException(String index) {
+            super("Elasticsearch 요청 차단 중 (서킷 열림): " + index);
+        }
+    }
+
+    private record Cached(SearchResponse response, long freshUntil) {}
+
+    /** 인덱스별 서킷 브레이커: 연속 실패 threshold 회 → openMillis 동안 차단 → 이후 한 건만 시험 */
+    private static final class Breaker {
+        final AtomicInteger failures = new AtomicInteger();
+        final AtomicLong openUntil = new AtomicLong();
+        final AtomicInteger trial = new AtomicInteger(); // half-open 시험 중이면 1
+
+        boolean allow(long now) {
+            long until = openUntil.get();
+            if (until == 0) return true;
+            if (now < until) return false;
+            return trial.compareAndSet(0, 1); // half-open: 한 건만 통과
+        }
+
+        void success() {
+            failures.set(0);
+            openUntil.set(0);
+            trial.set(0);
+        }
+
+        boolean failure(long now, int threshold, long openMillis) {
+            trial.set(0);
+            if (failures.incrementAndGet() >= threshold) {
+                openUntil.set(now + openMillis);
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private final RestHighLevelClient client;
+    private final BoundedTtlCache<String, Cached> cache;
+    private final long staleMillis;
+    private final long defaultTimeoutMs;
+    private final Map<String, Long> indexTimeoutMs = new HashMap<>();
+    private final int failureThreshold;
+    private final long openMillis;
+    private final ExecutorService callbackExecutor;
+
+    private final ConcurrentMap<String, CompletableFuture<SearchResponse>> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Breaker> breakers = new ConcurrentHashMap<>();
+
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong staleHits = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public EsSearchGateway(
+            RestHighLevelClient client,
+            @Value("${es.gateway.cache-size:2000}") int cacheSize,
+            @Value("${es.gateway.stale-seconds:300}") long staleSeconds,
+            @Value("${es.gateway.timeout-ms:2000}") long defaultTimeoutMs,
+            @Value("${es.gateway.index-timeouts:search-autocomplete=800,chat-logs=5000}") String indexTimeouts,
+            @Value("${es.gateway.breaker.failures:5}") int failureThreshold,
+            @Value("${es.gateway.breaker.open-seconds:10}") long openSeconds,
+            @Value("${es.gateway.callback-threads:4}") int callbackThreads) {
+        this.client = client;
+        this.staleMillis = staleSeconds * 1000;
+        // 항목 수명 = fresh ttl + stale 구간 (fresh ttl 은 요청마다 다르므로 넉넉히 잡고 freshUntil 로 판단)
+        this.cache = new BoundedTtlCache<>(cacheSize, Long.MAX_VALUE / 4);
+        this.defaultTimeoutMs = defaultTimeoutMs;
+        for (String pair : indexTimeouts.split(",")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) indexTimeoutMs.put(pair.substring(0, eq).trim(), Long.parseLong(pair.substring(eq + 1).trim()));
+        }
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openSeconds * 1000;
+        AtomicInteger seq = new AtomicInteger();
+        this.callbackExecutor = Executors.newFixedThreadPool(Math.max(1, callbackThreads), r -> {
+            Thread t = new Thread(r, "es-gateway-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        callbackExecutor.shutdown();
+    }
+
+    /** 캐시 없이 검색 (진행 중인 같은 요청만 합침) */
+    public CompletableFuture<SearchResponse> search(SearchRequest request) {
+        return search(request, Duration.ZERO);
+    }
+
+    /**
+     * ttl 동안 캐시된 결과 사용, ttl 이후 stale 구간에는 캐시를 반환하면서 재조회
+     * - ttl 이 0 이면 캐시하지 않음
+     */
+    public CompletableFuture<SearchResponse> search(SearchRequest request, Duration ttl) {
+        return search(request, ttl, null);
+    }
+
+    /** 인덱스 기본 타임아웃 대신 timeout 사용 (큰 집계 등, null 이면 인덱스 기본값) */
+    public CompletableFuture<SearchResponse> search(SearchRequest request, Duration ttl, Duration timeout) {
+        String key = fingerprint(request);
+        long now = System.currentTimeMillis();
+        long ttlMillis = ttl.toMillis();
+
+        if (ttlMillis > 0) {
+            Cached cached = cache.get(key);
+            if (cached != null) {
+                if (now < cached.freshUntil()) {
+                    cacheHits.incrementAndGet();
+                    return CompletableFuture.completedFuture(cached.response());
+                }
+                if (now < cached.freshUntil() + staleMillis) {
+                    staleHits.incrementAndGet();
+                    fetch(key, request, ttlMillis, timeout); // 백그라운드 재조회 (실패는 무시, 다음 요청이 다시 시도)
+                    return CompletableFuture.completedFuture(cached.response());
+                }
+            }
+        }
+        return fetch(key, request, ttlMillis, timeout);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("cached", cache.size());
+        stats.put("cacheHits", cacheHits.get());
+        stats.put("staleHits", staleHits.get());
+        stats.put("coalesced", coalesced.get());
+        stats.put("sent", sent.get());
+        stats.put("rejected", rejected.get());
+        stats.put("inFlight", inFlight.size());
+        Map<String, Object> open = new LinkedHashMap<>();
+        long now = System.currentTimeMillis();
+        breakers.forEach((index, b) -> open.put(index, b.openUntil.get() > now));
+        stats.put("breakerOpen", open);
+        return stats;
+    }
+
+    private CompletableFuture<SearchResponse> fetch(String key, SearchRequest request, long ttlMillis, Duration timeout) {
+        CompletableFuture<SearchResponse> mine = new CompletableFuture<>();
+        CompletableFuture<SearchResponse> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            coalesced.incrementAndGet();
+            return existing;
+        }
+
+        String index = indexOf(request);
+        Breaker breaker = breakers.computeIfAbsent(index, i -> new Breaker());
+        long now = System.currentTimeMillis();
+        if (!breaker.allow(now)) {
+            rejected.incrementAndGet();
+            inFlight.remove(key, mine);
+            Cached stale = cache.get(key);
+            if (stale != null) mine.complete(stale.response());
+            else mine.completeExceptionally(new CircuitOpenException(index));
+            return mine;
+        }
+
+        sent.incrementAndGet();
+        long timeoutMs = (timeout != null) ? timeout.toMillis() : indexTimeoutMs.getOrDefault(index, defaultTimeoutMs);
+        Cancellable cancellable = client.searchAsync(request, RequestOptions.DEFAULT, new ActionListener<>() {
+            @Override
+            public void onResponse(SearchResponse response) {
+                breaker.success();
+                if (ttlMillis > 0) cache.put(key, new Cached(response, System.currentTimeMillis() + ttlMillis));
+                complete(() -> mine.complete(response));
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                if (mine.isDone()) return; // 타임아웃으로 이미 실패 처리 후 취소된 요청
+                onError(index, breaker, e);
+                complete(() -> mine.completeExceptionally(e));
+            }
+
+            private void complete(Runnable r) {
+                inFlight.remove(key, mine);
+                // 호출 측 후속 단계가 ES I/O 스레드에서 돌지 않도록
+                callbackExecutor.execute(r);
+            }
+        });
+
+        // 타임아웃 → 실패 처리 후 요청 취소
+        CompletableFuture.delayedExecutor(timeoutMs, TimeUnit.MILLISECONDS, callbackExecutor).execute(() -> {
+            if (mine.isDone()) return;
+            inFlight.remove(key, mine);
+            TimeoutException te = new TimeoutException("Elasticsearch 응답 시간 초과: " + index + " (" + timeoutMs + "ms)");
+            if (mine.completeExceptionally(te)) onError(index, breaker, te);
+            cancellable.cancel();
+        });
+        return mine;
+    }
+
+    private void onError(String index, Breaker breaker, Exception e) {
+        if (breaker.failure(System.currentTimeMillis(), failureThreshold, openMillis)) {
+            log.warn("🚧 [ES 서킷 열림] index={}, {}초 차단, 원인={}", index, openMillis / 1000, e.getMessage());
+        } else {
+            log.warn("⚠️ [ES 검색 실패] index={}, error={}", index, e.getMessage());
+        }
+    }
+
+    private static String indexOf(SearchRequest request) {
+        return String.join(",", request.indices());
+    }
+
+    // 인덱스 + 검색 본문(JSON) 이 같으면 같은 요청
+    private static String fingerprint(SearchRequest request) {
+        return indexOf(request) + "|" + (request.source() == null ? "" : request.source().toString());
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.VO.ChatMessage;
+import com.example.VO.MentoringChatMessageVO;
+import com.example.util.HotRoomBuffer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ✅ 실시간 채팅(Mongo) / 멘토링 채팅(MariaDB) 최근 메시지 버퍼
+ * - 방마다 마지막 N개, 방 개수와 추정 메모리 상한은 각 버퍼별로 적용
+ * - idle 방은 주기적으로 정리
+ * - stomp.relay.mode=redis 면 꺼짐: 다른 노드에서 보낸 메시지는 이 노드 버퍼에 append 되지 않으므로
+ *   첫 페이지를 버퍼로 답하면 오래된 목록이 나감 (중계 수신 시 무효화해도 write-behind 저장 전에 seed 되면 같은 문제)
+ */
+@Component
+@Slf4j
+public class HotRoomBuffers {
+
+    // 문자열 본문 외 필드/객체 헤더 대략치
+    private static final int MESSAGE_OVERHEAD_BYTES = 160;
+
+    private final HotRoomBuffer<ChatMessage> rtChat;
+    private final HotRoomBuffer<MentoringChatMessageVO> mentoring;
+
+    public HotRoomBuffers(
+            @Value("${chat.hot-rooms.messages-per-room:64}") int perRoom,
+            @Value("${chat.hot-rooms.max-rooms:2000}") int maxRooms,
+            @Value("${chat.hot-rooms.max-bytes:33554432}") long maxBytes,
+            @Value("${chat.hot-rooms.idle-seconds:900}") long idleSeconds,
+            @Value("${stomp.relay.mode:local}") String relayMode) {
+        boolean enabled = !"redis".equalsIgnoreCase(relayMode);
+        this.rtChat = new HotRoomBuffer<>(perRoom, maxRooms, maxBytes, idleSeconds * 1000,
+                m -> weigh(m.getContent()), ChatMessage::getId, enabled);
+        this.mentoring = new HotRoomBuffer<>(perRoom, maxRooms, maxBytes, idleSeconds * 1000,
+                m -> weigh(m.getContent()), MentoringChatMessageVO::getSeq, enabled);
+        if (!enabled) log.info("ℹ️ [최근 메시지 버퍼 비활성] stomp.relay.mode={} → 첫 페이지도 저장소에서 조회", relayMode);
+    }
+
+    public HotRoomBuffer<ChatMessage> rtChat() {
+        return rtChat;
+    }
+
+    public HotRoomBuffer<MentoringChatMessageVO> mentoring() {
+        return mentoring;
+    }
+
+    @Scheduled(fixedDelayString = "${chat.hot-rooms.sweep-ms:60000}")
+    public void evictIdle() {
+        int removed = rtChat.evictIdle() + mentoring.evictIdle();
+        if (removed > 0) log.debug("🧹 [최근 메시지 버퍼 정리] idle 방 {}개 축출", removed);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("rtChat", rtChat.stats());
+        stats.put("mentoring", mentoring.stats());
+        return stats;
+    }
+
+    private static int weigh(String content) {
+        return MESSAGE_OVERHEAD_BYTES + (content == null ? 0 : content.length() * 2);
+    }
+}
@@ -1,47 +1,113 @@
 package com.example.service;
 
-import com.example.DAO.MenteeRepository;
 import com.example.DAO.MentorEntityRepository;
 import com.example.DAO.MentorRequestRepository;
-import com.example.entity.Mentee;
+import com.example.DAO.MentorRequestRepository2;
+import com.example.dto.MentorRequestInfo;
+import com.example.dto.MentorRequestPage;
 import com.example.entity.Mentor;
 import com.example.entity.MentorRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.http.HttpStatus;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class MentorRequestService {
 
+    private static final String REQUESTED = "REQUESTED";
+    private static final int MAX_PAGE = 200;
+
     private final MentorRequestRepository mentorRequestRepository;
-    private final MenteeRepository menteeRepository;
+    private final MentorRequestRepository2 mentorRequestRepository2;
     private final MentorEntityRepository mentorEntityRepository;
 
-    // 요청 생성
-    public MentorRequest createRequest(Long menteeUserId, Long mentorUserId) {
-        Mentee mentee = menteeRepository.findByUserId(menteeUserId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "멘티를 찾을 수 없습니다."));
-        Mentor mentor = mentorEntityRepository.findByUserId(mentorUserId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "멘토를 찾을 수 없습니다."));
-
-        MentorRequest request = new MentorRequest();
-        request.setMenteeId(mentee.getMenteeId());
-        request.setMentorId(mentor.getMentorId());
-        request.setStatus("REQUESTED");
-        request.setStartedAt(LocalDateTime.now());
+    // 요청 저장 + 멘토 대기 요청 카운터 +1
+    @Transactional
+    public MentorRequest register(MentorRequest request) {
+        MentorRequest saved = mentorRequestRepository.save(request);
+        mentorRequestRepository2.addPendingCount(saved.getMentorId(), 1);
+        return saved;
+    }
 
-        return mentorRequestRepository.save(request);
+    // 상태 변경 (대기 상태에서 벗어나면 카운터 -1)
+    @Transactional
+    public void changeStatus(MentorRequest request, String toStatus) {
+        if (mentorRequestRepository2.changeStatus(request.getId(), REQUESTED, toStatus) == 1) {
+            mentorRequestRepository2.addPendingCount(request.getMentorId(), -1);
+        } else if (!toStatus.equals(request.getStatus())) {
+            request.setStatus(toStatus);
+            mentorRequestRepository.save(request);
+        }
+        request.setStatus(toStatus);
     }
 
     // 요청 목록 조회
     public List<MentorRequest> getRequests(Long mentorUserId) {
         Mentor mentor = mentorEntityRepository.findByUserId(mentorUserId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "멘토 정보를 찾을 수 없습니다."));
-        return mentorRequestRepository.findByMentorIdAndStatus(mentor.getMentorId(), "REQUESTED");
+        return mentorRequestRepository.findByMentorIdAndStatus(mentor.getMentorId(), REQUESTED);
+    }
+
+    // 멘토 요청함 전체 (이전 API 호환: 개수 제한 없음, 200건씩 키셋으로 이어서 읽음)
+    public List<MentorRequestInfo> getAllPendingRequests(long mentorUserId) {
+        List<MentorRequestInfo> all = new ArrayList<>();
+        String after = null;
+        while (true) {
+            List<MentorRequestInfo> rows = getPendingRequests(mentorUserId, after, MAX_PAGE);
+            all.addAll(rows);
+            if (rows.size() < MAX_PAGE) return all;
+            after = cursorOf(rows.get(rows.size() - 1));
+        }
+    }
+
+    // 멘토 요청함 (멘티 정보 포함, started_at 순 키셋 페이지). 멘토가 아니면 404
+    public List<MentorRequestInfo> getPendingRequests(long mentorUserId, String after, int size) {
+        return fetchPending(mentorUserId, after, Math.max(1, Math.min(size, MAX_PAGE)));
+    }
+
+    // 요청함 한 페이지 + 다음 커서 + 대기 요청 총 개수
+    public MentorRequestPage getPendingPage(long mentorUserId, String after, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE));
+        // 다음 페이지 유무 확인용으로 한 건 더 (MAX_PAGE 로 다시 자르지 않도록 fetchPending 직접 호출)
+        List<MentorRequestInfo> rows = fetchPending(mentorUserId, after, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        if (hasMore) rows = rows.subList(0, limit);
+        String nextCursor = hasMore ? cursorOf(rows.get(rows.size() - 1)) : null;
+        Integer total = mentorRequestRepository2.findPendingCount(mentorUserId);
+        return new MentorRequestPage(rows, nextCursor, total == null ? 0 : total);
+    }
+
+    // 커서 파싱 + 조회 (limit 은 호출 측에서 정함)
+    private List<MentorRequestInfo> fetchPending(long mentorUserId, String after, int limit) {
+        LocalDateTime afterStartedAt = null;
+        Long afterId = null;
+        if (after != null && !after.isBlank()) {
+            try {
+                int sep = after.lastIndexOf('_');
+                afterStartedAt = LocalDateTime.parse(after.substring(0, sep));
+                afterId = Long.parseLong(after.substring(sep + 1));
+            } catch (DateTimeParseException | IndexOutOfBoundsException | NumberFormatException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "유효하지 않은 커서: " + after);
+            }
+        }
+        List<MentorRequestInfo> rows = mentorRequestRepository2.findPendingByMentorUserId(mentorUserId, afterStartedAt, afterId, limit);
+        // 빈 결과일 때만 멘토 여부 확인 (조인 쿼리는 멘토가 없어도 빈 목록을 돌려주므로)
+        if (rows.isEmpty() && afterId == null && mentorEntityRepository.findByUserId(mentorUserId).isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "멘토 정보를 찾을 수 없습니다.");
+        }
+        return rows;
+    }
+
+    // 커서 = "{started_at ISO}_{requestId}"
+    private static String cursorOf(MentorRequestInfo info) {
+        return info.getStartedAt() + "_" + info.getRequestId();
     }
 }
@@ -0,0 +1,225 @@
+package com.example.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.DAO.MentoringChatMessageRepository;
+import com.example.VO.MentoringChatMessageVO;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ✅ 멘토링 채팅 메시지 append-only 저장소
+ * - 실시간 전송은 큐에 쌓아두고 주기적으로 multi-row INSERT 1문장으로 저장 (채팅방 행 UPDATE 없음)
+ * - seq 는 INSERT 순서로 매겨지므로 모든 INSERT 는 flushLock 안에서 큐 순서대로 (즉시 저장 경로도 큐를 먼저 비움)
+ * - 배치 실패 시 백오프 재시도, max-retries 를 넘기면 한 행씩 저장해서 혼자 실패하는 행(poison)만 빼냄
+ * - 종료 시 큐에 남은 메시지 저장 (이미 브로드캐스트된 메시지)
+ * - 조회는 (chat_id, seq) 키셋 페이징 → 해당 방 범위만 읽음
+ */
+@Service
+@Slf4j
+public class MentoringMessageService {
+
+    private final MentoringChatMessageRepository messageRepository;
+    private final HotRoomBuffers hotRooms;
+    private final int batchSize;
+    private final LinkedBlockingDeque<MentoringChatMessageVO> queue;
+    private final int maxRetries;
+    private final long retryBackoffMillis;
+
+    private final Object flushLock = new Object();
+    private int failures;          // flushLock, 연속 배치 실패 횟수
+    private long nextAttemptAt;    // flushLock, 백오프 중이면 다음 시도 시각
+
+    private final AtomicLong parked = new AtomicLong();
+    private final AtomicLong lost = new AtomicLong();
+
+    public MentoringMessageService(
+            MentoringChatMessageRepository messageRepository,
+            HotRoomBuffers hotRooms,
+            @Value("${mentoring.chat.batch-size:200}") int batchSize,
+            @Value("${mentoring.chat.queue-capacity:10000}") int queueCapacity,
+            @Value("${mentoring.chat.max-retries:5}") int maxRetries,
+            @Value("${mentoring.chat.retry-backoff-ms:200}") long retryBackoffMillis) {
+        this.messageRepository = messageRepository;
+        this.hotRooms = hotRooms;
+        this.batchSize = Math.max(1, batchSize);
+        this.queue = new LinkedBlockingDeque<>(Math.max(1, queueCapacity));
+        this.maxRetries = maxRetries;
+        this.retryBackoffMillis = retryBackoffMillis;
+    }
+
+    /** 실시간 전송용: 큐에 넣고 바로 반환 (큐가 가득 차면 큐를 먼저 비우고 다시 넣음) */
+    public MentoringChatMessageVO append(long chatId, long senderId, String senderName, String content) {
+        MentoringChatMessageVO msg = newMessage(chatId, senderId, senderName, content);
+        if (!queue.offerLast(msg)) {
+            log.warn("⚠️ [멘토링 메시지 큐 포화] 큐를 먼저 저장 chatId={}", chatId);
+            synchronized (flushLock) {
+                drain(true);
+                if (!queue.offerLast(msg)) throw new RuntimeException("메시지 저장 중 오류 발생");
+            }
+        }
+        hotRooms.mentoring().append(chatId, msg);
+        return msg;
+    }
+
+    /** REST 저장용: 큐에 먼저 들어온 메시지를 저장한 뒤 INSERT 하고 seq 포함해서 반환 */
+    public MentoringChatMessageVO appendNow(long chatId, long senderId, String senderName, String content) {
+        MentoringChatMessageVO msg = newMessage(chatId, senderId, senderName, content);
+        synchronized (flushLock) {
+            drain(true);
+            messageRepository.insert(msg);
+        }
+        hotRooms.mentoring().append(chatId, msg);
+        return msg;
+    }
+
+    @Scheduled(fixedDelayString = "${mentoring.chat.flush-ms:100}")
+    public void flush() {
+        synchronized (flushLock) {
+            drain(false);
+        }
+    }
+
+    /** 종료 전 남은 메시지 저장 (백오프 무시, 재시도 횟수만큼) */
+    @PreDestroy
+    public void shutdown() {
+        synchronized (flushLock) {
+            for (int attempt = 0; attempt <= maxRetries && !queue.isEmpty(); attempt++) drain(true);
+            MentoringChatMessageVO msg;
+            while ((msg = queue.pollFirst()) != null) {
+                lost.incrementAndGet();
+                log.error("❌ [멘토링 메시지 유실 - 종료] chatId={}, senderId={}, sentAt={}, content={}",
+                        msg.getChatId(), msg.getSenderId(), msg.getSentAt(), msg.getContent());
+            }
+        }
+    }
+
+    // flushLock 안에서 호출. force 면 백오프 대기를 무시하고 한 번 시도
+    private void drain(boolean force) {
+        if (!force && System.currentTimeMillis() < nextAttemptAt) return;
+        while (!queue.isEmpty()) {
+            List<MentoringChatMessageVO> batch = new ArrayList<>(batchSize);
+            queue.drainTo(batch, batchSize);
+            if (batch.isEmpty()) return;
+            try {
+                if (failures >= maxRetries) insertRowByRow(batch);
+                else messageRepository.insertBatch(batch);
+                failures = 0;
+                nextAttemptAt = 0;
+                log.debug("✅ [멘토링 메시지 저장] size={}", batch.size());
+            } catch (Exception e) {
+                // 순서 유지를 위해 앞쪽으로 되돌리고 백오프 후 재시도
+                failures++;
+                nextAttemptAt = System.currentTimeMillis() + (retryBackoffMillis << Math.min(failures - 1, 6));
+                log.error("❌ [멘토링 메시지 저장 실패] size={}, 연속 실패={}, error={}", batch.size(), failures, e.getMessage());
+                for (int i = batch.size() - 1; i >= 0; i--) {
+                    if (!queue.offerFirst(batch.get(i))) {
+                        lost.incrementAndGet();
+                        log.error("❌ [멘토링 메시지 유실] chatId={}", batch.get(i).getChatId());
+                    }
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * 배치가 계속 실패할 때: 한 행씩 순서대로 저장
+     * - 일부만 실패하면 그 행이 원인(poison) → 로그로 빼두고 진행
+     * - 전부 실패하면 DB 장애 → 예외를 던져 배치 전체를 되돌림
+     */
+    private void insertRowByRow(List<MentoringChatMessageVO> batch) {
+        List<MentoringChatMessageVO> bad = new ArrayList<>();
+        Exception last = null;
+        for (MentoringChatMessageVO msg : batch) {
+            try {
+                messageRepository.insert(msg);
+            } catch (Exception e) {
+                bad.add(msg);
+                last = e;
+            }
+        }
+        if (bad.size() == batch.size()) throw new RuntimeException(last);
+        for (MentoringChatMessageVO msg : bad) {
+            parked.incrementAndGet();
+            log.error("🚫 [멘토링 메시지 저장 제외(poison)] chatId={}, senderId={}, sentAt={}, content={}, error={}",
+                    msg.getChatId(), msg.getSenderId(), msg.getSentAt(), msg.getContent(), last.getMessage());
+        }
+    }
+
+    public Map<String, Object> stats() {
+        return Map.of(
+            "queueDepth", queue.size(),
+            "failures", failures,
+            "parked", parked.get(),
+            "lost", lost.get()
+        );
+    }
+
+    /** 과거 방향 페이지 (최신순). beforeSeq 가 null 이면 가장 최근부터 (최근 메시지 버퍼 우선) */
+    public List<MentoringChatMessageVO> getBefore(long chatId, Long beforeSeq, int size) {
+        int limit = clamp(size);
+        if (beforeSeq != null) {
+            return messageRepository.findBefore(chatId, beforeSeq, limit);
+        }
+        List<MentoringChatMessageVO> hot = hotRooms.mentoring().latest(chatId, limit);
+        if (hot != null && hasUnflushed(hot)) {
+            // 저장 전 메시지는 seq 가 없어 다음 페이지 커서가 될 수 없음 → 큐를 먼저 저장 (seq 는 같은 객체에 채워짐)
+            flush();
+            hot = hotRooms.mentoring().latest(chatId, limit);
+        }
+        if (hot != null && !hasUnflushed(hot)) {
+            return hot.size() > limit ? hot.subList(0, limit) : hot;
+        }
+        // 버퍼 miss 또는 저장이 백오프 중 → 저장된 메시지만 (저장 전 메시지는 이미 토픽으로 전달됨)
+        List<MentoringChatMessageVO> rows = messageRepository.findBefore(chatId, null, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        hotRooms.mentoring().seed(chatId, rows, !hasMore);
+        return hasMore ? rows.subList(0, limit) : rows;
+    }
+
+    /** afterSeq 이후 메시지 (시간순, 재접속 따라잡기용) */
+    public List<MentoringChatMessageVO> getAfter(long chatId, long afterSeq, int size) {
+        return messageRepository.findAfter(chatId, afterSeq, clamp(size));
+    }
+
+    /** 가장 최근 메시지 1건 (없으면 null) */
+    public MentoringChatMessageVO getLatest(long chatId) {
+        List<MentoringChatMessageVO> rows = getBefore(chatId, null, 1);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    private static MentoringChatMessageVO newMessage(long chatId, long senderId, String senderName, String content) {
+        if (chatId <= 0 || senderId <= 0 || content == null || content.isBlank()) {
+            throw new IllegalArgumentException("유효하지 않은 파라미터");
+        }
+        MentoringChatMessageVO msg = new MentoringChatMessageVO();
+        msg.setChatId(chatId);
+        msg.setSenderId(senderId);
+        msg.setSenderName(senderName);
+        msg.setContent(content);
+        msg.setSentAt(LocalDateTime.now());
+        return msg;
+    }
+
+    private static boolean hasUnflushed(List<MentoringChatMessageVO> messages) {
+        for (MentoringChatMessageVO m : messages) {
+            if (m.getSeq() == null) return true;
+        }
+        return false;
+    }
+
+    private static int clamp(int size) {
+        return Math.max(1, Math.min(size, 200));
+    }
+}
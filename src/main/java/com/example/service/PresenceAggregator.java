@@ -0,0 +1,116 @@
+package com.example.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ✅ /topic/presence 전송 묶음 처리
+ * - 접속/해제 이벤트를 짧은 구간(presence.delta-ms) 동안 모아서 틱마다 delta 프레임 1개만 전송
+ * - 구간 안에서 online→offline→online 처럼 원래 상태로 돌아온 사용자는 전송하지 않음 (flap 상쇄)
+ * - 프레임마다 (node, version) 을 붙임. version 은 노드별 번호 → 여러 노드 프레임이 섞여도 노드마다 연속
+ *   클라이언트는 노드별로 마지막 version 을 기억하고, 건너뛰거나 줄어들면(노드 재기동) 스냅샷을 다시 요청
+ * - 스냅샷은 노드별 마지막 version 목록(versions)을 함께 줌
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PresenceAggregator {
+
+    private final SimpMessagingTemplate broker;
+    private final RedisPresenceStore presenceStore;
+
+    /** 구간 시작 시점 상태(before)와 마지막 상태(after) */
+    private record Transition(boolean before, boolean after) {}
+
+    private Map<String, Transition> pending = new HashMap<>();
+    private final AtomicLong version = new AtomicLong(); // 이 노드의 delta 번호
+    private final AtomicLong eventsIn = new AtomicLong();
+    private final AtomicLong framesOut = new AtomicLong();
+    private final AtomicLong flapsCancelled = new AtomicLong();
+
+    /** 상태 변경 이벤트 기록 (즉시 전송하지 않음) */
+    public synchronized void record(String userId, boolean online) {
+        eventsIn.incrementAndGet();
+        pending.merge(userId, new Transition(!online, online),
+                (prev, cur) -> new Transition(prev.before(), online));
+    }
+
+    @Scheduled(fixedDelayString = "${presence.delta-ms:500}")
+    public void tick() {
+        Map<String, Transition> window;
+        synchronized (this) {
+            if (pending.isEmpty()) return;
+            window = pending;
+            pending = new HashMap<>();
+        }
+
+        List<String> online = new ArrayList<>();
+        List<String> offline = new ArrayList<>();
+        window.forEach((userId, t) -> {
+            if (t.before() == t.after()) {
+                flapsCancelled.incrementAndGet();
+            } else if (t.after()) {
+                online.add(userId);
+            } else {
+                offline.add(userId);
+            }
+        });
+        if (online.isEmpty() && offline.isEmpty()) return;
+
+        Map<String, Object> frame = new LinkedHashMap<>();
+        frame.put("type", "delta");
+        frame.put("node", presenceStore.getNodeId());
+        long v = version.incrementAndGet();
+        frame.put("version", v);
+        frame.put("online", online);
+        frame.put("offline", offline);
+        try {
+            presenceStore.recordVersion(v);
+        } catch (Exception e) {
+            log.warn("⚠️ [presence version 기록 실패] version={}, error={}", v, e.getMessage());
+        }
+        broker.convertAndSend("/topic/presence", frame);
+        framesOut.incrementAndGet();
+        log.debug("📡 [presence delta 전송] version={}, online={}, offline={}", version.get(), online.size(), offline.size());
+    }
+
+    /** 뒤처진 클라이언트용 전체 스냅샷 (노드별 현재 version 포함) */
+    public Map<String, Object> snapshot() {
+        Map<String, Long> versions;
+        try {
+            versions = presenceStore.versions();
+        } catch (Exception e) {
+            log.warn("⚠️ [presence version 조회 실패] 이 노드 번호만 반환: {}", e.getMessage());
+            versions = new HashMap<>();
+        }
+        versions.put(presenceStore.getNodeId(), version.get());
+        Map<String, Object> frame = new LinkedHashMap<>();
+        frame.put("type", "snapshot");
+        frame.put("versions", versions);
+        frame.put("online", presenceStore.getOnlineUserIds());
+        return frame;
+    }
+
+    public Map<String, Object> stats() {
+        long in = eventsIn.get();
+        long out = framesOut.get();
+        return Map.of(
+            "eventsIn", in,
+            "framesOut", out,
+            "flapsCancelled", flapsCancelled.get(),
+            "eventsPerFrame", out == 0 ? 0.0 : (double) in / out,
+            "version", version.get()
+        );
+    }
+}
@@ -1,21 +1,20 @@
 package com.example.service;
 
 import com.example.DAO.QuestionRepository;
-import com.example.DAO.MenteeRepository;
-import com.example.DAO.MentorEntityRepository;
-import com.example.DAO.MemberRepository;
 import com.example.entity.Question;
-import com.example.entity.Mentee;
-import com.example.entity.Mentor;
-import com.example.entity.Member;
 import com.example.dto.QuestionDTO;
+import com.example.dto.QuestionPageDTO;
+import com.example.dto.QuestionSummaryDTO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -24,9 +23,7 @@ import java.util.stream.Collectors;
 public class QuestionService {
     
     private final QuestionRepository questionRepository;
-    private final MenteeRepository menteeRepository;
-    private final MentorEntityRepository mentorEntityRepository;
-    private final MemberRepository memberRepository;
+    private final DisplayNameResolver displayNameResolver;
     
     // 멘티가 질문 등록
     @Transactional
@@ -43,6 +40,7 @@ public class QuestionService {
         question.setCreatedAt(LocalDateTime.now());
         
         Question savedQuestion = questionRepository.save(question);
+        questionRepository.addMentorCounts(mentorId, 1, 0);
         log.info("✅ 질문 등록 완료: questionId={}", savedQuestion.getQuestionId());
         
         return convertToDTO(savedQuestion);
@@ -56,14 +54,24 @@ public class QuestionService {
         Question question = questionRepository.findById(questionId)
                 .orElseThrow(() -> new RuntimeException("질문을 찾을 수 없습니다. questionId=" + questionId));
         
+        LocalDateTime now = LocalDateTime.now();
+        boolean firstAnswer = questionRepository.answerIfStatus(questionId,
+                Question.QuestionStatus.PENDING, Question.QuestionStatus.ANSWERED, answerContent, now) == 1;
+        
         question.setAnswerContent(answerContent);
         question.setStatus(Question.QuestionStatus.ANSWERED);
-        question.setAnsweredAt(LocalDateTime.now());
+        question.setAnsweredAt(now);
         
-        Question savedQuestion = questionRepository.save(question);
-        log.info("✅ 답변 완료: questionId={}", savedQuestion.getQuestionId());
+        if (firstAnswer) {
+            // 대기 → 완료 전환은 한 번만 집계
+            questionRepository.addMentorCounts(question.getMentorId(), -1, 1);
+        } else {
+            // 이미 답변된 질문의 답변 수정
+            question = questionRepository.save(question);
+        }
+        log.info("✅ 답변 완료: questionId={}", question.getQuestionId());
         
-        return convertToDTO(savedQuestion);
+        return convertToDTO(question);
     }
     
     // 멘티의 질문 목록 조회
@@ -71,9 +79,7 @@ public class QuestionService {
         log.info("📋 멘티 질문 목록 조회: menteeId={}", menteeId);
         
         List<Question> questions = questionRepository.findByMenteeIdOrderByCreatedAtDesc(menteeId);
-        return questions.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(questions);
     }
     
     // 멘토의 질문 목록 조회
@@ -81,9 +87,7 @@ public class QuestionService {
         log.info("📋 멘토 질문 목록 조회: mentorId={}", mentorId);
         
         List<Question> questions = questionRepository.findByMentorIdOrderByCreatedAtDesc(mentorId);
-        return questions.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(questions);
     }
     
     // 멘토의 답변 대기 질문 목록 조회
@@ -92,9 +96,33 @@ public class QuestionService {
         
         List<Question> questions = questionRepository.findByMentorIdAndStatusOrderByCreatedAtDesc(
                 mentorId, Question.QuestionStatus.PENDING);
-        return questions.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(questions);
+    }
+    
+    // 멘티의 질문 목록 페이지 (요약, 최신순)
+    public QuestionPageDTO getMenteeQuestionPage(Long menteeId, String cursor, int size) {
+        int limit = clampPageSize(size);
+        Cursor c = Cursor.parse(cursor);
+        return toPage(questionRepository.findMenteePage(menteeId, c.at(), c.id(), PageRequest.of(0, limit + 1)), limit);
+    }
+    
+    // 멘토의 질문 목록 페이지 (status 가 null 이면 전체)
+    public QuestionPageDTO getMentorQuestionPage(Long mentorId, Question.QuestionStatus status, String cursor, int size) {
+        int limit = clampPageSize(size);
+        Cursor c = Cursor.parse(cursor);
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<QuestionRepository.Summary> rows = status == null
+                ? questionRepository.findMentorPage(mentorId, c.at(), c.id(), page)
+                : questionRepository.findMentorStatusPage(mentorId, status, c.at(), c.id(), page);
+        return toPage(rows, limit);
+    }
+    
+    // 멘토의 답변 대기 / 완료 질문 수 (카운터 조회, 행을 세지 않음)
+    public Map<String, Integer> getMentorQuestionCounts(Long mentorId) {
+        QuestionRepository.MentorCounts counts = questionRepository.findMentorCounts(mentorId);
+        int pending = counts != null && counts.getPending() != null ? counts.getPending() : 0;
+        int answered = counts != null && counts.getAnswered() != null ? counts.getAnswered() : 0;
+        return Map.of("pending", pending, "answered", answered);
     }
     
     // 질문 상세 조회
@@ -107,8 +135,68 @@ public class QuestionService {
         return convertToDTO(question);
     }
     
-    // DTO 변환
+    // 커서 = "{createdAt ISO}_{questionId}", 없으면 가장 최근부터
+    private record Cursor(LocalDateTime at, Long id) {
+        private static final Cursor FIRST = new Cursor(LocalDateTime.of(9999, 12, 31, 0, 0), Long.MAX_VALUE);
+
+        static Cursor parse(String cursor) {
+            if (cursor == null || cursor.isBlank()) return FIRST;
+            try {
+                int sep = cursor.lastIndexOf('_');
+                return new Cursor(LocalDateTime.parse(cursor.substring(0, sep)), Long.parseLong(cursor.substring(sep + 1)));
+            } catch (DateTimeParseException | IndexOutOfBoundsException | NumberFormatException e) {
+                throw new IllegalArgumentException("유효하지 않은 커서: " + cursor);
+            }
+        }
+    }
+    
+    private static int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, 100));
+    }
+    
+    private QuestionPageDTO toPage(List<QuestionRepository.Summary> rows, int limit) {
+        boolean hasMore = rows.size() > limit;
+        if (hasMore) rows = rows.subList(0, limit);
+        
+        Map<Long, String> menteeNames = displayNameResolver.menteeNames(
+                rows.stream().map(QuestionRepository.Summary::getMenteeId).collect(Collectors.toSet()));
+        Map<Long, String> mentorNames = displayNameResolver.mentorNames(
+                rows.stream().map(QuestionRepository.Summary::getMentorId).collect(Collectors.toSet()));
+        
+        List<QuestionSummaryDTO> items = rows.stream().map(r -> new QuestionSummaryDTO(
+                r.getQuestionId(), r.getMenteeId(), r.getMentorId(),
+                menteeNames.getOrDefault(r.getMenteeId(), "알 수 없음"),
+                mentorNames.getOrDefault(r.getMentorId(), "알 수 없음"),
+                r.getSubject(), r.getTitle(), r.getStatus().name(),
+                r.getCreatedAt() != null ? r.getCreatedAt().toString() : null,
+                r.getAnsweredAt() != null ? r.getAnsweredAt().toString() : null
+        )).collect(Collectors.toList());
+        
+        String nextCursor = null;
+        if (hasMore) {
+            QuestionRepository.Summary last = rows.get(rows.size() - 1);
+            nextCursor = last.getCreatedAt() + "_" + last.getQuestionId();
+        }
+        return new QuestionPageDTO(items, nextCursor);
+    }
+    
+    // DTO 변환 (단건)
     private QuestionDTO convertToDTO(Question question) {
+        return convertToDTOs(List.of(question)).get(0);
+    }
+
+    // DTO 변환 (목록: 멘티/멘토 이름은 목록 전체를 한 번에 조회)
+    private List<QuestionDTO> convertToDTOs(List<Question> questions) {
+        Map<Long, String> menteeNames = displayNameResolver.menteeNames(
+                questions.stream().map(Question::getMenteeId).collect(Collectors.toSet()));
+        Map<Long, String> mentorNames = displayNameResolver.mentorNames(
+                questions.stream().map(Question::getMentorId).collect(Collectors.toSet()));
+        return questions.stream()
+                .map(q -> convertToDTO(q, menteeNames, mentorNames))
+                .collect(Collectors.toList());
+    }
+
+    private QuestionDTO convertToDTO(Question question, Map<Long, String> menteeNames, Map<Long, String> mentorNames) {
         QuestionDTO dto = new QuestionDTO();
         dto.setQuestionId(question.getQuestionId());
         dto.setMenteeId(question.getMenteeId());
@@ -131,36 +219,9 @@ public class QuestionService {
         }
         
         dto.setAnswerContent(question.getAnswerContent());
-        
-        // 멘티 이름 조회
-        try {
-            Mentee mentee = menteeRepository.findById(question.getMenteeId())
-                    .orElse(null);
-            if (mentee != null) {
-                Member menteeMember = memberRepository.findById(mentee.getUserId())
-                        .orElse(null);
-                dto.setMenteeName(menteeMember != null ? menteeMember.getName() : "알 수 없음");
-            }
-        } catch (Exception e) {
-            log.warn("멘티 이름 조회 실패: menteeId={}", question.getMenteeId());
-            dto.setMenteeName("알 수 없음");
-        }
-        
-        // 멘토 이름 조회
-        try {
-            Mentor mentor = mentorEntityRepository.findById(question.getMentorId())
-                    .orElse(null);
-            if (mentor != null) {
-                Member mentorMember = memberRepository.findById(mentor.getUserId())
-                        .orElse(null);
-                dto.setMentorName(mentorMember != null ? mentorMember.getName() : "알 수 없음");
-            }
-        } catch (Exception e) {
-            log.warn("멘토 이름 조회 실패: mentorId={}", question.getMentorId());
-            dto.setMentorName("알 수 없음");
-        }
+        dto.setMenteeName(menteeNames.getOrDefault(question.getMenteeId(), "알 수 없음"));
+        dto.setMentorName(mentorNames.getOrDefault(question.getMentorId(), "알 수 없음"));
         
         return dto;
     }
 }
-
@@ -0,0 +1,170 @@
+package com.example.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.DAO.ChatRoomRepository;
+import com.example.VO.ChatMessage;
+import com.example.VO.ChatReadWatermark;
+import com.example.VO.ChatRoom;
+import com.mongodb.bulk.BulkWriteError;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ✅ 읽음 처리: 방 × 사용자 당 워터마크 1건
+ * - 클라이언트의 읽음 신호는 메모리에서 합쳐두고(debounce) 주기적으로 bulk upsert
+ * - 플러시 시점에 상대 참가자에게 읽음 영수증을 STOMP 로 전달
+ * - 방 목록 전체의 안 읽은 수는 aggregation 1회로 계산
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReadReceiptService {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+    private final ChatRoomRepository roomRepository;
+    private final RtChatService rtChatService;
+    private final SimpMessagingTemplate broker;
+
+    private record Key(long roomId, long userId) {}
+    private record Mark(Instant readAt, String messageId) {}
+
+    private Map<Key, Mark> pending = new HashMap<>();
+
+    /** 읽음 신호 기록 (같은 방/사용자는 가장 최신 시각만 유지) */
+    public synchronized void markRead(long roomId, long userId, Instant readAt, String messageId) {
+        if (roomId <= 0 || userId <= 0 || readAt == null) {
+            throw new IllegalArgumentException("유효하지 않은 파라미터");
+        }
+        pending.merge(new Key(roomId, userId), new Mark(readAt, messageId), ReadReceiptService::newer);
+    }
+
+    private static Mark newer(Mark a, Mark b) {
+        return b.readAt().isAfter(a.readAt()) ? b : a;
+    }
+
+    // 저장 못 한 항목을 다음 플러시로 되돌림 (그 사이 들어온 더 최신 신호가 있으면 그쪽 유지)
+    private synchronized void requeue(Map<Key, Mark> failed) {
+        failed.forEach((k, m) -> pending.merge(k, m, ReadReceiptService::newer));
+    }
+
+    @Scheduled(fixedDelayString = "${chat.read-receipt.flush-ms:1000}")
+    public void flush() {
+        Map<Key, Mark> batch;
+        synchronized (this) {
+            if (pending.isEmpty()) return;
+            batch = pending;
+            pending = new HashMap<>();
+        }
+
+        // 저장된 워터마크보다 최신일 때만 시각/메시지 id 를 함께 갱신
+        // (더 오래된 신호 → 조건 불일치 → upsert 가 insert 를 시도하다 user_room_uq 중복키 → 무시, 영수증도 보내지 않음)
+        List<Map.Entry<Key, Mark>> items = new ArrayList<>(batch.entrySet());
+        var ops = mongoTemplate.bulkOps(BulkMode.UNORDERED, ChatReadWatermark.class);
+        Instant now = Instant.now();
+        for (Map.Entry<Key, Mark> e : items) {
+            Key k = e.getKey();
+            Mark m = e.getValue();
+            ops.upsert(
+                new Query(Criteria.where("userId").is(k.userId()).and("chatroomId").is(k.roomId())
+                        .orOperator(Criteria.where("lastReadAt").lt(m.readAt()), Criteria.where("lastReadAt").exists(false))),
+                new Update().set("lastReadAt", m.readAt())
+                        .set("lastReadMessageId", m.messageId())
+                        .set("updatedAt", now));
+        }
+
+        boolean[] skip = new boolean[items.size()];
+        try {
+            ops.execute();
+        } catch (BulkOperationException e) {
+            Map<Key, Mark> retry = new HashMap<>();
+            for (BulkWriteError err : e.getErrors()) {
+                skip[err.getIndex()] = true;
+                if (err.getCode() != DUPLICATE_KEY) {
+                    Map.Entry<Key, Mark> item = items.get(err.getIndex());
+                    retry.put(item.getKey(), item.getValue());
+                }
+            }
+            if (!retry.isEmpty()) {
+                log.error("❌ [읽음 워터마크 일부 저장 실패] size={}, 다음 플러시에 재시도", retry.size());
+                requeue(retry);
+            }
+        } catch (Exception e) {
+            log.error("❌ [읽음 워터마크 저장 실패] size={}, 다음 플러시에 재시도, error={}", batch.size(), e.getMessage());
+            requeue(batch);
+            return;
+        }
+        log.debug("✅ [읽음 워터마크 저장] size={}", batch.size());
+
+        for (int i = 0; i < items.size(); i++) {
+            if (!skip[i]) pushReceipt(items.get(i).getKey(), items.get(i).getValue());
+        }
+    }
+
+    private void pushReceipt(Key k, Mark m) {
+        try {
+            Map<String, Object> receipt = new LinkedHashMap<>();
+            receipt.put("roomId", k.roomId());
+            receipt.put("userId", k.userId());
+            receipt.put("lastReadAt", m.readAt());
+            receipt.put("messageId", m.messageId());
+            for (Long other : rtChatService.getParticipants(k.roomId())) {
+                if (other == k.userId()) continue;
+                broker.convertAndSendToUser(rtChatService.resolveLoginId(other),
+                        "/queue/rooms/" + k.roomId() + "/read", receipt);
+            }
+        } catch (Exception e) {
+            log.warn("⚠️ [읽음 영수증 전송 실패] roomId={}, userId={}, error={}", k.roomId(), k.userId(), e.getMessage());
+        }
+    }
+
+    /** 사용자의 모든 방에 대한 안 읽은 메시지 수 (roomId → count) */
+    public Map<Long, Long> getUnreadCounts(long userId) {
+        List<ChatRoom> rooms = roomRepository.findRoomsOf(userId);
+        Map<Long, Long> result = new LinkedHashMap<>();
+        if (rooms.isEmpty()) return result;
+
+        Map<Long, Instant> marks = new HashMap<>();
+        for (ChatReadWatermark w : mongoTemplate.find(
+                new Query(Criteria.where("userId").is(userId)), ChatReadWatermark.class)) {
+            marks.put(w.getChatroomId(), w.getLastReadAt());
+        }
+
+        // 방마다 (chatroomId, createdAt > 워터마크) 조건 → room_created_id_idx 를 타는 $or 한 번
+        List<Criteria> perRoom = new ArrayList<>();
+        for (ChatRoom r : rooms) {
+            result.put(r.getChatroomId(), 0L);
+            Criteria c = Criteria.where("chatroomId").is(r.getChatroomId());
+            Instant mark = marks.get(r.getChatroomId());
+            if (mark != null) c = c.and("createdAt").gt(mark);
+            perRoom.add(c);
+        }
+        Aggregation agg = Aggregation.newAggregation(
+                Aggregation.match(new Criteria().orOperator(perRoom).and("senderId").ne(userId)),
+                Aggregation.group("chatroomId").count().as("unread"));
+        for (Document d : mongoTemplate.aggregate(agg, ChatMessage.class, Document.class).getMappedResults()) {
+            result.put(((Number) d.get("_id")).longValue(), ((Number) d.get("unread")).longValue());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,258 @@
+package com.example.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ✅ Redis 기반 클러스터 공용 접속자(presence) 저장소
+ *
+ * 키 구조
+ * - presence:count            (hash) userId → 전체 노드 합산 세션 수
+ * - presence:sessions:{node}  (hash) sessionId → userId  (노드별 세션 리스)
+ * - presence:lease:{node}     (string, TTL) 노드 생존 신호 (heartbeat 로 갱신)
+ * - presence:nodes            (set)  등록된 노드 목록
+ * - presence:unode:{userId}   (hash) nodeId → 해당 노드의 사용자 세션 수 (user destination 라우팅용)
+ * - presence:versions         (hash) nodeId → 그 노드가 마지막으로 보낸 /topic/presence delta 번호
+ *
+ * 증가/감소는 Lua 스크립트로 원자 처리하고 세션 단위로 멱등하게 동작함.
+ * lease 가 만료된 노드(비정상 종료)는 sweeper 가 세션을 정리함.
+ * 온라인 목록은 로컬 스냅샷으로 읽음 (주기적 동기화 + 로컬 변경 즉시 반영).
+ */
+@Component
+@Slf4j
+public class RedisPresenceStore {
+
+    private static final String COUNT_KEY = "presence:count";
+    private static final String NODES_KEY = "presence:nodes";
+    private static final String SESSIONS_PREFIX = "presence:sessions:";
+    private static final String LEASE_PREFIX = "presence:lease:";
+    private static final String USER_NODES_PREFIX = "presence:unode:";
+    private static final String VERSIONS_KEY = "presence:versions";
+
+    /** KEYS[1]=sessions, KEYS[2]=count, KEYS[3]=unode, ARGV[1]=sessionId, ARGV[2]=userId, ARGV[3]=nodeId → 증가 후 세션 수 (이미 등록된 세션이면 -1) */
+    private static final DefaultRedisScript<Long> INCR_SCRIPT = new DefaultRedisScript<>(
+        "if redis.call('HSETNX', KEYS[1], ARGV[1], ARGV[2]) == 0 then return -1 end " +
+        "redis.call('HINCRBY', KEYS[3], ARGV[3], 1) " +
+        "return redis.call('HINCRBY', KEYS[2], ARGV[2], 1)", Long.class);
+
+    /** KEYS[1]=sessions, KEYS[2]=count, KEYS[3]=unode, ARGV[1]=sessionId, ARGV[2]=userId, ARGV[3]=nodeId → 감소 후 세션 수 (모르는 세션이면 -1) */
+    private static final DefaultRedisScript<Long> DECR_SCRIPT = new DefaultRedisScript<>(
+        "if redis.call('HDEL', KEYS[1], ARGV[1]) == 0 then return -1 end " +
+        "if redis.call('HINCRBY', KEYS[3], ARGV[3], -1) <= 0 then redis.call('HDEL', KEYS[3], ARGV[3]) end " +
+        "if not redis.call('HGET', KEYS[2], ARGV[2]) then return -1 end " +
+        "local n = redis.call('HINCRBY', KEYS[2], ARGV[2], -1) " +
+        "if n <= 0 then redis.call('HDEL', KEYS[2], ARGV[2]) return 0 end " +
+        "return n", Long.class);
+
+    /**
+     * KEYS[1]=sessions, KEYS[2]=count, KEYS[3]=nodes, ARGV[1]=nodeId → 정리된 세션의 userId 목록 (죽은 노드 일괄 정리)
+     * - presence:unode:{userId} 는 스크립트 안에서 키 이름을 만들지 않고 호출 측에서 정리 (스크립트는 KEYS 로 받은 키만 접근)
+     */
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> SWEEP_SCRIPT = new DefaultRedisScript<>(
+        "local s = redis.call('HGETALL', KEYS[1]) " +
+        "local users = {} " +
+        "for i = 2, #s, 2 do " +
+        "  local n = redis.call('HINCRBY', KEYS[2], s[i], -1) " +
+        "  if n <= 0 then redis.call('HDEL', KEYS[2], s[i]) end " +
+        "  users[#users + 1] = s[i] " +
+        "end " +
+        "redis.call('DEL', KEYS[1]) " +
+        "redis.call('SREM', KEYS[3], ARGV[1]) " +
+        "return users", List.class);
+
+    /** KEYS[1]=count, ARGV[1]=userId */
+    private static final DefaultRedisScript<Long> FORCE_OFF_SCRIPT = new DefaultRedisScript<>(
+        "return redis.call('HDEL', KEYS[1], ARGV[1])", Long.class);
+
+    private final StringRedisTemplate redis;
+    private final String nodeId;
+    private final Duration leaseTtl;
+    private final long heartbeatMillis;
+    // lease 갱신은 공용 스케줄러와 분리 (다른 작업이 밀려도 lease 가 만료되지 않도록)
+    private final ScheduledExecutorService heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "presence-heartbeat");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /** WebSocket 세션은 노드 로컬이므로 세션→사용자 매핑은 로컬에도 유지 */
+    private final ConcurrentMap<String, String> localSessions = new ConcurrentHashMap<>();
+    private volatile Set<String> onlineSnapshot = ConcurrentHashMap.newKeySet();
+
+    public RedisPresenceStore(
+            StringRedisTemplate redis,
+            @Value("${presence.node-id:}") String nodeId,
+            @Value("${presence.lease-ttl-seconds:15}") long leaseTtlSeconds,
+            @Value("${presence.heartbeat-ms:5000}") long heartbeatMillis) {
+        this.redis = redis;
+        this.nodeId = (nodeId == null || nodeId.isBlank()) ? UUID.randomUUID().toString() : nodeId;
+        this.leaseTtl = Duration.ofSeconds(leaseTtlSeconds);
+        this.heartbeatMillis = heartbeatMillis;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @PostConstruct
+    public void register() {
+        try {
+            sweepNode(nodeId); // 같은 nodeId 로 재기동한 경우 이전 세션 정리
+            redis.opsForSet().add(NODES_KEY, nodeId);
+            heartbeat();
+            log.info("✅ [presence 노드 등록] nodeId={}", nodeId);
+        } catch (Exception e) {
+            log.error("❌ [presence 노드 등록 실패] nodeId={}, error={}", nodeId, e.getMessage());
+        }
+        heartbeatExecutor.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void unregister() {
+        heartbeatExecutor.shutdownNow();
+        try {
+            sweepNode(nodeId);
+            redis.delete(LEASE_PREFIX + nodeId);
+            log.info("🛑 [presence 노드 해제] nodeId={}", nodeId);
+        } catch (Exception e) {
+            log.warn("⚠️ [presence 노드 해제 실패] nodeId={}, error={}", nodeId, e.getMessage());
+        }
+    }
+
+    /** 세션 연결: 클러스터 전체에서 0→1 이 되면 true */
+    public boolean markOnline(String userId, String sessionId) {
+        localSessions.put(sessionId, userId);
+        Long n = redis.execute(INCR_SCRIPT, List.of(SESSIONS_PREFIX + nodeId, COUNT_KEY, USER_NODES_PREFIX + userId),
+                sessionId, userId, nodeId);
+        onlineSnapshot.add(userId);
+        log.info("🔵 [온라인 처리] userId={}, sessionId={}, 접속 수={}", userId, sessionId, n);
+        return n != null && n == 1;
+    }
+
+    /** 세션 해제: 클러스터 전체에서 1→0 이 되면 true */
+    public boolean decrement(String userId, String sessionId) {
+        localSessions.remove(sessionId);
+        Long n = redis.execute(DECR_SCRIPT, List.of(SESSIONS_PREFIX + nodeId, COUNT_KEY, USER_NODES_PREFIX + userId),
+                sessionId, userId, nodeId);
+        boolean offline = n != null && n == 0;
+        if (offline) onlineSnapshot.remove(userId);
+        log.info("🔴 [오프라인 처리] userId={}, sessionId={}, 완전 오프라인={}", userId, sessionId, offline);
+        return offline;
+    }
+
+    public boolean forceOffline(String userId) {
+        List<String> sessions = new ArrayList<>();
+        localSessions.forEach((sid, uid) -> { if (userId.equals(uid)) sessions.add(sid); });
+        sessions.forEach(localSessions::remove);
+        if (!sessions.isEmpty()) {
+            redis.opsForHash().delete(SESSIONS_PREFIX + nodeId, sessions.toArray());
+        }
+        Long removed = redis.execute(FORCE_OFF_SCRIPT, List.of(COUNT_KEY), userId);
+        redis.delete(USER_NODES_PREFIX + userId);
+        onlineSnapshot.remove(userId);
+        boolean wasOnline = removed != null && removed > 0;
+        log.warn("⚠️ [강제 오프라인] userId={}, wasOnline={}", userId, wasOnline);
+        return wasOnline;
+    }
+
+    public String resolveUserBySession(String sessionId) {
+        return localSessions.get(sessionId);
+    }
+
+    public boolean isOnline(String userId) {
+        return onlineSnapshot.contains(userId);
+    }
+
+    /** 사용자의 세션이 붙어 있는 노드 목록 (클러스터 user destination 라우팅용) */
+    public Set<String> nodesOf(String userId) {
+        Set<Object> keys = redis.opsForHash().keys(USER_NODES_PREFIX + userId);
+        Set<String> nodes = new HashSet<>();
+        for (Object k : keys) nodes.add(k.toString());
+        return nodes;
+    }
+
+    /** 이 노드의 presence delta 번호 기록 (스냅샷이 노드별 번호를 함께 주도록) */
+    public void recordVersion(long version) {
+        redis.opsForHash().put(VERSIONS_KEY, nodeId, String.valueOf(version));
+    }
+
+    /** 노드별 마지막 presence delta 번호 */
+    public Map<String, Long> versions() {
+        Map<String, Long> out = new HashMap<>();
+        redis.opsForHash().entries(VERSIONS_KEY).forEach((k, v) -> out.put(k.toString(), Long.parseLong(v.toString())));
+        return out;
+    }
+
+    /** 메모리 스냅샷 조회 (Redis 왕복 없음) */
+    public List<String> getOnlineUserIds() {
+        return List.copyOf(onlineSnapshot);
+    }
+
+    /** 노드 lease 갱신 + 스냅샷 동기화 (전용 스레드) */
+    public void heartbeat() {
+        try {
+            redis.opsForValue().set(LEASE_PREFIX + nodeId, String.valueOf(System.currentTimeMillis()), leaseTtl);
+            Set<String> fresh = ConcurrentHashMap.newKeySet();
+            for (Object k : redis.opsForHash().keys(COUNT_KEY)) fresh.add(k.toString());
+            onlineSnapshot = fresh;
+        } catch (Exception e) {
+            log.warn("⚠️ [presence heartbeat 실패] nodeId={}, error={}", nodeId, e.getMessage());
+        }
+    }
+
+    /** lease 가 만료된(비정상 종료) 노드의 세션 정리 */
+    @Scheduled(fixedDelayString = "${presence.sweep-ms:10000}")
+    public void sweepDeadNodes() {
+        try {
+            Set<String> nodes = redis.opsForSet().members(NODES_KEY);
+            if (nodes == null) return;
+            for (String node : nodes) {
+                if (node.equals(nodeId)) continue;
+                if (Boolean.TRUE.equals(redis.hasKey(LEASE_PREFIX + node))) continue;
+                Long swept = sweepNode(node);
+                log.warn("🧹 [죽은 노드 정리] nodeId={}, sessions={}", node, swept);
+            }
+        } catch (Exception e) {
+            log.warn("⚠️ [presence sweep 실패] error={}", e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Long sweepNode(String node) {
+        List<Object> users = redis.execute(SWEEP_SCRIPT, List.of(SESSIONS_PREFIX + node, COUNT_KEY, NODES_KEY), node);
+        if (users == null) return 0L;
+        for (Object userId : new HashSet<>(users)) redis.opsForHash().delete(USER_NODES_PREFIX + userId, node);
+        redis.opsForHash().delete(VERSIONS_KEY, node);
+        return (long) users.size();
+    }
+
+    public Map<String, Object> stats() {
+        return Map.of(
+            "nodeId", nodeId,
+            "localSessions", localSessions.size(),
+            "onlineUsers", onlineSnapshot.size()
+        );
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.service;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.util.BoundedTtlCache;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ✅ 실시간 채팅 전송 핫패스용 방 참가자 캐시
+ * - roomId → 참가자 userId 목록
+ * - userId → loginId
+ * 정상 상태의 메시지 전송은 DB 조회 없이 메모리에서 처리됨
+ */
+@Component
+@Slf4j
+public class RoomMembershipCache {
+
+    private final BoundedTtlCache<Long, List<Long>> participants;
+    private final BoundedTtlCache<Long, String> loginIds;
+
+    public RoomMembershipCache(
+            @Value("${chat.membership-cache.max-rooms:10000}") int maxRooms,
+            @Value("${chat.membership-cache.max-members:20000}") int maxMembers,
+            @Value("${chat.membership-cache.ttl-seconds:600}") long ttlSeconds) {
+        this.participants = new BoundedTtlCache<>(maxRooms, ttlSeconds * 1000);
+        this.loginIds = new BoundedTtlCache<>(maxMembers, ttlSeconds * 1000);
+    }
+
+    public List<Long> getParticipants(long roomId) {
+        return participants.get(roomId);
+    }
+
+    public void putParticipants(long roomId, List<Long> userIds) {
+        participants.put(roomId, List.copyOf(userIds));
+    }
+
+    public String getLoginId(long userId) {
+        return loginIds.get(userId);
+    }
+
+    public void putLoginId(long userId, String loginId) {
+        loginIds.put(userId, loginId);
+    }
+
+    /** 방 정보가 바뀌었을 때 (생성/재생성) */
+    public void evictRoom(long roomId) {
+        participants.invalidate(roomId);
+        log.debug("🧹 [참가자 캐시 무효화] roomId={}", roomId);
+    }
+
+    /** 회원 loginId 가 바뀌었을 때 */
+    public void evictMember(long userId) {
+        loginIds.invalidate(userId);
+        log.debug("🧹 [loginId 캐시 무효화] userId={}", userId);
+    }
+
+    public Map<String, Object> stats() {
+        return Map.of(
+            "roomHits", participants.getHits(),
+            "roomMisses", participants.getMisses(),
+            "roomSize", participants.size(),
+            "memberHits", loginIds.getHits(),
+            "memberMisses", loginIds.getMisses(),
+            "memberSize", loginIds.size()
+        );
+    }
+}
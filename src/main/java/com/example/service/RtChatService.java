@@ -4,14 +4,23 @@ import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.data.domain.Slice;
+
 import com.example.VO.ChatMessage;
 import com.example.VO.ChatRoom;
 import com.mongodb.lang.Nullable;
 
 public interface RtChatService {
     public ChatRoom createRoomIfAbsent(long a, long b, String field);
-    public ChatMessage send(long roomId, long senderId, String content, @Nullable String clientMsgId); 
-    public List<ChatMessage> getMessages(long roomId, Long beforeId, int size);
+    /** 저장 결과: created=false 면 같은 clientMsgId 로 이미 저장된 메시지 (재전송 → 다시 브로드캐스트하지 않음) */
+    record SendResult(ChatMessage message, boolean created) {}
+    public SendResult send(long roomId, long senderId, String content, @Nullable String clientMsgId); 
+    /** 키셋 페이징: before 커서면 과거 방향(최신순), after 커서면 따라잡기(시간순). count 쿼리 없음 */
+    public Slice<ChatMessage> getMessages(long roomId, @Nullable String before, @Nullable String after, int size);
+    /** 다음 페이지 요청에 쓸 커서 문자열: "{createdAt epochMillis}_{ObjectId hex}" */
+    static String cursorOf(ChatMessage m) {
+        return m.getCreatedAt().toEpochMilli() + "_" + m.getId().toHexString();
+    }
     /** 세션 연결 시 호출: 최초 0->1이면 true 반환(브로드캐스트 필요) */
     public boolean markOnline(String userId, String sessionId); 
     /** 세션 해제 시 호출: 1->0이 되면 true 반환 */
@@ -24,6 +33,14 @@ public interface RtChatService {
     public List<ChatMessage> getContextMessagesAroundReportedMessage(int reportId, int minutesBefore, int minutesAfter);
     List<Long> getParticipants(long roomId);
     String resolveLoginId(Long userId);
+    /** 회원 정보(loginId) 변경 시 참가자 캐시 무효화 */
+    void evictMember(long userId);
+    /** 참가자/loginId 캐시 hit/miss 통계 */
+    Map<String, Object> getMembershipCacheStats();
+    /** write-behind 저장 파이프라인 통계 (큐 깊이/저장/실패) */
+    Map<String, Object> getPersistenceStats();
+    /** (senderId, clientMsgId) 가 중복 제거 창 안에서 이미 처리되었는지 */
+    boolean isDuplicateSend(long senderId, @Nullable String clientMsgId);
     //public ChatMessage saveMessage(long roomId, long senderId, String content);
     //public List<ChatMessage> getMessages(long roomId, Long beforeId, int limit);
 }
\ No newline at end of file
@@ -3,15 +3,21 @@ package com.example.service;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CompletionException;
 
 import org.bson.types.ObjectId;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
 import com.example.DAO.ChatMessageDocRepo;
 import com.example.DAO.ChatRoomRepository;
@@ -36,9 +42,12 @@ public class RtChatServiceImpl implements RtChatService {
     private final MongoTemplate mongoTemplate;
     private final ReportRepository reportRepository;
     private final MemberRepository memberRepository;
-
-    private final ConcurrentMap<String, Integer> onlineCount = new ConcurrentHashMap<>();
-    private final ConcurrentMap<String, String> sessionToUser = new ConcurrentHashMap<>();
+    private final RoomMembershipCache membershipCache;
+    private final ChatMessageWriteBehind writeBehind;
+    private final RedisPresenceStore presenceStore;
+    private final ChatSendDeduplicator deduplicator;
+    private final HotRoomBuffers hotRooms;
+    private final SpamDetector spamDetector;
 
     @Transactional
     public ChatRoom createRoomIfAbsent(long a, long b, String field) {
@@ -48,6 +57,7 @@ public class RtChatServiceImpl implements RtChatService {
         ChatRoom found = roomRepository.findByPair(uMin, uMax);
         if (found != null) {
             log.info("✅ [기존 채팅방 존재] roomId={}", found.getChatroomId());
+            membershipCache.putParticipants(found.getChatroomId(), List.of(uMin, uMax));
             return found;
         }
 
@@ -58,6 +68,8 @@ public class RtChatServiceImpl implements RtChatService {
 
         try {
             roomRepository.insert(room);
+            membershipCache.evictRoom(room.getChatroomId());
+            membershipCache.putParticipants(room.getChatroomId(), List.of(uMin, uMax));
             log.info("✅ [채팅방 생성 성공] roomId={}", room.getChatroomId());
             return room;
         } catch (Exception e) {
@@ -66,75 +78,189 @@ public class RtChatServiceImpl implements RtChatService {
         }
     }
 
-    public ChatMessage send(long roomId, long senderId, String content, @Nullable String clientMsgId) {
+    public SendResult send(long roomId, long senderId, String content, @Nullable String clientMsgId) {
         if (roomId <= 0 || senderId <= 0 || content == null || content.isBlank()) {
             log.warn("⚠️ [잘못된 전송 파라미터] roomId={}, senderId={}, content={}", roomId, senderId, content);
             throw new IllegalArgumentException("유효하지 않은 파라미터");
         }
 
+        ChatMessage replay = deduplicator.find(senderId, clientMsgId);
+        if (replay != null) {
+            log.info("♻️ [중복 전송 무시] senderId={}, clientMsgId={}, id={}", senderId, clientMsgId, replay.getId());
+            return new SendResult(replay, false);
+        }
+
         ChatMessage doc = new ChatMessage();
         doc.setChatroomId(roomId);
         doc.setSenderId(senderId);
         doc.setContent(content);
         doc.setCreatedAt(Instant.now());
         doc.setIsRead(false);
+        if (clientMsgId != null && !clientMsgId.isBlank()) doc.setClientMsgId(clientMsgId);
 
         log.info("💬 [메시지 저장 시도] roomId={}, senderId={}, content={}", roomId, senderId, content);
 
-        try {
-            ChatMessage saved = messageRepo.save(doc);
-            log.info("✅ [메시지 저장 성공] id={}, mongoId={}, time={}", saved.getChatMessageId(), saved.getId(), saved.getCreatedAt());
-            return saved;
-        } catch (Exception e) {
-            log.error("❌ 메시지 저장 실패: roomId={}, senderId={}, error={}", roomId, senderId, e.getMessage());
-            throw new RuntimeException("메시지 저장 중 오류 발생");
+        ChatMessage saved;
+        if (writeBehind.isEnabled()) {
+            // 중복 제거 창이 지난 재시도 → 새 id 를 부여/브로드캐스트하기 전에 유니크 인덱스로 확인
+            if (doc.getClientMsgId() != null) {
+                ChatMessage existing = findByClientMsgId(senderId, clientMsgId);
+                if (existing != null) return replayOf(existing);
+            }
+            // id/시간을 미리 부여하고 즉시 반환 → 저장은 배치로 비동기 처리
+            doc.setId(new ObjectId());
+            try {
+                writeBehind.enqueue(doc).whenComplete((ok, ex) -> onWriteBehindFailure(doc, ex));
+            } catch (DuplicateKeyException e) {
+                // 큐 포화로 동기 저장하다 같은 clientMsgId 와 충돌
+                return replayOf(findExisting(senderId, clientMsgId));
+            }
+            saved = doc;
+        } else {
+            try {
+                saved = messageRepo.save(doc);
+                log.info("✅ [메시지 저장 성공] id={}, mongoId={}, time={}", saved.getChatMessageId(), saved.getId(), saved.getCreatedAt());
+            } catch (DuplicateKeyException e) {
+                // 중복 제거 창이 지난 재시도 → 유니크 인덱스가 막음, 기존 메시지 반환
+                return replayOf(findExisting(senderId, clientMsgId));
+            } catch (Exception e) {
+                log.error("❌ 메시지 저장 실패: roomId={}, senderId={}, error={}", roomId, senderId, e.getMessage());
+                throw new RuntimeException("메시지 저장 중 오류 발생");
+            }
         }
+
+        deduplicator.remember(saved);
+        hotRooms.rtChat().append(roomId, saved);
+        // 반복 메시지 감지는 새로 저장된 메시지만 (메모리만, 알림은 감지기가 비동기로 처리)
+        spamDetector.observe(senderId, content);
+        return new SendResult(saved, true);
+    }
+
+    /** write-behind 저장 결과 처리: 이미 브로드캐스트된 메시지 */
+    private void onWriteBehindFailure(ChatMessage doc, Throwable ex) {
+        if (ex == null) return;
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        if (cause instanceof DuplicateKeyException) {
+            // 큐에 있는 동안 같은 clientMsgId 가 먼저 저장됨 → 이 id 는 저장되지 않음, 버퍼/중복 창을 기존 메시지로 교체
+            log.warn("⚠️ [메시지 지연 저장 - clientMsgId 중복] id={}, roomId={}, clientMsgId={}", doc.getId(), doc.getChatroomId(), doc.getClientMsgId());
+            hotRooms.rtChat().invalidate(doc.getChatroomId());
+            ChatMessage existing = findByClientMsgId(doc.getSenderId(), doc.getClientMsgId());
+            if (existing != null) deduplicator.remember(existing);
+            return;
+        }
+        // 저장 실패는 dead-letter 로 남고 재전송됨
+        log.error("❌ [메시지 지연 저장 실패] id={}, roomId={}, dead-letter 재전송 대기", doc.getId(), doc.getChatroomId());
+    }
+
+    private ChatMessage findByClientMsgId(long senderId, String clientMsgId) {
+        return mongoTemplate.findOne(
+                new Query(Criteria.where("senderId").is(senderId).and("clientMsgId").is(clientMsgId)), ChatMessage.class);
+    }
+
+    private ChatMessage findExisting(long senderId, String clientMsgId) {
+        ChatMessage existing = findByClientMsgId(senderId, clientMsgId);
+        if (existing == null) throw new RuntimeException("메시지 저장 중 오류 발생");
+        return existing;
+    }
+
+    private SendResult replayOf(ChatMessage existing) {
+        deduplicator.remember(existing);
+        log.info("♻️ [중복 전송 - 기존 메시지 반환] senderId={}, clientMsgId={}", existing.getSenderId(), existing.getClientMsgId());
+        return new SendResult(existing, false);
     }
 
     @Override
-    public List<ChatMessage> getMessages(long roomId, Long beforeId, int size) {
+    public Slice<ChatMessage> getMessages(long roomId, @Nullable String before, @Nullable String after, int size) {
         int limit = Math.max(1, Math.min(size, 200));
-        var page = PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "createdAt"));
-        log.info("📜 [이전 메시지 조회] roomId={}, beforeId={}, limit={}", roomId, beforeId, limit);
-        return messageRepo.findByChatroomIdOrderByCreatedAtDesc(roomId, page).getContent();
+        boolean catchUp = before == null && after != null;
+        boolean firstPage = (before == null || before.isBlank()) && (after == null || after.isBlank());
+
+        // 첫 페이지는 최근 메시지 버퍼에서 바로 응답
+        if (firstPage) {
+            List<ChatMessage> hot = hotRooms.rtChat().latest(roomId, limit);
+            if (hot != null) {
+                boolean hasNext = hot.size() > limit;
+                if (hasNext) hot = hot.subList(0, limit);
+                log.debug("⚡ [메시지 조회 - 버퍼] roomId={}, limit={}, 결과={}", roomId, limit, hot.size());
+                return new SliceImpl<>(hot, PageRequest.of(0, limit), hasNext);
+            }
+        }
+
+        Criteria c = Criteria.where("chatroomId").is(roomId);
+
+        // (createdAt, _id) 키셋 조건 → room_created_id_idx 범위 스캔 1회
+        String cursor = catchUp ? after : before;
+        if (cursor != null && !cursor.isBlank()) {
+            ChatMessage edge = parseCursor(cursor);
+            if (catchUp) {
+                c = c.orOperator(
+                    Criteria.where("createdAt").gt(edge.getCreatedAt()),
+                    Criteria.where("createdAt").is(edge.getCreatedAt()).and("_id").gt(edge.getId()));
+            } else {
+                c = c.orOperator(
+                    Criteria.where("createdAt").lt(edge.getCreatedAt()),
+                    Criteria.where("createdAt").is(edge.getCreatedAt()).and("_id").lt(edge.getId()));
+            }
+        }
+
+        // 키셋 조건과 같은 (createdAt, _id) 순서로 정렬 → 같은 시각(ms) 메시지도 페이지 사이에서 빠지거나 겹치지 않음
+        Query q = new Query(c)
+                .with(Sort.by(catchUp ? Sort.Direction.ASC : Sort.Direction.DESC, "createdAt", "_id"))
+                .limit(limit + 1);
+        q.fields().include("chatroomId", "senderId", "content", "createdAt", "isRead", "clientMsgId");
+
+        List<ChatMessage> rows = mongoTemplate.find(q, ChatMessage.class);
+        boolean hasNext = rows.size() > limit;
+        if (firstPage) hotRooms.rtChat().seed(roomId, rows, !hasNext);
+        if (hasNext) rows = rows.subList(0, limit);
+        log.info("📜 [메시지 조회] roomId={}, before={}, after={}, limit={}, 결과={}", roomId, before, after, limit, rows.size());
+        return new SliceImpl<>(rows, PageRequest.of(0, limit), hasNext);
+    }
+
+    /** 커서 = "{createdAt epochMillis}_{ObjectId hex}" (ObjectId 만 넘어오면 해당 메시지에서 createdAt 을 조회) */
+    private ChatMessage parseCursor(String cursor) {
+        ChatMessage edge = new ChatMessage();
+        try {
+            int sep = cursor.indexOf('_');
+            if (sep > 0) {
+                edge.setCreatedAt(Instant.ofEpochMilli(Long.parseLong(cursor.substring(0, sep))));
+                edge.setId(new ObjectId(cursor.substring(sep + 1)));
+                return edge;
+            }
+            ObjectId id = new ObjectId(cursor);
+            Query q = new Query(Criteria.where("_id").is(id));
+            q.fields().include("createdAt");
+            ChatMessage found = mongoTemplate.findOne(q, ChatMessage.class);
+            if (found == null || found.getCreatedAt() == null) {
+                throw new IllegalArgumentException("존재하지 않는 메시지 커서: " + cursor);
+            }
+            return found;
+        } catch (IllegalArgumentException e) {
+            log.warn("⚠️ [잘못된 커서] cursor={}", cursor);
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "유효하지 않은 커서: " + cursor);
+        }
     }
 
     public boolean markOnline(String userId, String sessionId) {
-        sessionToUser.put(sessionId, userId);
-        int after = onlineCount.merge(userId, 1, Integer::sum);
-        log.info("🔵 [온라인 처리] userId={}, sessionId={}, 접속 수={}", userId, sessionId, after);
-        return after == 1;
+        return presenceStore.markOnline(userId, sessionId);
     }
 
     public boolean decrement(String userId, String sessionId) {
-        sessionToUser.remove(sessionId);
-        boolean offline = onlineCount.compute(userId, (k, v) -> {
-            if (v == null) return null;
-            int n = v - 1;
-            return n <= 0 ? null : n;
-        }) == null;
-        log.info("🔴 [오프라인 처리] userId={}, sessionId={}, 완전 오프라인={}", userId, sessionId, offline);
-        return offline;
+        return presenceStore.decrement(userId, sessionId);
     }
 
     public boolean forceOffline(String userId) {
-        boolean wasOnline = onlineCount.remove(userId) != null;
-        sessionToUser.entrySet().removeIf(e -> userId.equals(e.getValue()));
-        log.warn("⚠️ [강제 오프라인] userId={}, wasOnline={}", userId, wasOnline);
-        return wasOnline;
+        return presenceStore.forceOffline(userId);
     }
 
     public String resolveUserBySession(String sessionId) {
-        String userId = sessionToUser.get(sessionId);
+        String userId = presenceStore.resolveUserBySession(sessionId);
         log.debug("🔎 [세션→사용자] sessionId={}, userId={}", sessionId, userId);
         return userId;
     }
 
     public List<String> getOnlineUserIds() {
-        List<String> onlineUsers = onlineCount.entrySet().stream()
-                .filter(e -> e.getValue() != null && e.getValue() > 0)
-                .map(Map.Entry::getKey)
-                .toList();
+        List<String> onlineUsers = presenceStore.getOnlineUserIds();
         log.info("📶 [온라인 사용자 목록] {}명", onlineUsers.size());
         return onlineUsers;
     }
@@ -186,22 +312,54 @@ public class RtChatServiceImpl implements RtChatService {
     }
 
     public List<Long> getParticipants(long roomId) {
+        List<Long> cached = membershipCache.getParticipants(roomId);
+        if (cached != null) {
+            return cached;
+        }
         ChatRoom room = roomRepository.findById(roomId);
         if (room == null) {
             log.error("❌ 채팅방 없음: roomId={}", roomId);
             throw new RuntimeException("채팅방이 존재하지 않음");
         }
         log.info("👥 [채팅방 참가자] roomId={}, participants=[{}, {}]", roomId, room.getParticipant1_Id(), room.getParticipant2_Id());
-        return List.of(room.getParticipant1_Id(), room.getParticipant2_Id());
+        List<Long> participants = List.of(room.getParticipant1_Id(), room.getParticipant2_Id());
+        membershipCache.putParticipants(roomId, participants);
+        return participants;
     }
 
     @Override
     public String resolveLoginId(Long userId) {
-        return memberRepository.findById(userId)
+        String cached = membershipCache.getLoginId(userId);
+        if (cached != null) {
+            return cached;
+        }
+        String loginId = memberRepository.findById(userId)
                 .map(Member::getLoginId)
                 .orElseThrow(() -> {
                     log.error("❌ 로그인 ID 조회 실패: userId={}", userId);
                     return new RuntimeException("해당 사용자를 찾을 수 없습니다: " + userId);
                 });
+        membershipCache.putLoginId(userId, loginId);
+        return loginId;
+    }
+
+    @Override
+    public void evictMember(long userId) {
+        membershipCache.evictMember(userId);
+    }
+
+    @Override
+    public Map<String, Object> getMembershipCacheStats() {
+        return membershipCache.stats();
+    }
+
+    @Override
+    public Map<String, Object> getPersistenceStats() {
+        return writeBehind.stats();
+    }
+
+    @Override
+    public boolean isDuplicateSend(long senderId, @Nullable String clientMsgId) {
+        return deduplicator.find(senderId, clientMsgId) != null;
     }
 }
@@ -1,110 +1,103 @@
 package com.example.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.ingest.EsBulkIngestor;
+import com.example.ingest.SearchKeywordEvent;
 import lombok.extern.slf4j.Slf4j;
 import org.elasticsearch.action.search.SearchRequest;
-import org.elasticsearch.action.search.SearchResponse;
-import org.elasticsearch.client.RequestOptions;
-import org.elasticsearch.client.RestHighLevelClient;
 import org.elasticsearch.index.query.*;
-import org.elasticsearch.search.aggregations.AggregationBuilders;
-import org.elasticsearch.search.aggregations.bucket.terms.Terms;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
 import org.elasticsearch.search.collapse.CollapseBuilder;
 import org.elasticsearch.search.sort.SortOrder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Service
 public class SearchService {
 
     @Autowired
-    private RestHighLevelClient client;
+    private EsSearchGateway esSearchGateway;
 
-    private static final ObjectMapper objectMapper = new ObjectMapper();
+    @Autowired
+    private AutocompleteIndexService autocompleteIndexService;
+
+    @Autowired
+    private EsBulkIngestor esBulkIngestor;
 
+    private static final int AUTOCOMPLETE_SIZE = 10;
+    private static final Duration AUTOCOMPLETE_TTL = Duration.ofSeconds(60);
+
+    // search-autocomplete 인덱스로 bulk 수집 (로그/Logstash 경유 아님)
     public void logSearchKeyword(String keyword) {
-        try {
-            Map<String, Object> logMap = new HashMap<>();
-            logMap.put("search_keyword", keyword);
-            logMap.put("timestamp", new Date());
-            String json = objectMapper.writeValueAsString(logMap);
-            log.info(json);
-        } catch (Exception e) {
-            log.warn("검색어 로그 기록 실패", e);
-        }
+        esBulkIngestor.offer(SearchKeywordEvent.of(keyword));
     }
 
-    public List<String> getPopularKeywords() {
-        List<String> results = new ArrayList<>();
-        try {
-            SearchSourceBuilder sourceBuilder = new SearchSourceBuilder()
-                    .aggregation(AggregationBuilders.terms("popular_keywords")
-                            .field("search_keyword.keyword")
-                            .size(10))
-                    .size(0);
-
-            SearchRequest searchRequest = new SearchRequest("search-autocomplete").source(sourceBuilder);
-            SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
-            Terms terms = response.getAggregations().get("popular_keywords");
-            for (Terms.Bucket bucket : terms.getBuckets()) {
-                results.add(bucket.getKeyAsString());
+    // 로컬 접두 색인 우선, 색인이 다 못 채우는 접두만 ES 조회 (모자라면 로컬 후보로 채움)
+    public CompletableFuture<List<String>> getAutocomplete(String prefix) {
+        String q = prefix == null ? "" : prefix.trim();
+        if (q.isEmpty()) return CompletableFuture.completedFuture(new ArrayList<>());
+
+        List<String> local = autocompleteIndexService.suggest(q, AUTOCOMPLETE_SIZE);
+        if (local != null) return CompletableFuture.completedFuture(local);
+
+        return searchAutocomplete(q).thenApply(results -> {
+            if (results.size() < AUTOCOMPLETE_SIZE) {
+                for (String s : autocompleteIndexService.partial(q, AUTOCOMPLETE_SIZE)) {
+                    if (results.size() >= AUTOCOMPLETE_SIZE) break;
+                    if (!results.contains(s)) results.add(s);
+                }
             }
-        } catch (Exception e) {
-            log.error("인기 검색어 가져오기 실패", e);
-        }
-        return results;
+            return results;
+        });
     }
 
-    public List<String> getAutocomplete(String prefix) {
-        List<String> results = new ArrayList<>();
-        try {
-            String q = prefix == null ? "" : prefix.trim();
-            if (q.isEmpty()) return results;
-
-            // .keyword prefix용 전처리 (구두점 제거 + 소문자)
-            String cleanedForKeyword = q.replaceAll("\\p{Punct}", "").toLowerCase();
-
-            // 1) n-gram 기반 일반 매치
-            MatchQueryBuilder match = QueryBuilders.matchQuery("search_keyword", q);
-
-            // 2) 구문 접두 강화
-            MatchPhrasePrefixQueryBuilder mpp =
-                    QueryBuilders.matchPhrasePrefixQuery("search_keyword", q).boost(1.5f);
-
-            // 3) 정확 접두(정렬/품질 보정)
-            PrefixQueryBuilder keywordPrefix =
-                    QueryBuilders.prefixQuery("search_keyword.keyword", cleanedForKeyword).boost(2.0f);
-
-            BoolQueryBuilder bool = QueryBuilders.boolQuery()
-                    .should(match)
-                    .should(mpp)
-                    .should(keywordPrefix)
-                    .minimumShouldMatch(1);
-
-            SearchSourceBuilder sb = new SearchSourceBuilder()
-                    .query(bool)
-                    .fetchSource(new String[]{"search_keyword"}, null)
-                    // 같은 제안어 중복 제거
-                    .collapse(new CollapseBuilder("search_keyword.keyword"))
-                    .sort("_score", SortOrder.DESC)
-                    .size(10);
-
-            SearchRequest req = new SearchRequest("search-autocomplete").source(sb);
-            SearchResponse res = client.search(req, RequestOptions.DEFAULT);
-
-            Arrays.stream(res.getHits().getHits())
-                    .map(h -> h.getSourceAsMap().get("search_keyword"))
-                    .filter(Objects::nonNull)
-                    .map(Object::toString)
-                    .forEach(results::add);
-
-        } catch (Exception e) {
-            log.error("자동완성 실패", e);
-        }
-        return results;
+    private CompletableFuture<List<String>> searchAutocomplete(String q) {
+        // .keyword prefix용 전처리 (구두점 제거 + 소문자)
+        String cleanedForKeyword = q.replaceAll("\\p{Punct}", "").toLowerCase();
+
+        // 1) n-gram 기반 일반 매치
+        MatchQueryBuilder match = QueryBuilders.matchQuery("search_keyword", q);
+
+        // 2) 구문 접두 강화
+        MatchPhrasePrefixQueryBuilder mpp =
+                QueryBuilders.matchPhrasePrefixQuery("search_keyword", q).boost(1.5f);
+
+        // 3) 정확 접두(정렬/품질 보정)
+        PrefixQueryBuilder keywordPrefix =
+                QueryBuilders.prefixQuery("search_keyword.keyword", cleanedForKeyword).boost(2.0f);
+
+        BoolQueryBuilder bool = QueryBuilders.boolQuery()
+                .should(match)
+                .should(mpp)
+                .should(keywordPrefix)
+                .minimumShouldMatch(1);
+
+        SearchSourceBuilder sb = new SearchSourceBuilder()
+                .query(bool)
+                .fetchSource(new String[]{"search_keyword"}, null)
+                // 같은 제안어 중복 제거
+                .collapse(new CollapseBuilder("search_keyword.keyword"))
+                .sort("_score", SortOrder.DESC)
+                .size(AUTOCOMPLETE_SIZE);
+
+        SearchRequest req = new SearchRequest("search-autocomplete").source(sb);
+        return esSearchGateway.search(req, AUTOCOMPLETE_TTL)
+                .thenApply(res -> {
+                    List<String> results = new ArrayList<>();
+                    Arrays.stream(res.getHits().getHits())
+                            .map(h -> h.getSourceAsMap().get("search_keyword"))
+                            .filter(Objects::nonNull)
+                            .map(Object::toString)
+                            .forEach(results::add);
+                    return results;
+                })
+                .exceptionally(e -> {
+                    log.error("자동완성 실패: {}", e.getMessage());
+                    return new ArrayList<>();
+                });
     }
 }
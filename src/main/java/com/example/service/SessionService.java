@@ -6,6 +6,7 @@ import java.util.Set;
 
 import com.example.session.ServerSession;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 
 public interface SessionService {
@@ -21,7 +22,10 @@ public interface SessionService {
     //** 현재 세션 스냅샷 조회 
     Optional<ServerSession> get(HttpSession httpSession);
 
-    //** 리프레시 회전(재발급 성공 시 호출) 
+    //** 요청의 세션 쿠키 기준 조회 (노드 로컬 캐시 우선, miss 시 Spring Session 조회)
+    Optional<ServerSession> get(HttpServletRequest request);
+
+    //** 리프레시 회전(재발급 성공 시 호출, 같은 세션 동시 요청은 한 번만 회전) 
     Optional<ServerSession> rotateRefresh(HttpSession httpSession, Duration refreshTtl);
 
     // 강제 로그아웃 
@@ -5,11 +5,18 @@ import java.time.Instant;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.example.session.ServerSession;
+import com.example.session.SessionNearCache;
 
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 
 @Service // 스캔되어 빈으로 등록됨
@@ -17,6 +24,22 @@ public class SessionServiceImpl implements SessionService {
 
     private static final String KEY = "AUTH_SESSION";
 
+    private final SessionNearCache nearCache;
+    private final String sessionCookieName;
+    private final Duration rotateGrace;
+
+    // 세션별 진행 중인 refresh 회전 → 동시에 만료된 요청들은 같은 결과를 기다림
+    private final ConcurrentMap<String, CompletableFuture<Optional<ServerSession>>> rotating = new ConcurrentHashMap<>();
+
+    public SessionServiceImpl(
+            SessionNearCache nearCache,
+            @Value("${auth.session-cache.cookie-name:MOONPULL_SESSION}") String sessionCookieName,
+            @Value("${auth.session.rotate-grace-seconds:10}") long rotateGraceSeconds) {
+        this.nearCache = nearCache;
+        this.sessionCookieName = sessionCookieName;
+        this.rotateGrace = Duration.ofSeconds(rotateGraceSeconds);
+    }
+
     @Override
     public ServerSession create(HttpSession httpSession,
                                 Integer userId,
@@ -35,6 +58,7 @@ public class SessionServiceImpl implements SessionService {
         if (maxInactiveSeconds > 0) {
             httpSession.setMaxInactiveInterval(maxInactiveSeconds); // ex) 1800(30m)
         }
+        nearCache.update(httpSession.getId(), sess);
         return sess;
     }
 
@@ -45,23 +69,97 @@ public class SessionServiceImpl implements SessionService {
         return (v instanceof ServerSession s) ? Optional.of(s) : Optional.empty();
     }
 
+    @Override
+    public Optional<ServerSession> get(HttpServletRequest request) {
+        String sessionId = readSessionId(request);
+        if (sessionId == null) return get(request.getSession(false));
+
+        SessionNearCache.Entry cached = nearCache.get(sessionId);
+        if (cached != null) return Optional.ofNullable(cached.session());
+
+        // miss → Spring Session 에서 한 번 읽고 캐시 (세션 없음도 캐시)
+        HttpSession httpSession = request.getSession(false);
+        Optional<ServerSession> loaded = get(httpSession);
+        if (httpSession == null || sessionId.equals(httpSession.getId())) {
+            nearCache.put(sessionId, loaded.orElse(null));
+        }
+        return loaded;
+    }
+
+    /**
+     * refresh 회전
+     * - 같은 세션의 동시 요청은 한 번만 회전하고 결과를 공유 (single-flight)
+     * - rotateGrace 안에 이미 회전된 세션이면 다시 쓰지 않고 그대로 반환
+     */
     @Override
     public Optional<ServerSession> rotateRefresh(HttpSession httpSession, Duration refreshTtl) {
-        var cur = get(httpSession).orElse(null);
+        if (httpSession == null) return Optional.empty();
+        String sessionId = httpSession.getId();
+
+        CompletableFuture<Optional<ServerSession>> mine = new CompletableFuture<>();
+        CompletableFuture<Optional<ServerSession>> inFlight = rotating.putIfAbsent(sessionId, mine);
+        if (inFlight != null) return inFlight.join();
+
+        try {
+            Optional<ServerSession> result = rotate(httpSession, sessionId, refreshTtl);
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            rotating.remove(sessionId, mine);
+        }
+    }
+
+    private Optional<ServerSession> rotate(HttpSession httpSession, String sessionId, Duration refreshTtl) {
+        ServerSession cur = freshest(get(httpSession).orElse(null), nearCache.get(sessionId));
         if (cur == null) return Optional.empty();
+
+        Instant now = Instant.now();
+        // 방금 회전된 세션 (다른 요청이 먼저 처리) → 쓰기 생략
+        if (cur.refreshExpiry().isAfter(now.plus(refreshTtl).minus(rotateGrace))) {
+            return Optional.of(cur);
+        }
+
         ServerSession rotated = new ServerSession(
             cur.userId(),
             cur.roles(),
             cur.sessionVersion(),
             UUID.randomUUID().toString(),
-            Instant.now().plus(refreshTtl)
+            now.plus(refreshTtl)
         );
         httpSession.setAttribute(KEY, rotated);
+        nearCache.update(sessionId, rotated);
         return Optional.of(rotated);
     }
 
     @Override
     public void invalidate(HttpSession httpSession) {
-        if (httpSession != null) httpSession.invalidate();
+        if (httpSession == null) return;
+        String sessionId = httpSession.getId();
+        httpSession.invalidate();
+        nearCache.update(sessionId, null);
+    }
+
+    // 요청이 읽은 세션 스냅샷과 캐시 중 더 늦게 회전된 쪽
+    private static ServerSession freshest(ServerSession fromSession, SessionNearCache.Entry cached) {
+        ServerSession c = (cached == null) ? null : cached.session();
+        if (fromSession == null) return c;
+        if (c == null) return fromSession;
+        return c.refreshExpiry().isAfter(fromSession.refreshExpiry()) ? c : fromSession;
+    }
+
+    // 세션 쿠키 값 = 세션 ID (SecurityConfig 의 CookieSerializer 가 Base64 인코딩 없이 저장)
+    private String readSessionId(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) return null;
+        for (Cookie c : cookies) {
+            if (sessionCookieName.equals(c.getName())) {
+                String v = c.getValue();
+                return (v == null || v.isBlank()) ? null : v;
+            }
+        }
+        return null;
     }
 }
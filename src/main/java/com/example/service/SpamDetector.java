@@ -0,0 +1,360 @@
+package com.example.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.VO.NotificationVO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ✅ 채팅 전송 경로의 반복 메시지(스팸) 감지기
+ *
+ * - 보낸 사람마다 최근 window 동안의 내용 지문(정규화한 본문의 해시)을 슬라이딩 창으로 유지
+ * - 정규화 후 min-length 글자 미만인 짧은 말("ㅋㅋ", "네", "ok", "??")은 세지 않음 → 일상적인 반복은 알림 대상 아님
+ * - 같은 지문이 창 안에서 threshold 회 이상이면 "위반 구간(episode)" 시작 → 알림은 구간당 한 번
+ *   구간은 window 동안 같은 지문이 더 오지 않으면 종료되고, 이후 다시 반복하면 새 구간
+ * - 알림(DB 저장 + FCM) 은 전송 경로 밖에서 큐로 처리, 전용 스레드(spam-alerts)에서 비움 (공용 스케줄러와 분리)
+ * - 구간 목록은 Redis(spam:episodes zset + spam:episode hash) 에 모아서 관리자 화면이 노드와 무관하게 읽음
+ */
+@Component
+@Slf4j
+public class SpamDetector {
+
+    private static final String EPISODES_KEY = "spam:episodes";
+    private static final String EPISODE_DATA_KEY = "spam:episode";
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
+
+    /** 보낸 사람 하나의 최근 메시지 지문 창 + 진행 중인 위반 구간 */
+    private static final class SenderWindow {
+        final ArrayDeque<long[]> recent = new ArrayDeque<>(); // {시각(ms), 지문}
+        final Map<Long, Integer> counts = new HashMap<>();
+        final Map<Long, Episode> episodes = new HashMap<>();
+        long lastSeen;
+    }
+
+    private static final class Episode {
+        final String id;
+        final long senderId;
+        final String content;
+        final long startedAt;
+        long lastSeen;
+        int count;
+
+        Episode(long senderId, long fingerprint, String content, long startedAt, int count) {
+            this.id = senderId + ":" + fingerprint + ":" + startedAt;
+            this.senderId = senderId;
+            this.content = content;
+            this.startedAt = startedAt;
+            this.lastSeen = startedAt;
+            this.count = count;
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("time", LocalDateTime.ofInstant(Instant.ofEpochMilli(startedAt), ZONE)
+                    .truncatedTo(ChronoUnit.MINUTES).atZone(ZONE).format(TIME_FORMAT));
+            m.put("sender", String.valueOf(senderId));
+            m.put("message", content);
+            m.put("count", count);
+            return m;
+        }
+    }
+
+    private final StringRedisTemplate redis;
+    private final NotificationService notificationService;
+    private final FcmPushService fcmPushService;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final long windowMillis;
+    private final int threshold;
+    private final int minLength;
+    private final long flushMillis;
+    private final int maxPerSender;
+    private final int maxSenders;
+    private final long retentionMillis;
+
+    private final ConcurrentMap<Long, SenderWindow> senders = new ConcurrentHashMap<>();
+    // 새 구간(알림 대상) / 갱신할 구간 → 전송 경로 밖에서 처리
+    private final BlockingQueue<Episode> alerts = new LinkedBlockingQueue<>(10_000);
+    private final Set<Episode> dirty = ConcurrentHashMap.newKeySet();
+
+    // DB/FCM 호출이 느려도 다른 @Scheduled 작업을 막지 않도록 전용 스레드
+    private final ScheduledExecutorService alertExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "spam-alerts");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final AtomicLong observed = new AtomicLong();
+    private final AtomicLong episodesStarted = new AtomicLong();
+    private final AtomicLong droppedSenders = new AtomicLong();
+
+    public SpamDetector(
+            StringRedisTemplate redis,
+            NotificationService notificationService,
+            FcmPushService fcmPushService,
+            @Value("${spam.window-seconds:60}") long windowSeconds,
+            @Value("${spam.repeat-threshold:3}") int threshold,
+            @Value("${spam.min-length:5}") int minLength,
+            @Value("${spam.max-messages-per-sender:50}") int maxPerSender,
+            @Value("${spam.max-senders:100000}") int maxSenders,
+            @Value("${spam.retention-days:3}") long retentionDays,
+            @Value("${spam.flush-ms:1000}") long flushMillis) {
+        this.redis = redis;
+        this.notificationService = notificationService;
+        this.fcmPushService = fcmPushService;
+        this.windowMillis = windowSeconds * 1000;
+        this.threshold = Math.max(2, threshold);
+        this.minLength = Math.max(1, minLength);
+        this.flushMillis = flushMillis;
+        this.maxPerSender = maxPerSender;
+        this.maxSenders = maxSenders;
+        this.retentionMillis = retentionDays * 24 * 60 * 60 * 1000;
+    }
+
+    @PostConstruct
+    public void start() {
+        alertExecutor.scheduleWithFixedDelay(this::flushSafely, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        alertExecutor.shutdown();
+        try {
+            if (!alertExecutor.awaitTermination(5, TimeUnit.SECONDS)) alertExecutor.shutdownNow();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!alerts.isEmpty()) log.warn("⚠️ [스팸 알림 미처리] 종료 시 {}건 남음", alerts.size());
+    }
+
+    /** 전송 1건 관찰 (메모리만, 알림은 큐로) */
+    public void observe(long senderId, String content) {
+        String normalized = normalize(content);
+        if (normalized.length() < minLength) return;
+        long fp = fingerprint(normalized);
+        long now = System.currentTimeMillis();
+        observed.incrementAndGet();
+
+        SenderWindow w = senders.get(senderId);
+        if (w == null) {
+            if (senders.size() >= maxSenders) {
+                droppedSenders.incrementAndGet();
+                return;
+            }
+            w = senders.computeIfAbsent(senderId, id -> new SenderWindow());
+        }
+
+        synchronized (w) {
+            w.lastSeen = now;
+            expire(w, now);
+            w.recent.addLast(new long[] {now, fp});
+            int count = w.counts.merge(fp, 1, Integer::sum);
+            if (w.recent.size() > maxPerSender) drop(w, w.recent.pollFirst());
+
+            Episode ep = w.episodes.get(fp);
+            if (ep != null && ep.lastSeen + windowMillis < now) {
+                // 조용했던 뒤 다시 반복 → 이전 구간은 끝난 것
+                w.episodes.remove(fp);
+                ep = null;
+            }
+            if (ep != null) {
+                ep.lastSeen = now;
+                ep.count++;
+                dirty.add(ep);
+            } else if (count >= threshold) {
+                ep = new Episode(senderId, fp, content, now, count);
+                w.episodes.put(fp, ep);
+                episodesStarted.incrementAndGet();
+                if (!alerts.offer(ep)) log.warn("⚠️ [스팸 알림 큐 가득 참] senderId={}", senderId);
+            }
+        }
+    }
+
+    /** 관리자 화면용: 최근 보존 기간 안의 위반 구간 (모든 노드) */
+    public List<Map<String, Object>> recentEpisodes() {
+        long now = System.currentTimeMillis();
+        try {
+            Set<String> ids = redis.opsForZSet().rangeByScore(EPISODES_KEY, now - retentionMillis, Double.MAX_VALUE);
+            if (ids == null || ids.isEmpty()) return new ArrayList<>();
+            List<Object> rows = redis.opsForHash().multiGet(EPISODE_DATA_KEY, new ArrayList<>(ids));
+            List<Map<String, Object>> out = new ArrayList<>(rows.size());
+            for (Object row : rows) {
+                if (row != null) out.add(objectMapper.readValue(row.toString(), new TypeReference<Map<String, Object>>() {}));
+            }
+            return out;
+        } catch (Exception e) {
+            log.warn("⚠️ [스팸 구간 조회 실패] 이 노드 진행 중 구간만 반환: {}", e.getMessage());
+            List<Map<String, Object>> out = new ArrayList<>();
+            for (SenderWindow w : senders.values()) {
+                synchronized (w) {
+                    w.episodes.values().forEach(ep -> out.add(ep.toMap()));
+                }
+            }
+            return out;
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            // 예외가 밖으로 나가면 이후 실행이 취소되므로 여기서 끊음
+            log.error("❌ [스팸 알림 처리 실패] {}", e.getMessage());
+        }
+    }
+
+    /** 새 구간 알림 (DB 저장 + FCM) + Redis 기록, 진행 중 구간 횟수 갱신 */
+    public void flush() {
+        List<Episode> batch = new ArrayList<>();
+        alerts.drainTo(batch);
+        for (Episode ep : batch) {
+            Map<String, Object> row = snapshot(ep);
+            save(ep, row);
+            notifyOffender(ep, row);
+        }
+        if (!dirty.isEmpty()) {
+            for (Iterator<Episode> it = dirty.iterator(); it.hasNext(); ) {
+                Episode ep = it.next();
+                it.remove();
+                save(ep, snapshot(ep));
+            }
+        }
+    }
+
+    /** 조용해진 보낸 사람/구간 정리 + 보존 기간 지난 Redis 기록 삭제 */
+    @Scheduled(fixedDelayString = "${spam.sweep-ms:30000}")
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        senders.entrySet().removeIf(e -> {
+            SenderWindow w = e.getValue();
+            synchronized (w) {
+                expire(w, now);
+                w.episodes.values().removeIf(ep -> ep.lastSeen + windowMillis < now);
+                return w.recent.isEmpty() && w.episodes.isEmpty();
+            }
+        });
+        try {
+            Set<String> old = redis.opsForZSet().rangeByScore(EPISODES_KEY, 0, now - retentionMillis);
+            if (old != null && !old.isEmpty()) {
+                redis.opsForHash().delete(EPISODE_DATA_KEY, old.toArray());
+                redis.opsForZSet().removeRangeByScore(EPISODES_KEY, 0, now - retentionMillis);
+            }
+        } catch (Exception e) {
+            log.warn("⚠️ [스팸 구간 정리 실패] {}", e.getMessage());
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("senders", senders.size());
+        stats.put("observed", observed.get());
+        stats.put("episodes", episodesStarted.get());
+        stats.put("pendingAlerts", alerts.size());
+        stats.put("droppedSenders", droppedSenders.get());
+        return stats;
+    }
+
+    private Map<String, Object> snapshot(Episode ep) {
+        SenderWindow w = senders.get(ep.senderId);
+        if (w == null) return ep.toMap();
+        synchronized (w) {
+            return ep.toMap();
+        }
+    }
+
+    private void save(Episode ep, Map<String, Object> row) {
+        try {
+            redis.opsForHash().put(EPISODE_DATA_KEY, ep.id, objectMapper.writeValueAsString(row));
+            redis.opsForZSet().add(EPISODES_KEY, ep.id, ep.startedAt);
+        } catch (Exception e) {
+            log.warn("⚠️ [스팸 구간 기록 실패] id={}, error={}", ep.id, e.getMessage());
+        }
+    }
+
+    private void notifyOffender(Episode ep, Map<String, Object> row) {
+        String message = "[스팸 감지] " + ep.content + " (시간: " + row.get("time") + ")";
+        try {
+            NotificationVO noti = new NotificationVO();
+            noti.setUserId(Math.toIntExact(ep.senderId));
+            noti.setMessage(message);
+            noti.setCreatedAt(LocalDateTime.now());
+            noti.setRead(false);
+            notificationService.insertNotification(noti);
+            fcmPushService.sendPushToUser(noti.getUserId(), message);
+            log.info("🚨 [스팸 감지] senderId={}, 반복={}회, message={}", ep.senderId, row.get("count"), ep.content);
+        } catch (Exception e) {
+            log.error("❌ [스팸 알림 실패] senderId={}, error={}", ep.senderId, e.getMessage());
+        }
+    }
+
+    // 창 밖으로 나간 메시지 제거 (w 잠금 안에서)
+    private void expire(SenderWindow w, long now) {
+        while (!w.recent.isEmpty() && w.recent.peekFirst()[0] + windowMillis < now) drop(w, w.recent.pollFirst());
+    }
+
+    private static void drop(SenderWindow w, long[] entry) {
+        if (entry == null) return;
+        w.counts.computeIfPresent(entry[1], (k, c) -> c > 1 ? c - 1 : null);
+    }
+
+    /**
+     * 거의 같은 내용을 같은 지문으로: 소문자, 공백/구두점 제거, 같은 글자 3번 이상 반복은 2번으로
+     * ("ㅋㅋㅋㅋㅋ" = "ㅋㅋ", "광고 !!" = "광고")
+     */
+    static String normalize(String content) {
+        if (content == null) return "";
+        StringBuilder sb = new StringBuilder(content.length());
+        char prev = 0;
+        int run = 0;
+        for (int i = 0; i < content.length(); i++) {
+            char c = Character.toLowerCase(content.charAt(i));
+            if (!Character.isLetterOrDigit(c)) continue;
+            run = (c == prev) ? run + 1 : 1;
+            prev = c;
+            if (run <= 2) sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    // 64비트 FNV-1a
+    private static long fingerprint(String s) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : s.getBytes(StandardCharsets.UTF_8)) {
+            h ^= (b & 0xff);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+}
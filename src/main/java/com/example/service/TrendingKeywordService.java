@@ -0,0 +1,257 @@
+package com.example.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.util.SpaceSavingSketch;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ✅ 인기 검색어 집계 (앱 내부, ES 집계 없음)
+ *
+ * - 윈도(1h / 24h / 7d 등)마다 시간 버킷 링을 두고, 버킷마다 Space-Saving 스케치로 상위 검색어만 유지
+ * - 노드 간 합산: 주기적으로 마지막 동기화 이후 증가분을 Redis zset(trending:{window}:bucket) 에 ZINCRBY,
+ *   이어서 윈도의 버킷 zset 들을 합쳐 상위 N 개를 메모리 스냅샷으로 교체
+ *   ({window} 는 해시 태그 → 한 윈도의 버킷 키는 Redis Cluster 에서도 같은 슬롯이라 SUM_SCRIPT 한 번에 읽힘)
+ * - 증가분은 윈도마다 따로 들고 있다가 그 윈도의 전송이 성공했을 때만 비움 (일부 윈도만 실패해도 중복 가산 없음)
+ * - 요청 경로는 스냅샷 읽기만 함. Redis 가 안 되면 노드 로컬 스케치로 스냅샷을 만듦
+ */
+@Service
+@Slf4j
+public class TrendingKeywordService {
+
+    private static final String KEY_PREFIX = "trending:";
+    private static final int MAX_KEYWORD_LENGTH = 50;
+
+    /** KEYS[1]=bucket zset, ARGV[1]=ttl 초, ARGV[2]=유지할 개수, ARGV[3..]=keyword, count 쌍 */
+    private static final DefaultRedisScript<Long> ADD_SCRIPT = new DefaultRedisScript<>(
+        "for i = 3, #ARGV, 2 do redis.call('ZINCRBY', KEYS[1], ARGV[i + 1], ARGV[i]) end " +
+        "redis.call('ZREMRANGEBYRANK', KEYS[1], 0, -tonumber(ARGV[2]) - 1) " +
+        "redis.call('EXPIRE', KEYS[1], ARGV[1]) " +
+        "return redis.call('ZCARD', KEYS[1])", Long.class);
+
+    /** KEYS=버킷 zset 들, ARGV[1]=버킷당 읽을 개수 → keyword, count 가 번갈아 나오는 평탄 목록 (버킷 합산) */
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> SUM_SCRIPT = new DefaultRedisScript<>(
+        "local acc = {} " +
+        "for _, k in ipairs(KEYS) do " +
+        "  local r = redis.call('ZREVRANGE', k, 0, tonumber(ARGV[1]) - 1, 'WITHSCORES') " +
+        "  for i = 1, #r, 2 do acc[r[i]] = (acc[r[i]] or 0) + tonumber(r[i + 1]) end " +
+        "end " +
+        "local out = {} " +
+        "for k, v in pairs(acc) do out[#out + 1] = k; out[#out + 1] = tostring(v) end " +
+        "return out", List.class);
+
+    /** 윈도 하나: 버킷 링 (ring[i] 가 담고 있는 버킷 번호는 ringBucket[i]) */
+    private static final class Window {
+        final String name;
+        final long bucketMillis;
+        final int buckets;
+        final SpaceSavingSketch[] ring;
+        final long[] ringBucket;
+        // 마지막 동기화 이후 이 윈도로 보낼 증가분
+        final SpaceSavingSketch pending;
+
+        Window(String name, Duration length, int buckets, int capacity) {
+            this.name = name;
+            this.buckets = buckets;
+            this.bucketMillis = Math.max(1000, length.toMillis() / buckets);
+            this.ring = new SpaceSavingSketch[buckets];
+            this.ringBucket = new long[buckets];
+            this.pending = new SpaceSavingSketch(capacity * 4);
+                for (int i = 0; i < buckets; i++) {
+                ring[i] = new SpaceSavingSketch(capacity);
+                ringBucket[i] = -1;
+            }
+        }
+
+        long bucketOf(long now) {
+            return now / bucketMillis;
+        }
+
+        SpaceSavingSketch sketchFor(long bucket) {
+            int i = (int) (bucket % buckets);
+            if (ringBucket[i] != bucket) {
+                ring[i].clear();
+                ringBucket[i] = bucket;
+            }
+            return ring[i];
+        }
+    }
+
+    private final StringRedisTemplate redis;
+    private final int capacity;
+    private final int topSize;
+    private final String defaultWindow;
+    private final Map<String, Window> windows = new LinkedHashMap<>();
+
+    private final Object lock = new Object();
+
+    private volatile Map<String, List<String>> snapshot = Map.of();
+    // 윈도별 합산 카운트 (자동완성 색인 가중치로도 사용)
+    private volatile Map<String, Map<String, Long>> snapshotCounts = Map.of();
+
+    public TrendingKeywordService(
+            StringRedisTemplate redis,
+            @Value("${trending.windows:1h,24h,7d}") String windowSpec,
+            @Value("${trending.buckets-per-window:12}") int bucketsPerWindow,
+            @Value("${trending.sketch-capacity:200}") int capacity,
+            @Value("${trending.top-size:10}") int topSize,
+            @Value("${trending.default-window:24h}") String defaultWindow) {
+        this.redis = redis;
+        this.capacity = capacity;
+        this.topSize = topSize;
+        for (String w : windowSpec.split(",")) {
+            String name = w.trim();
+            if (!name.isEmpty()) windows.put(name, new Window(name, parseWindow(name), Math.max(1, bucketsPerWindow), capacity));
+        }
+        this.defaultWindow = windows.containsKey(defaultWindow) ? defaultWindow : windows.keySet().iterator().next();
+    }
+
+    /** 검색 1회 기록 (메모리만) */
+    public void record(String keyword) {
+        String k = normalize(keyword);
+        if (k == null) return;
+        long now = System.currentTimeMillis();
+        synchronized (lock) {
+            for (Window w : windows.values()) {
+                w.pending.offer(k, 1);
+                w.sketchFor(w.bucketOf(now)).offer(k, 1);
+            }
+        }
+    }
+
+    /** 인기 검색어 (window 가 없거나 모르는 값이면 기본 윈도) */
+    public List<String> top(String window) {
+        String name = (window != null && windows.containsKey(window)) ? window : defaultWindow;
+        return snapshot.getOrDefault(name, List.of());
+    }
+
+    /** 윈도의 검색어별 합산 카운트 (마지막 동기화 기준) */
+    public Map<String, Long> counts(String window) {
+        String name = (window != null && windows.containsKey(window)) ? window : defaultWindow;
+        return snapshotCounts.getOrDefault(name, Map.of());
+    }
+
+    @Scheduled(fixedDelayString = "${trending.sync-ms:10000}")
+    public void sync() {
+        long now = System.currentTimeMillis();
+        Map<String, Map<String, Long>> deltas = new HashMap<>();
+        synchronized (lock) {
+            for (Window w : windows.values()) {
+                deltas.put(w.name, w.pending.counts());
+                w.pending.clear();
+            }
+        }
+
+        Map<String, Map<String, Long>> counts = new HashMap<>();
+        List<String> failed = new ArrayList<>();
+        String lastError = null;
+        for (Window w : windows.values()) {
+            long bucket = w.bucketOf(now);
+            Map<String, Long> delta = deltas.get(w.name);
+            try {
+                if (!delta.isEmpty()) pushDelta(w, bucket, delta);
+                // 전송 성공 → 이후 실패해도 이 윈도의 증가분은 되돌리지 않음
+                delta = Map.of();
+                counts.put(w.name, sumFromRedis(w, bucket));
+            } catch (Exception e) {
+                // Redis 장애 → 못 보낸 증가분만 다음 동기화로 미루고 로컬 스케치로 스냅샷
+                failed.add(w.name);
+                lastError = e.getMessage();
+                synchronized (lock) {
+                    w.pending.addAll(delta);
+                    counts.put(w.name, sumLocal(w, now));
+                }
+            }
+        }
+        if (!failed.isEmpty()) {
+            log.warn("⚠️ [인기 검색어 Redis 동기화 실패] 윈도 {} 로컬 집계 사용: {}", failed, lastError);
+        }
+        Map<String, List<String>> next = new HashMap<>();
+        counts.forEach((name, c) -> next.put(name, SpaceSavingSketch.top(c, topSize)));
+        snapshotCounts = counts;
+        snapshot = next;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        Map<String, Long> pendingSearches = new LinkedHashMap<>();
+        synchronized (lock) {
+            windows.forEach((name, w) -> pendingSearches.put(name, w.pending.total()));
+        }
+        stats.put("pendingSearches", pendingSearches);
+        stats.put("windows", new ArrayList<>(windows.keySet()));
+        stats.put("snapshot", snapshot);
+        return stats;
+    }
+
+    private void pushDelta(Window w, long bucket, Map<String, Long> delta) {
+        List<String> args = new ArrayList<>(delta.size() * 2 + 2);
+        // 윈도 길이 + 버킷 하나만큼 살아 있으면 충분
+        args.add(String.valueOf((w.bucketMillis * (w.buckets + 1)) / 1000));
+        args.add(String.valueOf(capacity * 2));
+        delta.forEach((k, v) -> {
+            args.add(k);
+            args.add(String.valueOf(v));
+        });
+        redis.execute(ADD_SCRIPT, List.of(key(w, bucket)), args.toArray());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Long> sumFromRedis(Window w, long bucket) {
+        List<String> keys = new ArrayList<>(w.buckets);
+        for (long b = bucket - w.buckets + 1; b <= bucket; b++) keys.add(key(w, b));
+        List<Object> flat = redis.execute(SUM_SCRIPT, keys, String.valueOf(capacity));
+        Map<String, Long> counts = new HashMap<>();
+        if (flat == null) return counts;
+        for (int i = 0; i + 1 < flat.size(); i += 2) {
+            counts.put(String.valueOf(flat.get(i)), (long) Double.parseDouble(String.valueOf(flat.get(i + 1))));
+        }
+        return counts;
+    }
+
+    // lock 안에서 호출
+    private static Map<String, Long> sumLocal(Window w, long now) {
+        long bucket = w.bucketOf(now);
+        SpaceSavingSketch merged = new SpaceSavingSketch(Integer.MAX_VALUE);
+        for (int i = 0; i < w.buckets; i++) {
+            if (w.ringBucket[i] > bucket - w.buckets && w.ringBucket[i] <= bucket) merged.addAll(w.ring[i].counts());
+        }
+        return merged.counts();
+    }
+
+    private static String key(Window w, long bucket) {
+        return KEY_PREFIX + "{" + w.name + "}:" + bucket;
+    }
+
+    // 앞뒤 공백 제거 + 연속 공백 하나로 + 소문자, 빈 값/너무 긴 값은 제외
+    private static String normalize(String keyword) {
+        if (keyword == null) return null;
+        String k = keyword.trim().replaceAll("\\s+", " ").toLowerCase();
+        if (k.isEmpty() || k.length() > MAX_KEYWORD_LENGTH) return null;
+        return k;
+    }
+
+    // "90m", "1h", "24h", "7d"
+    private static Duration parseWindow(String name) {
+        long n = Long.parseLong(name.substring(0, name.length() - 1));
+        return switch (Character.toLowerCase(name.charAt(name.length() - 1))) {
+            case 'm' -> Duration.ofMinutes(n);
+            case 'h' -> Duration.ofHours(n);
+            case 'd' -> Duration.ofDays(n);
+            default -> throw new IllegalArgumentException("trending.windows 형식 오류: " + name);
+        };
+    }
+}
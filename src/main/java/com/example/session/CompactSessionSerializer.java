@@ -0,0 +1,138 @@
+package com.example.session;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * ✅ Spring Session 속성 값용 압축 직렬화기
+ *
+ * 형식 (첫 바이트 = 타입 태그)
+ * - 0x01 ServerSession : userId, sessionVersion, roles, refreshId, refreshExpiry 를 필드 순서대로 기록
+ * - 0x02 String        : UTF-8 본문
+ * - 0x03 Integer / 0x04 Long / 0x05 Boolean : 고정 길이
+ * - 그 외 타입 (SecurityContext 등) : JDK 직렬화 그대로 (0xAC 0xED 로 시작)
+ *
+ * 읽을 때 0xAC 0xED 로 시작하면 JDK 직렬화 값으로 처리 → 기존 세션은 다음 저장 때 새 형식으로 바뀜
+ *
+ * 배포 (session.serializer.write-compact)
+ * - 이전 버전 노드는 새 형식을 못 읽고, lastAccessedTime 같은 메타 값은 요청마다 다시 저장됨
+ *   → 섞여 도는 동안 새 형식으로 쓰면 이전 노드에서 세션이 깨짐
+ * - 1단계: write-compact=false 로 전 노드 교체 (두 형식 모두 읽고 JDK 형식으로만 씀)
+ * - 2단계: 전 노드가 1단계 버전이 된 뒤 write-compact=true 로 다시 롤링
+ * - 되돌릴 때도 역순 (write-compact=false 로 먼저 내린 뒤 이전 버전으로)
+ */
+public class CompactSessionSerializer implements RedisSerializer<Object> {
+
+    static final byte SERVER_SESSION = 0x01;
+    static final byte STRING = 0x02;
+    static final byte INTEGER = 0x03;
+    static final byte LONG = 0x04;
+    static final byte BOOLEAN = 0x05;
+
+    private static final byte[] EMPTY = new byte[0];
+    private static final byte JDK_MAGIC_0 = (byte) 0xAC;
+    private static final byte JDK_MAGIC_1 = (byte) 0xED;
+
+    private final JdkSerializationRedisSerializer jdk;
+    // false 면 읽기만 새 형식 지원 (쓰기는 JDK 형식) → 이전 버전 노드와 섞여 있어도 안전
+    private final boolean writeCompact;
+
+    public CompactSessionSerializer(ClassLoader classLoader, boolean writeCompact) {
+        this.jdk = new JdkSerializationRedisSerializer(classLoader);
+        this.writeCompact = writeCompact;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) return EMPTY;
+        if (!writeCompact) return jdk.serialize(value);
+        if (value instanceof ServerSession s) return writeServerSession(s);
+        if (value instanceof String s) {
+            byte[] body = s.getBytes(StandardCharsets.UTF_8);
+            byte[] out = new byte[body.length + 1];
+            out[0] = STRING;
+            System.arraycopy(body, 0, out, 1, body.length);
+            return out;
+        }
+        if (value instanceof Integer i) return ByteBuffer.allocate(5).put(INTEGER).putInt(i).array();
+        if (value instanceof Long l) return ByteBuffer.allocate(9).put(LONG).putLong(l).array();
+        if (value instanceof Boolean b) return new byte[] {BOOLEAN, (byte) (b ? 1 : 0)};
+        return jdk.serialize(value);
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) return null;
+        if (bytes.length >= 2 && bytes[0] == JDK_MAGIC_0 && bytes[1] == JDK_MAGIC_1) {
+            return jdk.deserialize(bytes); // 기존(JDK) 형식
+        }
+        ByteBuffer buf = ByteBuffer.wrap(bytes, 1, bytes.length - 1);
+        try {
+            return switch (bytes[0]) {
+                case SERVER_SESSION -> readServerSession(bytes);
+                case STRING -> new String(bytes, 1, bytes.length - 1, StandardCharsets.UTF_8);
+                case INTEGER -> buf.getInt();
+                case LONG -> buf.getLong();
+                case BOOLEAN -> buf.get() != 0;
+                default -> throw new SerializationException("알 수 없는 세션 값 태그: " + bytes[0]);
+            };
+        } catch (RuntimeException e) {
+            if (e instanceof SerializationException se) throw se;
+            throw new SerializationException("세션 값 역직렬화 실패", e);
+        }
+    }
+
+    private static byte[] writeServerSession(ServerSession s) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(SERVER_SESSION);
+            out.writeBoolean(s.userId() != null);
+            if (s.userId() != null) out.writeInt(s.userId());
+            out.writeInt(s.sessionVersion());
+            Set<String> roles = (s.roles() == null) ? Set.of() : s.roles();
+            out.writeShort(roles.size());
+            for (String role : roles) out.writeUTF(role);
+            writeNullableUtf(out, s.refreshId());
+            out.writeBoolean(s.refreshExpiry() != null);
+            if (s.refreshExpiry() != null) {
+                out.writeLong(s.refreshExpiry().getEpochSecond());
+                out.writeInt(s.refreshExpiry().getNano());
+            }
+        } catch (IOException e) {
+            throw new SerializationException("ServerSession 직렬화 실패", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static ServerSession readServerSession(byte[] bytes) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 1, bytes.length - 1))) {
+            Integer userId = in.readBoolean() ? in.readInt() : null;
+            int sessionVersion = in.readInt();
+            int roleCount = in.readUnsignedShort();
+            Set<String> roles = new LinkedHashSet<>(roleCount * 2);
+            for (int i = 0; i < roleCount; i++) roles.add(in.readUTF());
+            String refreshId = in.readBoolean() ? in.readUTF() : null;
+            Instant refreshExpiry = in.readBoolean() ? Instant.ofEpochSecond(in.readLong(), in.readInt()) : null;
+            return new ServerSession(userId, Set.copyOf(roles), sessionVersion, refreshId, refreshExpiry);
+        } catch (IOException e) {
+            throw new SerializationException("ServerSession 역직렬화 실패", e);
+        }
+    }
+
+    private static void writeNullableUtf(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) out.writeUTF(value);
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.session;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import com.example.util.BoundedTtlCache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ✅ 세션 ID → ServerSession 노드 로컬 캐시
+ * - 요청마다 Spring Session 해시 전체를 Redis 에서 읽지 않도록 짧은 TTL 로 보관 (세션 없음도 캐시)
+ * - 세션 삭제/만료 : Redis keyevent(del, expired) 알림으로 무효화
+ * - 로그인/회전/로그아웃 : 다른 노드에 auth:session:evict 로 전파
+ */
+@Component
+@Slf4j
+public class SessionNearCache {
+
+    private static final String CHANNEL = "auth:session:evict";
+    private static final String SESSION_KEY_PREFIX = "spring:session:sessions:";
+
+    /** session 이 null 이면 "세션/인증 정보 없음" 을 캐시한 것 */
+    public record Entry(ServerSession session) {}
+
+    private final BoundedTtlCache<String, Entry> cache;
+    private final StringRedisTemplate redis;
+    private final RedisConnectionFactory connectionFactory;
+    private final boolean configureKeyspaceEvents;
+    private final String nodeId = UUID.randomUUID().toString();
+    private RedisMessageListenerContainer container;
+
+    public SessionNearCache(
+            @Value("${auth.session-cache.max-size:50000}") int maxSize,
+            @Value("${auth.session-cache.ttl-seconds:10}") long ttlSeconds,
+            @Value("${auth.session-cache.configure-keyspace-events:true}") boolean configureKeyspaceEvents,
+            StringRedisTemplate redis,
+            RedisConnectionFactory connectionFactory) {
+        this.cache = new BoundedTtlCache<>(maxSize, ttlSeconds * 1000);
+        this.configureKeyspaceEvents = configureKeyspaceEvents;
+        this.redis = redis;
+        this.connectionFactory = connectionFactory;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (configureKeyspaceEvents) enableKeyEvents();
+        try {
+            container = new RedisMessageListenerContainer();
+            container.setConnectionFactory(connectionFactory);
+            // 세션 키 삭제/만료 → 해당 세션 무효화
+            container.addMessageListener((message, pattern) -> {
+                String key = new String(message.getBody(), StandardCharsets.UTF_8);
+                if (key.startsWith(SESSION_KEY_PREFIX)) {
+                    cache.invalidate(key.substring(SESSION_KEY_PREFIX.length()));
+                }
+            }, List.of(new PatternTopic("__keyevent@*__:del"), new PatternTopic("__keyevent@*__:expired")));
+            // 다른 노드의 로그인/회전/로그아웃 → "{nodeId}|{sessionId}"
+            container.addMessageListener((message, pattern) -> {
+                String body = new String(message.getBody(), StandardCharsets.UTF_8);
+                int sep = body.indexOf('|');
+                if (sep < 0 || body.startsWith(nodeId + "|")) return;
+                cache.invalidate(body.substring(sep + 1));
+            }, new ChannelTopic(CHANNEL));
+            container.afterPropertiesSet();
+            container.start();
+        } catch (Exception e) {
+            // 구독이 없으면 TTL 로만 만료됨
+            log.warn("⚠️ [세션 캐시 무효화 구독 실패] TTL 로만 만료됨: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        try {
+            if (container != null) container.stop();
+        } catch (Exception e) {
+            log.warn("⚠️ [세션 캐시 구독 종료 실패] {}", e.getMessage());
+        }
+    }
+
+    /** 캐시 조회 (없거나 만료면 null) */
+    public Entry get(String sessionId) {
+        return cache.get(sessionId);
+    }
+
+    /** 이 노드에서 읽은 값 캐시 (전파 없음) */
+    public void put(String sessionId, ServerSession session) {
+        cache.put(sessionId, new Entry(session));
+    }
+
+    /** 이 노드에서 값을 바꿨을 때 → 로컬 갱신 + 다른 노드 무효화 */
+    public void update(String sessionId, ServerSession session) {
+        if (session == null) cache.invalidate(sessionId);
+        else cache.put(sessionId, new Entry(session));
+        try {
+            redis.convertAndSend(CHANNEL, nodeId + "|" + sessionId);
+        } catch (Exception e) {
+            log.warn("⚠️ [세션 캐시 무효화 전파 실패] sessionId={}, error={}", sessionId, e.getMessage());
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", cache.size());
+        stats.put("hits", cache.getHits());
+        stats.put("misses", cache.getMisses());
+        return stats;
+    }
+
+    // notify-keyspace-events 에 E(keyevent) g(del) x(expired) 추가 — 관리형 Redis 처럼 CONFIG 가 막혀 있으면 경고만
+    private void enableKeyEvents() {
+        try (RedisConnection conn = connectionFactory.getConnection()) {
+            Properties current = conn.serverCommands().getConfig("notify-keyspace-events");
+            String flags = current == null ? "" : current.getProperty("notify-keyspace-events", "");
+            StringBuilder next = new StringBuilder(flags);
+            for (char f : new char[] {'E', 'g', 'x'}) {
+                if (flags.indexOf(f) < 0 && !(f != 'E' && flags.indexOf('A') >= 0)) next.append(f);
+            }
+            if (!next.toString().equals(flags)) {
+                conn.serverCommands().setConfig("notify-keyspace-events", next.toString());
+                log.info("🔔 [Redis keyevent 알림 설정] {} → {}", flags, next);
+            }
+        } catch (Exception e) {
+            log.warn("⚠️ [Redis keyevent 알림 설정 실패] 세션 삭제는 TTL 후 반영됨: {}", e.getMessage());
+        }
+    }
+}
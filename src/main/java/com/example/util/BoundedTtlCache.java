@@ -0,0 +1,90 @@
+package com.example.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 크기 제한 + TTL 을 가진 간단한 로컬 캐시 (LRU 축출)
+ * - 외부 캐시 라이브러리 없이 핫패스 조회를 메모리에서 처리하기 위한 용도
+ * - hit / miss 카운터를 함께 집계
+ */
+public class BoundedTtlCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private final LinkedHashMap<K, Entry<V>> map;
+
+    private record Entry<V>(V value, long expiresAt) {}
+
+    public BoundedTtlCache(int maxSize, long ttlMillis) {
+        this.maxSize = Math.max(1, maxSize);
+        this.ttlMillis = ttlMillis;
+        // accessOrder=true → 가장 오래 사용되지 않은 항목이 먼저 축출됨
+        this.map = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > BoundedTtlCache.this.maxSize;
+            }
+        };
+    }
+
+    /** 캐시 조회 (만료/미존재 시 null) */
+    public V get(K key) {
+        synchronized (map) {
+            Entry<V> e = map.get(key);
+            if (e != null && e.expiresAt() > System.currentTimeMillis()) {
+                hits.incrementAndGet();
+                return e.value();
+            }
+            if (e != null) map.remove(key);
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /** 캐시에 없으면 loader 로 적재 (loader 가 null 을 반환하면 캐시하지 않음) */
+    public V getOrLoad(K key, Function<? super K, ? extends V> loader) {
+        V cached = get(key);
+        if (cached != null) return cached;
+        V loaded = loader.apply(key);
+        if (loaded != null) put(key, loaded);
+        return loaded;
+    }
+
+    public void put(K key, V value) {
+        synchronized (map) {
+            map.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMillis));
+        }
+    }
+
+    public void invalidate(K key) {
+        synchronized (map) {
+            map.remove(key);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (map) {
+            map.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (map) {
+            return map.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.util;
+
+/**
+ * 한글 자모 분해 (자동완성 접두 매칭용)
+ * - 음절은 초성/중성/종성 호환 자모로 풀고, 겹모음·겹받침은 낱자로 더 풂 (ㅘ → ㅗㅏ, ㄺ → ㄹㄱ)
+ *   → 입력 중인 "달" 이 "닭" 의 접두, "고" 가 "과" 의 접두가 됨
+ * - 공백/구두점은 버리고 영문은 소문자로
+ */
+public final class HangulJamo {
+
+    private static final char SYLLABLE_BASE = 0xAC00;
+    private static final char SYLLABLE_LAST = 0xD7A3;
+
+    private static final String CHO = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ";
+    private static final String[] JUNG = {
+        "ㅏ", "ㅐ", "ㅑ", "ㅒ", "ㅓ", "ㅔ", "ㅕ", "ㅖ", "ㅗ", "ㅗㅏ", "ㅗㅐ", "ㅗㅣ", "ㅛ", "ㅜ",
+        "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅠ", "ㅡ", "ㅡㅣ", "ㅣ"
+    };
+    private static final String[] JONG = {
+        "", "ㄱ", "ㄲ", "ㄱㅅ", "ㄴ", "ㄴㅈ", "ㄴㅎ", "ㄷ", "ㄹ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ",
+        "ㄹㅍ", "ㄹㅎ", "ㅁ", "ㅂ", "ㅂㅅ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"
+    };
+    // 호환 자모로 직접 입력된 겹자모
+    private static final String COMPOUND = "ㅘㅙㅚㅝㅞㅟㅢㄳㄵㄶㄺㄻㄼㄽㄾㄿㅀㅄ";
+    private static final String[] COMPOUND_SPLIT = {
+        "ㅗㅏ", "ㅗㅐ", "ㅗㅣ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅡㅣ", "ㄱㅅ", "ㄴㅈ", "ㄴㅎ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ",
+        "ㄹㅌ", "ㄹㅍ", "ㄹㅎ", "ㅂㅅ"
+    };
+
+    private HangulJamo() {}
+
+    /** 자모 분해 키 ("한국 사" → "ㅎㅏㄴㄱㅜㄱㅅㅏ") */
+    public static String decompose(String s) {
+        StringBuilder out = new StringBuilder(s.length() * 3);
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= SYLLABLE_BASE && c <= SYLLABLE_LAST) {
+                int idx = c - SYLLABLE_BASE;
+                out.append(CHO.charAt(idx / 588)).append(JUNG[(idx % 588) / 28]).append(JONG[idx % 28]);
+                continue;
+            }
+            int compound = COMPOUND.indexOf(c);
+            if (compound >= 0) {
+                out.append(COMPOUND_SPLIT[compound]);
+                continue;
+            }
+            appendPlain(out, c);
+        }
+        return out.toString();
+    }
+
+    /** 초성 키 ("한국사" → "ㅎㄱㅅ"), 한글이 아닌 글자는 그대로 */
+    public static String choseong(String s) {
+        StringBuilder out = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= SYLLABLE_BASE && c <= SYLLABLE_LAST) out.append(CHO.charAt((c - SYLLABLE_BASE) / 588));
+            else appendPlain(out, c);
+        }
+        return out.toString();
+    }
+
+    /** 완성형 한글 음절(가~힣)인지 */
+    public static boolean isSyllable(char c) {
+        return c >= SYLLABLE_BASE && c <= SYLLABLE_LAST;
+    }
+
+    /** 자음(ㄱ~ㅎ)만으로 된 입력인지 → 초성 검색 */
+    public static boolean isChoseongQuery(String s) {
+        boolean any = false;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (Character.isWhitespace(c)) continue;
+            if (CHO.indexOf(c) < 0) return false;
+            any = true;
+        }
+        return any;
+    }
+
+    private static void appendPlain(StringBuilder out, char c) {
+        if (Character.isWhitespace(c) || isPunct(c)) return;
+        out.append(Character.toLowerCase(c));
+    }
+
+    private static boolean isPunct(char c) {
+        int type = Character.getType(c);
+        return type == Character.CONNECTOR_PUNCTUATION || type == Character.DASH_PUNCTUATION
+                || type == Character.START_PUNCTUATION || type == Character.END_PUNCTUATION
+                || type == Character.INITIAL_QUOTE_PUNCTUATION || type == Character.FINAL_QUOTE_PUNCTUATION
+                || type == Character.OTHER_PUNCTUATION;
+    }
+}
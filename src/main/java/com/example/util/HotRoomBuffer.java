@@ -0,0 +1,240 @@
+package com.example.util;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * 최근 활동한 방의 마지막 N개 메시지를 들고 있는 링 버퍼 (방 단위 LRU)
+ * - 전송 경로에서 append, 첫 페이지 조회에서 seed → 입장/첫 화면은 저장소 조회 없이 응답
+ * - 방 개수 / 추정 메모리(byte) 상한을 넘거나 idle 시간이 지나면 오래된 방부터 축출
+ * - 버퍼가 "방의 최신 메시지 전부"를 들고 있다고 확신할 수 있을 때만 응답하고, 아니면 miss
+ * - enabled=false 면 아무것도 들고 있지 않고 항상 저장소로 넘김 (다른 노드의 전송이 이 버퍼에 안 들어오는 구성)
+ */
+public class HotRoomBuffer<T> {
+
+    private final int perRoom;
+    private final int maxRooms;
+    private final long maxBytes;
+    private final long idleMillis;
+    private final ToIntFunction<T> weigher;
+    private final Function<T, Object> idOf;
+    private final boolean enabled;
+
+    private final LinkedHashMap<Long, Ring<T>> rooms = new LinkedHashMap<>(16, 0.75f, true);
+    private long residentBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public HotRoomBuffer(int perRoom, int maxRooms, long maxBytes, long idleMillis,
+                         ToIntFunction<T> weigher, Function<T, Object> idOf) {
+        this(perRoom, maxRooms, maxBytes, idleMillis, weigher, idOf, true);
+    }
+
+    public HotRoomBuffer(int perRoom, int maxRooms, long maxBytes, long idleMillis,
+                         ToIntFunction<T> weigher, Function<T, Object> idOf, boolean enabled) {
+        this.perRoom = Math.max(1, perRoom);
+        this.maxRooms = Math.max(1, maxRooms);
+        this.maxBytes = Math.max(1, maxBytes);
+        this.idleMillis = idleMillis;
+        this.weigher = weigher;
+        this.idOf = idOf;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** 전송 경로: 새 메시지를 방 버퍼 끝에 추가 (방이 없으면 생성, 이미 있는 id 는 무시) */
+    public void append(long roomId, T message) {
+        if (!enabled) return;
+        synchronized (rooms) {
+            Ring<T> ring = rooms.computeIfAbsent(roomId, k -> new Ring<>(perRoom));
+            if (ring.contains(idOf.apply(message), idOf)) return;
+            residentBytes += ring.add(message, weigher);
+            ring.touch();
+            enforceLimits();
+        }
+    }
+
+    /**
+     * 저장소에서 읽은 최신 메시지로 방 버퍼 채우기 (newestFirst: 최신순 목록)
+     * - 그 사이 append 된 메시지(아직 저장 전일 수 있음)는 seed 뒤에 다시 붙임
+     * - exhaustive=true 면 방의 메시지 전부를 넘긴 것
+     */
+    public void seed(long roomId, List<T> newestFirst, boolean exhaustive) {
+        if (!enabled) return;
+        synchronized (rooms) {
+            Ring<T> ring = new Ring<>(perRoom);
+            int from = Math.min(newestFirst.size(), perRoom) - 1;
+            for (int i = from; i >= 0; i--) {
+                ring.add(newestFirst.get(i), weigher);
+            }
+            ring.exhaustive = exhaustive && newestFirst.size() <= perRoom;
+
+            Ring<T> prev = rooms.remove(roomId);
+            if (prev != null) {
+                residentBytes -= prev.bytes;
+                List<T> appended = prev.newestFirst(prev.size);
+                for (int i = appended.size() - 1; i >= 0; i--) {
+                    T m = appended.get(i);
+                    if (!ring.contains(idOf.apply(m), idOf)) ring.add(m, weigher);
+                }
+            }
+            ring.touch();
+            rooms.put(roomId, ring);
+            residentBytes += ring.bytes;
+            enforceLimits();
+        }
+    }
+
+    /**
+     * 최신 limit 건 (최신순). 버퍼만으로 답할 수 없으면 null
+     * - 결과 크기가 limit+1 이면 더 오래된 메시지가 있다는 뜻 (hasNext 판단용)
+     */
+    public List<T> latest(long roomId, int limit) {
+        if (!enabled) return null;
+        synchronized (rooms) {
+            Ring<T> ring = rooms.get(roomId);
+            if (ring != null && idleMillis > 0 && ring.idleFor() > idleMillis) {
+                evict(roomId, ring);
+                ring = null;
+            }
+            if (ring != null && (ring.size > limit || ring.exhaustive)) {
+                ring.touch();
+                hits.incrementAndGet();
+                return ring.newestFirst(limit + 1);
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /** idle 시간이 지난 방 정리 (주기 호출) */
+    public int evictIdle() {
+        if (idleMillis <= 0) return 0;
+        int removed = 0;
+        synchronized (rooms) {
+            Iterator<Map.Entry<Long, Ring<T>>> it = rooms.entrySet().iterator();
+            while (it.hasNext()) {
+                Ring<T> ring = it.next().getValue();
+                if (ring.idleFor() <= idleMillis) continue;
+                it.remove();
+                residentBytes -= ring.bytes;
+                evictions.incrementAndGet();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    public void invalidate(long roomId) {
+        synchronized (rooms) {
+            Ring<T> ring = rooms.remove(roomId);
+            if (ring != null) residentBytes -= ring.bytes;
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        synchronized (rooms) {
+            stats.put("residentRooms", rooms.size());
+            stats.put("residentBytes", residentBytes);
+        }
+        long h = hits.get();
+        long m = misses.get();
+        stats.put("hits", h);
+        stats.put("misses", m);
+        stats.put("hitRate", h + m == 0 ? 0.0 : (double) h / (h + m));
+        stats.put("evictions", evictions.get());
+        return stats;
+    }
+
+    // rooms 락을 잡은 상태에서 호출
+    private void enforceLimits() {
+        Iterator<Map.Entry<Long, Ring<T>>> it = rooms.entrySet().iterator();
+        while ((rooms.size() > maxRooms || residentBytes > maxBytes) && it.hasNext()) {
+            Ring<T> ring = it.next().getValue();
+            it.remove();
+            residentBytes -= ring.bytes;
+            evictions.incrementAndGet();
+        }
+    }
+
+    private void evict(long roomId, Ring<T> ring) {
+        rooms.remove(roomId);
+        residentBytes -= ring.bytes;
+        evictions.incrementAndGet();
+    }
+
+    /** 고정 크기 원형 배열 (가장 오래된 것부터 덮어씀) */
+    private static final class Ring<T> {
+        final Object[] items;
+        final int[] weights;
+        int head;      // 다음에 쓸 위치
+        int size;
+        long bytes;
+        boolean exhaustive;
+        long lastAccess;
+
+        Ring(int capacity) {
+            this.items = new Object[capacity];
+            this.weights = new int[capacity];
+        }
+
+        /** 추가하고 늘어난 byte 수 반환 (덮어쓴 항목만큼 차감) */
+        long add(T item, ToIntFunction<T> weigher) {
+            int w = weigher.applyAsInt(item);
+            long delta = w;
+            if (size == items.length) {
+                delta -= weights[head];
+                exhaustive = false;
+            } else {
+                size++;
+            }
+            items[head] = item;
+            weights[head] = w;
+            head = (head + 1) % items.length;
+            bytes += delta;
+            return delta;
+        }
+
+        @SuppressWarnings("unchecked")
+        boolean contains(Object id, Function<T, Object> idOf) {
+            if (id == null) return false;
+            for (int i = 0; i < size; i++) {
+                int idx = Math.floorMod(head - 1 - i, items.length);
+                if (Objects.equals(id, idOf.apply((T) items[idx]))) return true;
+            }
+            return false;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<T> newestFirst(int n) {
+            int count = Math.min(n, size);
+            List<T> out = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                out.add((T) items[Math.floorMod(head - 1 - i, items.length)]);
+            }
+            return out;
+        }
+
+        void touch() {
+            lastAccess = System.currentTimeMillis();
+        }
+
+        long idleFor() {
+            return System.currentTimeMillis() - lastAccess;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 정확히 일치하는 경로 + 접두사 경로 목록을 한 번만 정리해 두고 매칭하는 불변 집합
+ * - 다른 접두사에 이미 포함되는 접두사/정확 경로는 생성 시 제거
+ * - 정확 경로는 HashSet 조회, 접두사는 남은 것만 순회
+ */
+public final class PathPrefixSet {
+
+    private final Set<String> exact;
+    private final String[] prefixes;
+
+    private PathPrefixSet(Set<String> exact, String[] prefixes) {
+        this.exact = exact;
+        this.prefixes = prefixes;
+    }
+
+    public static PathPrefixSet of(List<String> exactPaths, List<String> prefixPaths) {
+        // 짧은 접두사부터 보고, 이미 남긴 접두사로 시작하는 것은 버림
+        List<String> sorted = new ArrayList<>(new HashSet<>(prefixPaths));
+        sorted.sort(Comparator.comparingInt(String::length));
+        List<String> kept = new ArrayList<>();
+        for (String p : sorted) {
+            if (kept.stream().noneMatch(p::startsWith)) kept.add(p);
+        }
+        Set<String> exact = new HashSet<>();
+        for (String e : exactPaths) {
+            if (kept.stream().noneMatch(e::startsWith)) exact.add(e);
+        }
+        return new PathPrefixSet(Set.copyOf(exact), kept.toArray(String[]::new));
+    }
+
+    public boolean matches(String path) {
+        if (path == null) return false;
+        if (exact.contains(path)) return true;
+        for (String p : prefixes) {
+            if (path.startsWith(p)) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "PathPrefixSet{exact=" + exact + ", prefixes=" + Arrays.toString(prefixes) + "}";
+    }
+}
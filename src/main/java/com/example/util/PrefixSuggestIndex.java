@@ -0,0 +1,179 @@
+package com.example.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 가중치 접두 검색용 불변 트라이 (자동완성)
+ * - 키워드마다 자모 분해 키와 초성 키 두 가지로 색인
+ * - 키워드 전체 접두 외에 중간 시작점도 따로 색인 (중간 트라이): 두 번째 이후 단어의 시작, 한글은 음절마다
+ *   → "갈비" 로 "닭갈비", "문법" 으로 "영어 문법" 이 나옴 (ES n-gram/구문 접두 매치 대응).
+ *   영문 등 한글이 아닌 단어 안쪽("ava" → "java")은 매치하지 않음
+ * - 결과는 전체 접두 매치가 먼저, 남는 자리를 중간 매치로 채움 (ES 의 정확 접두 가중치와 같은 순서)
+ * - 노드마다 하위 키워드 중 가중치 상위 topK 를 미리 계산 → 조회는 접두 길이만큼 내려가서 목록 반환
+ * - 생성 후 변경 없음 → 갱신은 새로 만들어 통째로 교체
+ */
+public final class PrefixSuggestIndex {
+
+    private static final class Node {
+        char[] labels = new char[0];
+        Node[] children = new Node[0];
+        int[] top = new int[0]; // 키워드 번호 (가중치 내림차순)
+    }
+
+    private final String[] keywords;
+    private final Node jamoRoot;
+    private final Node choseongRoot;
+    private final Node jamoInfixRoot;
+    private final Node choseongInfixRoot;
+    private final int topK;
+
+    private PrefixSuggestIndex(String[] keywords, Node jamoRoot, Node choseongRoot,
+                               Node jamoInfixRoot, Node choseongInfixRoot, int topK) {
+        this.keywords = keywords;
+        this.jamoRoot = jamoRoot;
+        this.choseongRoot = choseongRoot;
+        this.jamoInfixRoot = jamoInfixRoot;
+        this.choseongInfixRoot = choseongInfixRoot;
+        this.topK = topK;
+    }
+
+    public static PrefixSuggestIndex empty() {
+        return build(Map.of(), 10);
+    }
+
+    /** keyword → 가중치 (같은 자모 키로 정규화되는 표기는 가중치를 합치고 가중치가 큰 표기를 사용) */
+    public static PrefixSuggestIndex build(Map<String, Long> weighted, int topK) {
+        Map<String, Integer> byKey = new HashMap<>();
+        List<String> words = new ArrayList<>();
+        List<long[]> w = new ArrayList<>(); // {합계, 대표 표기 가중치}
+        weighted.forEach((word, weight) -> {
+            if (word == null || weight == null) return;
+            String key = HangulJamo.decompose(word);
+            if (key.isEmpty()) return;
+            Integer id = byKey.get(key);
+            if (id == null) {
+                byKey.put(key, words.size());
+                words.add(word.trim());
+                w.add(new long[] {weight, weight});
+            } else {
+                long[] acc = w.get(id);
+                acc[0] += weight;
+                if (weight > acc[1]) {
+                    acc[1] = weight;
+                    words.set(id, word.trim());
+                }
+            }
+        });
+
+        String[] keywords = words.toArray(String[]::new);
+        long[] weights = new long[keywords.length];
+        for (int i = 0; i < weights.length; i++) weights[i] = w.get(i)[0];
+
+        Builder jamo = new Builder();
+        Builder cho = new Builder();
+        Builder jamoInfix = new Builder();
+        Builder choInfix = new Builder();
+        for (int i = 0; i < keywords.length; i++) {
+            String word = keywords[i];
+            jamo.insert(HangulJamo.decompose(word), i);
+            cho.insert(HangulJamo.choseong(word), i);
+            for (int start : infixStarts(word)) {
+                String rest = word.substring(start);
+                jamoInfix.insert(HangulJamo.decompose(rest), i);
+                choInfix.insert(HangulJamo.choseong(rest), i);
+            }
+        }
+        return new PrefixSuggestIndex(keywords, jamo.freeze(weights, topK), cho.freeze(weights, topK),
+                jamoInfix.freeze(weights, topK), choInfix.freeze(weights, topK), topK);
+    }
+
+    /** 중간 색인 시작 위치 (0 제외): 공백/구두점 뒤 단어 시작 + 한글 음절 */
+    static List<Integer> infixStarts(String word) {
+        List<Integer> starts = new ArrayList<>();
+        boolean prevSeparator = true;
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            boolean separator = !Character.isLetterOrDigit(c);
+            if (!separator && i > 0 && (prevSeparator || HangulJamo.isSyllable(c))) starts.add(i);
+            prevSeparator = separator;
+        }
+        return starts;
+    }
+
+    /**
+     * 접두 추천 (최대 limit 개, limit 은 topK 이하)
+     * - 자음만 입력하면 초성 색인, 아니면 자모 색인
+     */
+    public List<String> suggest(String prefix, int limit) {
+        if (prefix == null) return List.of();
+        boolean choseong = HangulJamo.isChoseongQuery(prefix);
+        String key = choseong ? HangulJamo.choseong(prefix) : HangulJamo.decompose(prefix);
+        if (key.isEmpty()) return List.of();
+        int n = Math.min(limit, topK);
+        List<String> out = new ArrayList<>(n);
+        collect(choseong ? choseongRoot : jamoRoot, key, n, out);
+        if (out.size() < n) collect(choseong ? choseongInfixRoot : jamoInfixRoot, key, n, out);
+        return out;
+    }
+
+    private void collect(Node node, String key, int n, List<String> out) {
+        for (int i = 0; i < key.length() && node != null; i++) node = child(node, key.charAt(i));
+        if (node == null) return;
+        for (int i = 0; i < node.top.length && out.size() < n; i++) {
+            String k = keywords[node.top[i]];
+            if (!out.contains(k)) out.add(k);
+        }
+    }
+
+    public int size() {
+        return keywords.length;
+    }
+
+    private static Node child(Node node, char c) {
+        int i = Arrays.binarySearch(node.labels, c);
+        return i >= 0 ? node.children[i] : null;
+    }
+
+    /** 생성용 가변 트라이 */
+    private static final class Builder {
+        private final TreeMap<Character, Builder> children = new TreeMap<>();
+        private final List<Integer> terminals = new ArrayList<>(1);
+
+        void insert(String key, int id) {
+            if (key.isEmpty()) return;
+            Builder node = this;
+            for (int i = 0; i < key.length(); i++) node = node.children.computeIfAbsent(key.charAt(i), c -> new Builder());
+            node.terminals.add(id);
+        }
+
+        Node freeze(long[] weights, int topK) {
+            Node node = new Node();
+            node.labels = new char[children.size()];
+            node.children = new Node[children.size()];
+            List<Integer> candidates = new ArrayList<>(terminals);
+            int i = 0;
+            for (Map.Entry<Character, Builder> e : children.entrySet()) {
+                node.labels[i] = e.getKey();
+                node.children[i] = e.getValue().freeze(weights, topK);
+                for (int id : node.children[i].top) candidates.add(id);
+                i++;
+            }
+            // 자식들의 상위 목록 + 자기 자신 중에서 다시 상위 topK
+            // (중간 트라이에서는 같은 키워드가 여러 시작점으로 올 수 있음 → 정렬 후 중복 제거)
+            candidates.sort((a, b) -> weights[a] != weights[b] ? Long.compare(weights[b], weights[a]) : Integer.compare(a, b));
+            int[] top = new int[Math.min(topK, candidates.size())];
+            int n = 0;
+            for (int j = 0; j < candidates.size() && n < top.length; j++) {
+                int id = candidates.get(j);
+                if (n == 0 || top[n - 1] != id) top[n++] = id;
+            }
+            node.top = n == top.length ? top : Arrays.copyOf(top, n);
+            return node;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Space-Saving heavy-hitter 스케치 (최대 capacity 개 키만 유지)
+ * - 꽉 찬 상태에서 새 키가 오면 가장 작은 카운터를 물려받음 (count = min + inc, error = min)
+ * - 실제 빈도 f 에 대해 count - error <= f <= count 보장
+ * - 스레드 안전하지 않음 → 호출 측에서 동기화
+ */
+public class SpaceSavingSketch {
+
+    private final int capacity;
+    private final Map<String, long[]> counters; // key → {count, error}
+    private long total;
+
+    public SpaceSavingSketch(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.counters = new HashMap<>(Math.min(this.capacity, 1024) * 2);
+    }
+
+    public void offer(String key, long inc) {
+        total += inc;
+        long[] c = counters.get(key);
+        if (c != null) {
+            c[0] += inc;
+            return;
+        }
+        if (counters.size() < capacity) {
+            counters.put(key, new long[] {inc, 0});
+            return;
+        }
+        // 가장 작은 카운터 교체
+        String minKey = null;
+        long min = Long.MAX_VALUE;
+        for (Map.Entry<String, long[]> e : counters.entrySet()) {
+            if (e.getValue()[0] < min) {
+                min = e.getValue()[0];
+                minKey = e.getKey();
+            }
+        }
+        counters.remove(minKey);
+        counters.put(key, new long[] {min + inc, min});
+    }
+
+    /** 다른 스케치/노드 집계를 더함 (합친 뒤 capacity 를 넘으면 작은 것부터 버림) */
+    public void addAll(Map<String, Long> counts) {
+        counts.forEach((k, v) -> {
+            long[] c = counters.get(k);
+            if (c != null) c[0] += v;
+            else counters.put(k, new long[] {v, 0});
+            total += v;
+        });
+        if (counters.size() > capacity) {
+            List<Map.Entry<String, long[]>> entries = new ArrayList<>(counters.entrySet());
+            entries.sort((a, b) -> Long.compare(b.getValue()[0], a.getValue()[0]));
+            for (int i = capacity; i < entries.size(); i++) counters.remove(entries.get(i).getKey());
+        }
+    }
+
+    /** 현재 카운터 스냅샷 (key → count) */
+    public Map<String, Long> counts() {
+        Map<String, Long> out = new HashMap<>(counters.size() * 2);
+        counters.forEach((k, c) -> out.put(k, c[0]));
+        return out;
+    }
+
+    public boolean isEmpty() {
+        return counters.isEmpty();
+    }
+
+    public long total() {
+        return total;
+    }
+
+    public void clear() {
+        counters.clear();
+        total = 0;
+    }
+
+    /** count 기준 상위 n 개 (크기 n 의 최소 힙) */
+    public static List<String> top(Map<String, Long> counts, int n) {
+        PriorityQueue<Map.Entry<String, Long>> heap = new PriorityQueue<>(
+                (a, b) -> a.getValue().equals(b.getValue())
+                        ? b.getKey().compareTo(a.getKey())
+                        : Long.compare(a.getValue(), b.getValue()));
+        for (Map.Entry<String, Long> e : counts.entrySet()) {
+            heap.offer(e);
+            if (heap.size() > n) heap.poll();
+        }
+        List<String> out = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) out.add(heap.poll().getKey());
+        Collections.reverse(out);
+        return out;
+    }
+}
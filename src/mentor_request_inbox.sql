@@ -0,0 +1,14 @@
+-- 멘토 요청함 키셋 페이지용 인덱스 (WHERE mentor_id = ? AND status = 'REQUESTED' ORDER BY started_at, id)
+CREATE INDEX idx_mentor_request_inbox ON mentor_request(mentor_id, status, started_at, id);
+
+-- 멘토별 대기 요청 카운터 (요청 생성 +1, 수락/거절 -1)
+ALTER TABLE mentor
+ADD COLUMN pending_request_count INT NOT NULL DEFAULT 0
+COMMENT '대기 중(REQUESTED) 멘토 요청 수';
+
+-- 기존 데이터로 초기화
+UPDATE mentor mo
+SET pending_request_count = (
+    SELECT COUNT(*) FROM mentor_request mr
+    WHERE mr.mentor_id = mo.mentor_id AND mr.status = 'REQUESTED'
+);
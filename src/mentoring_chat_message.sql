@@ -0,0 +1,16 @@
+-- 멘토링 채팅 메시지 (append-only)
+-- 기존에는 mentoring_chatroom.content 를 매번 덮어써서 이력이 남지 않았음
+CREATE TABLE mentoring_chat_message (
+    seq BIGINT AUTO_INCREMENT PRIMARY KEY,       -- 전역 증가 → 방 안에서도 순서 보장 (방 단위 카운터 경합 없음)
+    chat_id BIGINT NOT NULL,
+    sender_id BIGINT NOT NULL,
+    sender_name VARCHAR(100) NULL,
+    content TEXT NOT NULL,
+    sent_at DATETIME(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+
+    -- 외래키 제약조건 (필요시 주석 해제)
+    -- FOREIGN KEY (chat_id) REFERENCES mentoring_chatroom(chat_id),
+
+    -- 방별 키셋 페이징 (WHERE chat_id = ? AND seq < ? ORDER BY seq DESC)
+    INDEX idx_chat_seq (chat_id, seq)
+);
@@ -0,0 +1,74 @@
+-- 멘토링 채팅방 / 진행 정보를 (멘티, 멘토) 쌍 기준으로 1건만 유지
+-- participant1_id = 멘티 id, participant2_id = 멘토 id (id 체계가 달라서 min/max 정렬 대신 역할 순서로 고정)
+
+-- 0. 방향 정규화: 이전 코드는 (멘티, 멘토) / (멘토, 멘티) 양쪽 순서로 방을 찾았으므로 뒤집힌 행이 있음
+--    역할을 알 수 있는 기준은 mentoring_progress(mentee_id, mentor_id)
+
+-- 0-1. 진행 정보가 가리키는 방: 진행 정보의 역할 순서로 맞춤
+UPDATE mentoring_chatroom c
+JOIN mentoring_progress p ON p.chat_id = c.chat_id
+SET c.participant1_id = p.mentee_id,
+    c.participant2_id = p.mentor_id
+WHERE c.participant1_id = p.mentor_id AND c.participant2_id = p.mentee_id;
+
+-- 0-2. 진행 정보가 가리키지 않는 방: 뒤집으면 알려진 (멘티, 멘토) 쌍이 되고, 그대로는 어떤 쌍도 아닐 때만 뒤집음
+--      (멘티/멘토 id 체계가 달라 같은 숫자가 양쪽에 있을 수 있으므로 모호한 행은 건드리지 않음)
+UPDATE mentoring_chatroom c
+JOIN (SELECT DISTINCT mentee_id, mentor_id FROM mentoring_progress) p
+  ON p.mentee_id = c.participant2_id AND p.mentor_id = c.participant1_id
+LEFT JOIN (SELECT DISTINCT mentee_id, mentor_id FROM mentoring_progress) q
+  ON q.mentee_id = c.participant1_id AND q.mentor_id = c.participant2_id
+SET c.participant1_id = p.mentee_id,
+    c.participant2_id = p.mentor_id
+WHERE q.mentee_id IS NULL;
+
+-- 0-3. 확인용: 여전히 양쪽 순서가 모두 있는 쌍 (역할을 판단할 수 없음 → 유니크 키 추가 전 수동 확인)
+SELECT a.chat_id, a.participant1_id, a.participant2_id, b.chat_id AS reversed_chat_id
+FROM mentoring_chatroom a
+JOIN mentoring_chatroom b
+  ON b.participant1_id = a.participant2_id AND b.participant2_id = a.participant1_id
+WHERE a.participant1_id < a.participant2_id;
+
+-- 1. 중복 채팅방 정리: 쌍마다 가장 최근(chat_id 최대) 방만 남기고 참조를 옮김
+UPDATE mentoring_progress p
+JOIN mentoring_chatroom c ON p.chat_id = c.chat_id
+JOIN (SELECT participant1_id, participant2_id, MAX(chat_id) AS keep_id
+      FROM mentoring_chatroom
+      GROUP BY participant1_id, participant2_id
+      HAVING COUNT(*) > 1) k
+  ON k.participant1_id = c.participant1_id AND k.participant2_id = c.participant2_id
+SET p.chat_id = k.keep_id
+WHERE c.chat_id <> k.keep_id;
+
+UPDATE mentoring_chat_message m
+JOIN mentoring_chatroom c ON m.chat_id = c.chat_id
+JOIN (SELECT participant1_id, participant2_id, MAX(chat_id) AS keep_id
+      FROM mentoring_chatroom
+      GROUP BY participant1_id, participant2_id
+      HAVING COUNT(*) > 1) k
+  ON k.participant1_id = c.participant1_id AND k.participant2_id = c.participant2_id
+SET m.chat_id = k.keep_id
+WHERE c.chat_id <> k.keep_id;
+
+DELETE c FROM mentoring_chatroom c
+JOIN (SELECT participant1_id, participant2_id, MAX(chat_id) AS keep_id
+      FROM mentoring_chatroom
+      GROUP BY participant1_id, participant2_id
+      HAVING COUNT(*) > 1) k
+  ON k.participant1_id = c.participant1_id AND k.participant2_id = c.participant2_id
+WHERE c.chat_id <> k.keep_id;
+
+ALTER TABLE mentoring_chatroom
+ADD UNIQUE KEY uq_mentoring_chatroom_pair (participant1_id, participant2_id);
+
+-- 2. 중복 진행 정보 정리: 쌍마다 가장 최근 행만 유지
+DELETE p FROM mentoring_progress p
+JOIN (SELECT mentee_id, mentor_id, MAX(mentoring_progress_id) AS keep_id
+      FROM mentoring_progress
+      GROUP BY mentee_id, mentor_id
+      HAVING COUNT(*) > 1) k
+  ON k.mentee_id = p.mentee_id AND k.mentor_id = p.mentor_id
+WHERE p.mentoring_progress_id <> k.keep_id;
+
+ALTER TABLE mentoring_progress
+ADD UNIQUE KEY uq_mentoring_progress_pair (mentee_id, mentor_id);
@@ -0,0 +1,18 @@
+-- 질문 목록 키셋 페이지용 복합 인덱스 (ORDER BY created_at DESC, question_id DESC)
+CREATE INDEX idx_question_mentor_status_created ON question(mentor_id, status, created_at);
+CREATE INDEX idx_question_mentor_created ON question(mentor_id, created_at);
+CREATE INDEX idx_question_mentee_created ON question(mentee_id, created_at);
+
+-- 멘토별 질문 카운터 (질문 등록 시 대기 +1, 답변 시 대기 -1 / 완료 +1)
+ALTER TABLE mentor
+ADD COLUMN question_pending_count INT NOT NULL DEFAULT 0 COMMENT '답변 대기 질문 수',
+ADD COLUMN question_answered_count INT NOT NULL DEFAULT 0 COMMENT '답변 완료 질문 수';
+
+-- 기존 데이터로 초기화
+UPDATE mentor mo
+SET question_pending_count = (
+        SELECT COUNT(*) FROM question q
+        WHERE q.mentor_id = mo.mentor_id AND q.status = 'PENDING'),
+    question_answered_count = (
+        SELECT COUNT(*) FROM question q
+        WHERE q.mentor_id = mo.mentor_id AND q.status = 'ANSWERED');
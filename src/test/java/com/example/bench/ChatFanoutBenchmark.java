@@ -0,0 +1,128 @@
+package com.example.bench;
+
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import com.example.VO.ChatMessage;
+import com.example.config.JacksonConfig;
+import com.example.service.ChatFanout;
+import com.example.service.RtChatService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 채팅 fan-out 1회 비용: 목적지마다 Jackson 변환(기존) vs 한 번 직렬화 후 byte[] 재사용(ChatFanout)
+ * - 브로커 채널은 받기만 하는 no-op → 변환/메시지 생성 비용만 측정
+ * - 할당량은 GC 프로파일러(gc.alloc.rate.norm = byte/op)로 비교
+ *
+ * 실행: mvn test-compile 후 IDE 에서 main 실행 (또는 org.openjdk.jmh.Main ChatFanoutBenchmark -prof gc)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChatFanoutBenchmark {
+
+    private static final long ROOM_ID = 42L;
+    private static final long SENDER_ID = 1L;
+
+    @Param({"2", "10", "50"})
+    public int participants;
+
+    private SimpMessagingTemplate legacyBroker;
+    private ChatFanout fanout;
+    private List<Long> participantIds;
+    private ChatMessage message;
+    private final AtomicLong sent = new AtomicLong();
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+        MessageChannel channel = (m, timeout) -> {
+            sent.incrementAndGet();
+            return true;
+        };
+
+        // 기존 경로: 컨트롤러가 쓰던 convertAndSend / convertAndSendToUser (같은 ObjectMapper 의 메시지 컨버터)
+        legacyBroker = new SimpMessagingTemplate(channel);
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(objectMapper);
+        legacyBroker.setMessageConverter(converter);
+
+        participantIds = new ArrayList<>(participants);
+        for (long id = 1; id <= participants; id++) participantIds.add(id);
+
+        SimpMessagingTemplate broker = new SimpMessagingTemplate(channel);
+        broker.setMessageConverter(converter);
+        fanout = new ChatFanout(broker, objectMapper, participantsOnly(participantIds));
+
+        message = new ChatMessage();
+        message.setId(new ObjectId());
+        message.setChatroomId(ROOM_ID);
+        message.setSenderId(SENDER_ID);
+        message.setContent("안녕하세요, 오늘 수업 자료 확인 부탁드립니다. 질문은 채팅으로 남겨 주세요.");
+        message.setCreatedAt(Instant.now());
+        message.setIsRead(false);
+        message.setClientMsgId("c-" + System.nanoTime());
+    }
+
+    /** 기존: 방 토픽 + 참가자마다 convertAndSend(매번 Jackson 변환, 로그용 toString 포함) */
+    @Benchmark
+    public void convertPerDestination(Blackhole bh) {
+        legacyBroker.convertAndSend("/topic/rooms/" + ROOM_ID, message);
+        for (Long userId : participantIds) {
+            if (userId == SENDER_ID) continue;
+            bh.consume(message.toString()); // 기존 log.info("... msg={}", saved)
+            legacyBroker.convertAndSendToUser("user" + userId, "/queue/rooms/" + ROOM_ID, message);
+        }
+    }
+
+    /** 변경: 한 번 직렬화한 프레임을 모든 목적지에 재사용 */
+    @Benchmark
+    public void encodeOnce() {
+        fanout.publish(ROOM_ID, message);
+    }
+
+    // getParticipants / resolveLoginId 만 쓰는 RtChatService
+    private static RtChatService participantsOnly(List<Long> ids) {
+        return (RtChatService) Proxy.newProxyInstance(RtChatService.class.getClassLoader(),
+                new Class<?>[] {RtChatService.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "getParticipants" -> ids;
+                    case "resolveLoginId" -> "user" + args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ChatFanoutBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
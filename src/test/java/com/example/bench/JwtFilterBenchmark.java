@@ -0,0 +1,176 @@
+package com.example.bench;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.example.DAO.UserRepository;
+import com.example.VO.MemberVO;
+import com.example.jwt.JwtFilter;
+import com.example.jwt.JwtUtil;
+import com.example.security.PrincipalCache;
+import com.example.service.SessionService;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import jakarta.servlet.http.Cookie;
+
+/**
+ * JwtFilter 요청 1건 비용 (세션 없음, jwt 쿠키로 인증되는 보호 경로)
+ * - filterCacheHit  : 같은 토큰 반복 → 검증 캐시 적중 (정상 상태)
+ * - filterCacheMiss : 검증 캐시 크기 1 + 토큰 두 개 번갈아 → 매번 서명 검증
+ * - legacyPerRequest: 변경 전 경로 재현 (equals/startsWith 30여 개 순회, 쿠키 두 번 스캔, 요청마다 파서 생성)
+ * - 할당량은 GC 프로파일러(gc.alloc.rate.norm)로 비교
+ *
+ * 실행: mvn test-compile 후 IDE 에서 main 실행 (또는 org.openjdk.jmh.Main JwtFilterBenchmark -prof gc)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-0123456789ab";
+    private static final String PATH = "/api/mypage/profile";
+
+    private JwtFilter cachedFilter;
+    private JwtFilter uncachedFilter;
+    private SecretKey secretKey;
+    private String tokenA;
+    private String tokenB;
+    private boolean flip;
+
+    @Setup
+    public void setUp() {
+        JwtUtil cached = new JwtUtil(SECRET, 20_000, 60);
+        JwtUtil uncached = new JwtUtil(SECRET, 1, 60);
+        cachedFilter = filter(cached);
+        uncachedFilter = filter(uncached);
+        secretKey = new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8),
+                Jwts.SIG.HS256.key().build().getAlgorithm());
+        tokenA = cached.createAccess(7, Set.of("MENTEE"), 1, Duration.ofMinutes(10));
+        tokenB = cached.createAccess(8, Set.of("MENTOR"), 1, Duration.ofMinutes(10));
+    }
+
+    @Benchmark
+    public MockHttpServletResponse filterCacheHit() throws Exception {
+        return run(cachedFilter, tokenA);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse filterCacheMiss() throws Exception {
+        flip = !flip;
+        return run(uncachedFilter, flip ? tokenA : tokenB);
+    }
+
+    /** 변경 전 JwtFilter 의 경로 검사 + 쿠키 읽기 + 토큰 검증 부분 */
+    @Benchmark
+    public void legacyPerRequest(Blackhole bh) {
+        MockHttpServletRequest request = request(tokenA);
+        String path = request.getRequestURI();
+        if (legacyIsPublic(path)) return;
+        String token = legacyReadCookie(request, "jwt");
+        if (token == null) token = legacyReadCookie(request, "ACCESS");
+        Claims claims = Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload();
+        bh.consume(claims);
+    }
+
+    private MockHttpServletResponse run(JwtFilter filter, String token) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(token), response, new MockFilterChain());
+        SecurityContextHolder.clearContext();
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", PATH);
+        request.setCookies(new Cookie("SESSION", "5d1c2f0e-0000-4000-8000-000000000000"), new Cookie("jwt", token));
+        return request;
+    }
+
+    private static JwtFilter filter(JwtUtil jwtUtil) {
+        MemberVO member = new MemberVO();
+        member.setUserId(7);
+        member.setRoles("MENTEE");
+        member.setSessionVersion(1);
+        UserRepository users = stub(UserRepository.class, "findById", Optional.of(member));
+        SessionService sessions = stub(SessionService.class, "get", Optional.empty());
+        // Redis 무효화 구독(start) 없이 로컬 캐시로만 사용
+        PrincipalCache principals = new PrincipalCache(1_000, 300, null, null);
+        return new JwtFilter(jwtUtil, users, sessions, principals);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, String method, Object result) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, m, args) -> {
+            if (m.getName().equals(method)) return result;
+            throw new UnsupportedOperationException(m.getName());
+        });
+    }
+
+    private static String legacyReadCookie(MockHttpServletRequest request, String name) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) return null;
+        for (Cookie c : cookies) {
+            if (name.equals(c.getName())) return c.getValue();
+        }
+        return null;
+    }
+
+    private static final List<String> LEGACY_EXACT = List.of(
+            "/api/login", "/api/join", "/api/logout", "/api/check-duplicate", "/api/keywords/trending",
+            "/api/keywords/autocomplete", "/api/profile/check-email", "/api/profile/check-phone", "/api/chat/log",
+            "/apply/mentor", "/mentorReview/insert");
+    private static final List<String> LEGACY_PREFIX = List.of(
+            "/api/admin/report", "/api/admin/reports", "/api/chat/", "/api/teacher/", "/api/mentor-id",
+            "/api/mentoring/mentorByChatId", "/api/mentoring/menteeByChatId", "/api/chat/messages", "/api/mentor/",
+            "/api/mentors/", "/api/mentoring/chatId", "/admin/", "/mentee/", "/payments/", "/api/mentor-review/",
+            "/mentorReview/", "/auth/kakao/", "/auth/google/", "/auth/naver/", "/auth/bridge");
+
+    // 정리 없이 전부 순회하던 기존 검사 (보호 경로는 끝까지 봄)
+    private static boolean legacyIsPublic(String path) {
+        for (String e : LEGACY_EXACT) {
+            if (path.equals(e)) return true;
+        }
+        for (String p : LEGACY_PREFIX) {
+            if (path.startsWith(p)) return true;
+        }
+        return false;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtFilterBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
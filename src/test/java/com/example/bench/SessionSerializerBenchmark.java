@@ -0,0 +1,109 @@
+package com.example.bench;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import com.example.session.CompactSessionSerializer;
+import com.example.session.ServerSession;
+
+/**
+ * Spring Session 값 직렬화: 압축 형식(CompactSessionSerializer) vs 기존 JDK 직렬화
+ * - 세션 하나 = ServerSession + 메타 값(creationTime, lastAccessedTime, maxInactiveInterval) + 문자열 속성
+ *   (lastAccessedTime 은 요청마다 다시 저장되는 값)
+ * - 세션당 byte 수는 main 에서 먼저 출력, 시간/할당은 JMH (-prof gc)
+ *
+ * 실행: mvn test-compile 후 IDE 에서 main 실행 (또는 org.openjdk.jmh.Main SessionSerializerBenchmark -prof gc)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionSerializerBenchmark {
+
+    @Param({"compact", "jdk"})
+    public String format;
+
+    private RedisSerializer<Object> serializer;
+    private List<Object> session;
+    private byte[][] encoded;
+
+    @Setup
+    public void setUp() {
+        serializer = serializer(format);
+        session = sessionValues();
+        encoded = new byte[session.size()][];
+        for (int i = 0; i < session.size(); i++) encoded[i] = serializer.serialize(session.get(i));
+    }
+
+    /** 세션 전체 저장 */
+    @Benchmark
+    public void encodeSession(Blackhole bh) {
+        for (Object value : session) bh.consume(serializer.serialize(value));
+    }
+
+    /** 세션 전체 읽기 */
+    @Benchmark
+    public void decodeSession(Blackhole bh) {
+        for (byte[] bytes : encoded) bh.consume(serializer.deserialize(bytes));
+    }
+
+    /** 요청마다 일어나는 lastAccessedTime 저장 1건 */
+    @Benchmark
+    public byte[] encodeLastAccessedTime() {
+        return serializer.serialize(session.get(2));
+    }
+
+    private static RedisSerializer<Object> serializer(String format) {
+        ClassLoader cl = SessionSerializerBenchmark.class.getClassLoader();
+        return "jdk".equals(format) ? new JdkSerializationRedisSerializer(cl) : new CompactSessionSerializer(cl, true);
+    }
+
+    private static List<Object> sessionValues() {
+        Instant now = Instant.now();
+        ServerSession s = new ServerSession(12345, new LinkedHashSet<>(List.of("MENTEE", "MENTOR")), 3,
+                "7c0f6a52-2b8e-4d0b-9d8e-1f6f3e6f9a10", now.plus(Duration.ofDays(14)));
+        return List.of(s, now.toEpochMilli() - 60_000, now.toEpochMilli(), 1800, "oauth-state-3f9a10");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (String format : List.of("compact", "jdk")) {
+            RedisSerializer<Object> serializer = serializer(format);
+            int total = 0;
+            StringBuilder detail = new StringBuilder();
+            for (Object value : sessionValues()) {
+                int n = serializer.serialize(value).length;
+                total += n;
+                detail.append(' ').append(value.getClass().getSimpleName()).append('=').append(n);
+            }
+            System.out.println("[" + format + "] 세션당 " + total + " bytes:" + detail);
+        }
+        new Runner(new OptionsBuilder()
+                .include(SessionSerializerBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.example.DAO.MentorEntityRepository;
+import com.example.DAO.MentorRequestRepository;
+import com.example.DAO.MentorRequestRepository2;
+import com.example.dto.MentorRequestInfo;
+import com.example.dto.MentorRequestPage;
+import com.example.entity.Mentor;
+
+class MentorRequestServiceTest {
+
+    private static final long MENTOR_USER_ID = 10L;
+    private static final long UNKNOWN_USER_ID = 99L;
+
+    /** MENTOR_USER_ID 의 대기 요청 count 건 (같은 started_at 이 섞이도록 3건씩 같은 시각) */
+    private static MentorRequestService service(int count) {
+        LocalDateTime base = LocalDateTime.of(2026, 10, 1, 9, 0);
+        List<MentorRequestInfo> pending = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            pending.add(new MentorRequestInfo(id, 1000 + id, "멘티" + id, 20, base.plusMinutes((id - 1) / 3)));
+        }
+        MentorRequestRepository2 mapper = stub(MentorRequestRepository2.class, (method, args) -> switch (method) {
+            case "findPendingByMentorUserId" -> page(pending, (long) args[0], (LocalDateTime) args[1], (Long) args[2], (int) args[3]);
+            case "findPendingCount" -> (long) args[0] == MENTOR_USER_ID ? count : null;
+            default -> throw new UnsupportedOperationException(method);
+        });
+        MentorEntityRepository mentors = stub(MentorEntityRepository.class, (method, args) -> switch (method) {
+            case "findByUserId" -> ((Number) args[0]).longValue() == MENTOR_USER_ID ? Optional.of(new Mentor()) : Optional.empty();
+            default -> throw new UnsupportedOperationException(method);
+        });
+        MentorRequestRepository requests = stub(MentorRequestRepository.class, (method, args) -> {
+            throw new UnsupportedOperationException(method);
+        });
+        return new MentorRequestService(requests, mapper, mentors);
+    }
+
+    // MentorRequestMapper.findPendingByMentorUserId 와 같은 키셋 조건 (started_at, id 오름차순)
+    private static List<MentorRequestInfo> page(List<MentorRequestInfo> pending, long mentorUserId,
+                                                LocalDateTime afterStartedAt, Long afterId, int limit) {
+        if (mentorUserId != MENTOR_USER_ID) return List.of();
+        return pending.stream()
+                .filter(r -> afterStartedAt == null || afterId == null
+                        || r.getStartedAt().isAfter(afterStartedAt)
+                        || (r.getStartedAt().isEqual(afterStartedAt) && r.getRequestId() > afterId))
+                .sorted(Comparator.comparing(MentorRequestInfo::getStartedAt).thenComparing(MentorRequestInfo::getRequestId))
+                .limit(limit)
+                .toList();
+    }
+
+    private interface Handler {
+        Object handle(String method, Object[] args);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, Handler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+                (proxy, m, args) -> handler.handle(m.getName(), args));
+    }
+
+    /** 커서를 따라 끝까지 읽으며 페이지 크기를 기록 */
+    private static List<Integer> walk(MentorRequestService service, int size, Set<Long> seen) {
+        List<Integer> sizes = new ArrayList<>();
+        String cursor = null;
+        do {
+            MentorRequestPage page = service.getPendingPage(MENTOR_USER_ID, cursor, size);
+            sizes.add(page.getRequests().size());
+            page.getRequests().forEach(r -> seen.add(r.getRequestId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return sizes;
+    }
+
+    @Test
+    void maxPageSizeStillPagesPastTheFirstPage() {
+        Set<Long> seen = new HashSet<>();
+        assertEquals(List.of(200, 200, 50), walk(service(450), 200, seen));
+        assertEquals(450, seen.size());
+
+        // 200 보다 큰 size 는 200 으로 잘리지만 커서는 계속 나와야 함
+        MentorRequestPage first = service(450).getPendingPage(MENTOR_USER_ID, null, 1000);
+        assertEquals(200, first.getRequests().size());
+        assertNotNull(first.getNextCursor());
+        assertEquals(450, first.getTotalPending());
+    }
+
+    @Test
+    void fullLastPageHasNoNextCursor() {
+        Set<Long> seen = new HashSet<>();
+        assertEquals(List.of(10, 10), walk(service(20), 10, seen));
+        assertEquals(20, seen.size());
+
+        seen.clear();
+        assertEquals(List.of(200, 200), walk(service(400), 200, seen));
+        assertEquals(400, seen.size());
+    }
+
+    @Test
+    void emptyInboxIsAnEmptyPage() {
+        MentorRequestPage page = service(0).getPendingPage(MENTOR_USER_ID, null, 20);
+        assertEquals(0, page.getRequests().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void legacyListIsUncapped() {
+        assertEquals(450, service(450).getAllPendingRequests(MENTOR_USER_ID).size());
+        assertEquals(400, service(400).getAllPendingRequests(MENTOR_USER_ID).size());
+    }
+
+    @Test
+    void unknownMentorIsNotFound() {
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> service(5).getAllPendingRequests(UNKNOWN_USER_ID));
+        assertEquals(HttpStatus.NOT_FOUND, e.getStatusCode());
+    }
+
+    @Test
+    void badCursorIsBadRequest() {
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> service(5).getPendingPage(MENTOR_USER_ID, "not-a-cursor", 10));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+    }
+}
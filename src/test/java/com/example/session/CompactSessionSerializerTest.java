@@ -0,0 +1,102 @@
+package com.example.session;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+class CompactSessionSerializerTest {
+
+    private final CompactSessionSerializer compact = new CompactSessionSerializer(getClass().getClassLoader(), true);
+    private final CompactSessionSerializer readOnly = new CompactSessionSerializer(getClass().getClassLoader(), false);
+    private final JdkSerializationRedisSerializer jdk = new JdkSerializationRedisSerializer(getClass().getClassLoader());
+
+    private static ServerSession session() {
+        return new ServerSession(12345, new LinkedHashSet<>(List.of("MENTEE", "ADMIN")), 3,
+                "b7f1c2d4-refresh", Instant.parse("2026-10-31T12:34:56.789Z"));
+    }
+
+    private static List<Object> values() {
+        List<Object> values = new ArrayList<>();
+        values.add(session());
+        values.add(new ServerSession(null, Set.of(), 0, null, null));
+        values.add("state-한글-✓");
+        values.add("");
+        values.add(42);
+        values.add(Integer.MIN_VALUE);
+        values.add(1_760_000_000_000L);
+        values.add(Boolean.TRUE);
+        values.add(Boolean.FALSE);
+        return values;
+    }
+
+    @Test
+    void compactRoundTrip() {
+        for (Object value : values()) {
+            byte[] bytes = compact.serialize(value);
+            assertTrue(bytes[0] != (byte) 0xAC, "압축 형식이어야 함: " + value);
+            assertEquals(value, compact.deserialize(bytes));
+        }
+    }
+
+    @Test
+    void serverSessionIsSmallerThanJdk() {
+        ServerSession s = session();
+        assertTrue(compact.serialize(s).length * 4 < jdk.serialize(s).length);
+    }
+
+    @Test
+    void readsLegacyJdkValues() {
+        for (Object value : values()) {
+            byte[] legacy = jdk.serialize(value);
+            assertEquals((byte) 0xAC, legacy[0]);
+            assertEquals((byte) 0xED, legacy[1]);
+            assertEquals(value, compact.deserialize(legacy));
+        }
+    }
+
+    @Test
+    void otherTypesStayJdkSerialized() {
+        ArrayList<String> list = new ArrayList<>(List.of("a", "b"));
+        byte[] bytes = compact.serialize(list);
+        assertEquals((byte) 0xAC, bytes[0]);
+        assertEquals(list, compact.deserialize(bytes));
+    }
+
+    @Test
+    void readOnlyPhaseWritesJdkButReadsBoth() {
+        for (Object value : values()) {
+            byte[] written = readOnly.serialize(value);
+            // 이전 버전 노드(JDK 직렬화기)가 그대로 읽을 수 있어야 함
+            assertEquals(value, jdk.deserialize(written));
+            assertEquals(value, readOnly.deserialize(compact.serialize(value)));
+        }
+    }
+
+    @Test
+    void nullAndEmpty() {
+        assertEquals(0, compact.serialize(null).length);
+        assertNull(compact.deserialize(null));
+        assertNull(compact.deserialize(new byte[0]));
+    }
+
+    @Test
+    void unknownTagOrTruncatedValueFails() {
+        assertThrows(SerializationException.class, () -> compact.deserialize(new byte[] {0x7F, 1, 2}));
+        assertThrows(SerializationException.class, () -> compact.deserialize(new byte[] {CompactSessionSerializer.LONG, 1}));
+        byte[] s = compact.serialize(session());
+        byte[] truncated = new byte[s.length - 3];
+        System.arraycopy(s, 0, truncated, 0, truncated.length);
+        assertThrows(SerializationException.class, () -> compact.deserialize(truncated));
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class BoundedTtlCacheTest {
+
+    @Test
+    void getAndCounters() {
+        BoundedTtlCache<String, Integer> cache = new BoundedTtlCache<>(10, 60_000);
+        assertNull(cache.get("a"));
+        cache.put("a", 1);
+        assertEquals(1, cache.get("a"));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        BoundedTtlCache<String, Integer> cache = new BoundedTtlCache<>(2, 60_000);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a"); // a 가 최근 사용 → b 가 먼저 축출
+        cache.put("c", 3);
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(3, cache.get("c"));
+    }
+
+    @Test
+    void expiredEntriesAreMissesAndRemoved() {
+        BoundedTtlCache<String, Integer> cache = new BoundedTtlCache<>(10, 0);
+        cache.put("a", 1);
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void getOrLoadCachesNonNullOnly() {
+        BoundedTtlCache<Long, String> cache = new BoundedTtlCache<>(10, 60_000);
+        AtomicInteger loads = new AtomicInteger();
+        assertEquals("user7", cache.getOrLoad(7L, id -> {
+            loads.incrementAndGet();
+            return "user" + id;
+        }));
+        assertEquals("user7", cache.getOrLoad(7L, id -> {
+            loads.incrementAndGet();
+            return "other";
+        }));
+        assertEquals(1, loads.get());
+
+        assertNull(cache.getOrLoad(8L, id -> {
+            loads.incrementAndGet();
+            return null;
+        }));
+        assertNull(cache.getOrLoad(8L, id -> {
+            loads.incrementAndGet();
+            return null;
+        }));
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void invalidate() {
+        BoundedTtlCache<String, Integer> cache = new BoundedTtlCache<>(10, 60_000);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.invalidate("a");
+        assertNull(cache.get("a"));
+        assertEquals(2, cache.get("b"));
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class HotRoomBufferTest {
+
+    private record Msg(String id, String body) {}
+
+    private static HotRoomBuffer<Msg> buffer(int perRoom, int maxRooms, long maxBytes) {
+        return new HotRoomBuffer<>(perRoom, maxRooms, maxBytes, 60_000, m -> m.body().length(), Msg::id);
+    }
+
+    private static Msg msg(int i) {
+        return new Msg("m" + i, "body" + i);
+    }
+
+    private static List<String> ids(List<Msg> messages) {
+        return messages.stream().map(Msg::id).toList();
+    }
+
+    @Test
+    void appendOnlyRoomIsAMissUntilItHoldsMoreThanLimit() {
+        HotRoomBuffer<Msg> buffer = buffer(5, 10, 1 << 20);
+        buffer.append(1, msg(1));
+        buffer.append(1, msg(2));
+        // 저장소에 더 오래된 메시지가 있을 수 있으므로 seed 전에는 답하지 않음
+        assertNull(buffer.latest(1, 2));
+        buffer.append(1, msg(3));
+        assertEquals(List.of("m3", "m2", "m1"), ids(buffer.latest(1, 2)));
+    }
+
+    @Test
+    void exhaustiveSeedAnswersSmallRooms() {
+        HotRoomBuffer<Msg> buffer = buffer(5, 10, 1 << 20);
+        buffer.seed(1, List.of(msg(2), msg(1)), true);
+        assertEquals(List.of("m2", "m1"), ids(buffer.latest(1, 10)));
+        buffer.append(1, msg(3));
+        assertEquals(List.of("m3", "m2", "m1"), ids(buffer.latest(1, 10)));
+    }
+
+    @Test
+    void overflowingTheRingDropsExhaustive() {
+        HotRoomBuffer<Msg> buffer = buffer(3, 10, 1 << 20);
+        buffer.seed(1, List.of(msg(2), msg(1)), true);
+        buffer.append(1, msg(3));
+        buffer.append(1, msg(4)); // m1 덮어씀 → 더 이상 방 전체가 아님
+        assertNull(buffer.latest(1, 5));
+        assertEquals(List.of("m4", "m3", "m2"), ids(buffer.latest(1, 2)));
+    }
+
+    @Test
+    void duplicateAppendIsIgnored() {
+        HotRoomBuffer<Msg> buffer = buffer(5, 10, 1 << 20);
+        buffer.seed(1, List.of(), true);
+        buffer.append(1, msg(1));
+        buffer.append(1, msg(1));
+        assertEquals(List.of("m1"), ids(buffer.latest(1, 10)));
+    }
+
+    @Test
+    void seedKeepsMessagesAppendedBeforeIt() {
+        HotRoomBuffer<Msg> buffer = buffer(5, 10, 1 << 20);
+        buffer.append(1, msg(3)); // 저장 전에 전송 경로에서 먼저 들어온 메시지
+        buffer.seed(1, List.of(msg(2), msg(1)), true);
+        assertEquals(List.of("m3", "m2", "m1"), ids(buffer.latest(1, 10)));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedRoomsByCountAndBytes() {
+        HotRoomBuffer<Msg> byCount = buffer(5, 2, 1 << 20);
+        byCount.seed(1, List.of(msg(1)), true);
+        byCount.seed(2, List.of(msg(2)), true);
+        byCount.latest(1, 10); // 1 이 최근 사용
+        byCount.seed(3, List.of(msg(3)), true);
+        assertNull(byCount.latest(2, 10));
+        assertEquals(List.of("m1"), ids(byCount.latest(1, 10)));
+
+        HotRoomBuffer<Msg> byBytes = buffer(5, 10, 10); // "bodyN" = 5 byte → 방 두 개까지
+        byBytes.seed(1, List.of(msg(1)), true);
+        byBytes.seed(2, List.of(msg(2)), true);
+        byBytes.seed(3, List.of(msg(3)), true);
+        Map<String, Object> stats = byBytes.stats();
+        assertEquals(2, stats.get("residentRooms"));
+        assertEquals(10L, stats.get("residentBytes"));
+        assertEquals(1L, stats.get("evictions"));
+    }
+
+    @Test
+    void invalidateAndIdleEviction() {
+        HotRoomBuffer<Msg> buffer = buffer(5, 10, 1 << 20);
+        buffer.seed(1, List.of(msg(1)), true);
+        buffer.invalidate(1);
+        assertNull(buffer.latest(1, 10));
+
+        HotRoomBuffer<Msg> idle = new HotRoomBuffer<>(5, 10, 1 << 20, 1, m -> 1, Msg::id);
+        idle.seed(1, List.of(msg(1)), true);
+        sleep(5);
+        assertEquals(1, idle.evictIdle());
+        assertNull(idle.latest(1, 10));
+    }
+
+    @Test
+    void disabledBufferAlwaysMisses() {
+        HotRoomBuffer<Msg> buffer = new HotRoomBuffer<>(5, 10, 1 << 20, 60_000, m -> 1, Msg::id, false);
+        buffer.seed(1, List.of(msg(2), msg(1)), true);
+        buffer.append(1, msg(3));
+        assertNull(buffer.latest(1, 10));
+        assertEquals(0, buffer.stats().get("residentRooms"));
+        assertEquals(false, buffer.stats().get("enabled"));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.util;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class PathPrefixSetTest {
+
+    private final PathPrefixSet paths = PathPrefixSet.of(
+            List.of("/api/login", "/api/chat/log", "/apply/mentor"),
+            List.of("/api/chat/", "/api/chat/messages", "/admin/", "/auth/bridge"));
+
+    @Test
+    void exactPathsMatchOnlyThemselves() {
+        assertTrue(paths.matches("/api/login"));
+        assertTrue(paths.matches("/apply/mentor"));
+        assertFalse(paths.matches("/api/login/extra"));
+        assertFalse(paths.matches("/api/log"));
+        assertFalse(paths.matches("/apply/mentors"));
+    }
+
+    @Test
+    void prefixesMatchEverythingBelowThem() {
+        assertTrue(paths.matches("/api/chat/"));
+        assertTrue(paths.matches("/api/chat/messages/3"));
+        assertTrue(paths.matches("/admin/reports"));
+        assertTrue(paths.matches("/auth/bridge"));
+        assertTrue(paths.matches("/auth/bridge?ticket=x"));
+        assertFalse(paths.matches("/api/chatroom"));
+        assertFalse(paths.matches("/admin"));
+    }
+
+    @Test
+    void exactPathUnderAPrefixStillMatches() {
+        // "/api/chat/log" 는 "/api/chat/" 에 흡수되어 정확 목록에서 빠지지만 결과는 같아야 함
+        assertTrue(paths.matches("/api/chat/log"));
+        assertTrue(paths.toString().contains("exact=["));
+        assertFalse(paths.toString().contains("/api/chat/log"));
+        assertFalse(paths.toString().contains("/api/chat/messages"));
+    }
+
+    @Test
+    void nullAndUnknownPathsDoNotMatch() {
+        assertFalse(paths.matches(null));
+        assertFalse(paths.matches(""));
+        assertFalse(paths.matches("/api/mypage"));
+    }
+
+    @Test
+    void emptySetMatchesNothing() {
+        PathPrefixSet empty = PathPrefixSet.of(List.of(), List.of());
+        assertFalse(empty.matches("/"));
+        assertFalse(empty.matches("/api/login"));
+    }
+}
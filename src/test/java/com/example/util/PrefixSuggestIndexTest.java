@@ -0,0 +1,107 @@
+package com.example.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class PrefixSuggestIndexTest {
+
+    private static PrefixSuggestIndex index() {
+        Map<String, Long> weighted = new HashMap<>();
+        weighted.put("한국사", 30L);
+        weighted.put("한국어", 20L);
+        weighted.put("한글", 10L);
+        weighted.put("닭갈비", 5L);
+        weighted.put("갈비찜", 3L);
+        weighted.put("영어 문법", 4L);
+        weighted.put("Java", 9L);
+        return PrefixSuggestIndex.build(weighted, 10);
+    }
+
+    @Test
+    void prefixByWeight() {
+        assertEquals(List.of("한국사", "한국어", "한글"), index().suggest("한", 10));
+        assertEquals(List.of("한국사", "한국어"), index().suggest("한국", 10));
+        assertEquals(List.of("한국사"), index().suggest("한국", 1));
+    }
+
+    @Test
+    void incompleteSyllableMatchesByJamo() {
+        // 입력 중인 "하" / "한구" 도 접두로 인정
+        assertEquals(List.of("한국사", "한국어", "한글"), index().suggest("하", 10));
+        assertEquals(List.of("한국사", "한국어"), index().suggest("한구", 10));
+        // "달" 은 "닭" 의 자모 접두 (ㄷㅏㄹ → ㄷㅏㄹㄱ)
+        assertEquals(List.of("닭갈비"), index().suggest("달", 10));
+    }
+
+    @Test
+    void choseongQuery() {
+        assertEquals(List.of("한국사", "한국어", "한글"), index().suggest("ㅎㄱ", 10));
+        assertEquals(List.of("한국사"), index().suggest("ㅎㄱㅅ", 10));
+    }
+
+    @Test
+    void laterWordsAndSyllablesMatchAfterWholeKeywordPrefixes() {
+        // 전체 접두(갈비찜) 먼저, 중간 음절 매치(닭갈비)는 뒤에
+        assertEquals(List.of("갈비찜", "닭갈비"), index().suggest("갈비", 10));
+        assertEquals(List.of("영어 문법"), index().suggest("문법", 10));
+        assertEquals(List.of("갈비찜", "닭갈비"), index().suggest("ㄱㅂ", 10));
+    }
+
+    @Test
+    void noInfixInsideLatinWords() {
+        assertEquals(List.of("Java"), index().suggest("ja", 10));
+        assertEquals(List.of(), index().suggest("ava", 10));
+    }
+
+    @Test
+    void spellingsWithTheSameKeyAreMerged() {
+        Map<String, Long> weighted = new HashMap<>();
+        weighted.put("Spring Boot", 2L);
+        weighted.put("spring boot", 5L);
+        weighted.put("springboot", 1L);
+        PrefixSuggestIndex index = PrefixSuggestIndex.build(weighted, 10);
+        assertEquals(1, index.size());
+        assertEquals(List.of("spring boot"), index.suggest("SPRING", 10));
+        assertEquals(List.of("spring boot"), index.suggest("boot", 10));
+    }
+
+    @Test
+    void emptyAndUnknownInput() {
+        assertEquals(List.of(), index().suggest(null, 10));
+        assertEquals(List.of(), index().suggest("  ", 10));
+        assertEquals(List.of(), index().suggest("없는말", 10));
+        assertEquals(0, PrefixSuggestIndex.empty().size());
+    }
+
+    @Test
+    void infixStarts() {
+        assertEquals(List.of(1, 2), PrefixSuggestIndex.infixStarts("닭갈비"));
+        assertEquals(List.of(1, 3, 4), PrefixSuggestIndex.infixStarts("영어 문법"));
+        assertEquals(List.of(5), PrefixSuggestIndex.infixStarts("java spring"));
+        assertEquals(List.of(), PrefixSuggestIndex.infixStarts("java"));
+    }
+
+    @Test
+    void hangulJamo() {
+        assertEquals("ㅎㅏㄴㄱㅜㄱㅅㅏ", HangulJamo.decompose("한국 사"));
+        assertEquals("ㄷㅏㄹㄱ", HangulJamo.decompose("닭"));
+        assertEquals("ㄱㅗㅏ", HangulJamo.decompose("과"));
+        assertEquals("ㄱㅗㅏ", HangulJamo.decompose("ㄱㅘ"));
+        assertEquals("springboot", HangulJamo.decompose("Spring-Boot!"));
+        assertEquals("ㅎㄱㅅ", HangulJamo.choseong("한국사"));
+        assertEquals("ㅈㅂa", HangulJamo.choseong("자바A"));
+        assertTrue(HangulJamo.isChoseongQuery("ㅎ ㄱ"));
+        assertFalse(HangulJamo.isChoseongQuery("ㅎㅏ"));
+        assertFalse(HangulJamo.isChoseongQuery("한"));
+        assertFalse(HangulJamo.isChoseongQuery(" "));
+        assertTrue(HangulJamo.isSyllable('가'));
+        assertFalse(HangulJamo.isSyllable('ㄱ'));
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class SpaceSavingSketchTest {
+
+    @Test
+    void exactWhileUnderCapacity() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(10);
+        sketch.offer("java", 3);
+        sketch.offer("spring", 1);
+        sketch.offer("java", 2);
+        assertEquals(Map.of("java", 5L, "spring", 1L), sketch.counts());
+        assertEquals(6, sketch.total());
+    }
+
+    @Test
+    void fullSketchReplacesSmallestCounter() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(2);
+        sketch.offer("a", 5);
+        sketch.offer("b", 2);
+        sketch.offer("c", 1);
+        // "b"(2) 를 물려받아 c = 2 + 1
+        assertEquals(Map.of("a", 5L, "c", 3L), sketch.counts());
+        assertEquals(8, sketch.total());
+    }
+
+    @Test
+    void heavyHittersSurviveAndCountsNeverUnderestimate() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(20);
+        Map<String, Long> truth = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 20_000; i++) {
+            // 상위 3 개가 절반 이상, 나머지는 500 종류에 흩어짐
+            String key = random.nextInt(2) == 0 ? "hot" + random.nextInt(3) : "cold" + random.nextInt(500);
+            sketch.offer(key, 1);
+            truth.merge(key, 1L, Long::sum);
+        }
+        Map<String, Long> counts = sketch.counts();
+        assertTrue(counts.size() <= 20);
+        for (int i = 0; i < 3; i++) assertTrue(counts.containsKey("hot" + i));
+        counts.forEach((k, c) -> assertTrue(c >= truth.get(k), k + " 과소 추정"));
+        assertEquals(20_000, sketch.total());
+    }
+
+    @Test
+    void addAllMergesAndTrimsToCapacity() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(2);
+        sketch.offer("a", 1);
+        sketch.addAll(Map.of("a", 4L, "b", 3L, "c", 1L));
+        assertEquals(Map.of("a", 5L, "b", 3L), sketch.counts());
+        assertEquals(9, sketch.total());
+    }
+
+    @Test
+    void clearResetsEverything() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(4);
+        sketch.offer("a", 1);
+        assertFalse(sketch.isEmpty());
+        sketch.clear();
+        assertTrue(sketch.isEmpty());
+        assertEquals(0, sketch.total());
+    }
+
+    @Test
+    void topOrdersByCountThenKey() {
+        Map<String, Long> counts = Map.of("b", 3L, "a", 3L, "c", 5L, "d", 1L);
+        assertEquals(List.of("c", "a", "b"), SpaceSavingSketch.top(counts, 3));
+        assertEquals(List.of("c", "a", "b", "d"), SpaceSavingSketch.top(counts, 10));
+        assertEquals(List.of(), SpaceSavingSketch.top(Map.of(), 3));
+    }
+}